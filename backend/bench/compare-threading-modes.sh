@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+# Compares throughput and p99 latency of the backend with platform threads and
+# with virtual threads (the virtual-threads Spring profile) under a burst of
+# concurrent ATM deposits and history reads.
+#
+# Needs: a Java 21 JDK on PATH, curl, and hey (https://github.com/rakyll/hey).
+# Uses the PostgreSQL from docker-compose unless SPRING_DATASOURCE_* are set:
+#   docker compose up -d postgres
+#   backend/bench/compare-threading-modes.sh
+#
+# Tunables: CONCURRENCY (default 400), DURATION (default 30s), DB_POOL_SIZE (default 20).
+# Raw hey output for each run lands in backend/bench/results/.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${CONCURRENCY:-400}
+DURATION=${DURATION:-30s}
+PORT=${PORT:-8080}
+BASE="http://localhost:${PORT}"
+RESULTS=bench/results
+export SPRING_DATASOURCE_URL=${SPRING_DATASOURCE_URL:-jdbc:postgresql://localhost:5432/bankingdb}
+export SPRING_DATASOURCE_USERNAME=${SPRING_DATASOURCE_USERNAME:-bankinguser}
+export SPRING_DATASOURCE_PASSWORD=${SPRING_DATASOURCE_PASSWORD:-bankingpass}
+export DB_POOL_SIZE=${DB_POOL_SIZE:-20}
+
+mkdir -p "$RESULTS"
+mvn -q -f pom.xml -Pjava21 -DskipTests package
+JAR=$(ls target/backend-*-exec.jar | head -n 1)
+
+wait_for_app() {
+  for _ in $(seq 1 60); do
+    curl -sf -o /dev/null "${BASE}/banking-api.yaml" && return 0
+    sleep 1
+  done
+  echo "backend did not start" >&2
+  return 1
+}
+
+run_mode() {
+  local mode=$1 profile=$2
+  SPRING_PROFILES_ACTIVE=$profile java -jar "$JAR" --server.port="$PORT" > "$RESULTS/$mode-app.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" RETURN
+  wait_for_app
+
+  local email="load-$mode-$RANDOM@example.com"
+  curl -sf -X POST "${BASE}/users" -H 'Content-Type: application/json' \
+       -d "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"$email\",\"password\":\"secret\"}" > /dev/null
+  local token
+  token=$(curl -sf -X POST "${BASE}/auth/login" -H 'Content-Type: application/json' \
+       -d "{\"email\":\"$email\",\"password\":\"secret\"}" | sed -E 's/.*"token":"([^"]+)".*/\1/')
+  local account
+  account=$(curl -sf -X POST "${BASE}/accounts" -H 'Content-Type: application/json' \
+       -H "Authorization: Bearer $token" \
+       -d "{\"requestedAccountType\":\"CURRENT\",\"customerEmail\":\"$email\"}")
+  local iban id
+  iban=$(echo "$account" | sed -E 's/.*"iban":"([^"]+)".*/\1/')
+  id=$(echo "$account" | sed -E 's/.*"id":"([^"]+)".*/\1/')
+
+  hey -z "$DURATION" -c "$CONCURRENCY" -m POST -T application/json \
+      -H "Authorization: Bearer $token" \
+      -d "{\"iban\":\"$iban\",\"amount\":1.00}" \
+      "${BASE}/atm/deposit" > "$RESULTS/$mode-atm.txt"
+  hey -z "$DURATION" -c "$CONCURRENCY" \
+      -H "Authorization: Bearer $token" \
+      "${BASE}/accounts/$id/transactions?limit=50" > "$RESULTS/$mode-history.txt"
+}
+
+summarize() {
+  local file=$1
+  local rps p99
+  rps=$(grep 'Requests/sec' "$file" | awk '{print $2}')
+  p99=$(grep '99% in' "$file" | awk '{print $3}')
+  printf '%-10s %-8s %12s %12s\n' "$2" "$3" "$rps" "$p99"
+}
+
+run_mode platform default
+run_mode virtual virtual-threads
+
+printf '%-10s %-8s %12s %12s\n' mode load req/s "p99 (s)"
+for mode in platform virtual; do
+  summarize "$RESULTS/$mode-atm.txt" "$mode" atm
+  summarize "$RESULTS/$mode-history.txt" "$mode" history
+done
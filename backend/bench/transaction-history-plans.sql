@@ -0,0 +1,87 @@
+-- Compares query plans for an account's transaction history on a seeded 10M-row table.
+--
+-- Run against a scratch PostgreSQL database whose schema was created by the
+-- Flyway migrations (start the backend against it once), for example:
+--   psql -d bankingbench -f bench/transaction-history-plans.sql
+--
+-- 100k accounts share 10M transactions; one "hot" account takes part in 2% of
+-- them (~200k rows) so the difference between the plans is visible.
+
+\timing on
+
+TRUNCATE transactions, accounts, users CASCADE;
+
+INSERT INTO accounts (id, iban, balance, type_of_account, date_of_opening, absolute_limit, active, version)
+SELECT ('00000000-0000-0000-0000-' || lpad(to_hex(n), 12, '0'))::uuid,
+       'NL00BENC' || lpad(n::text, 10, '0'),
+       0, 'CURRENT', current_date, 0, true, 0
+FROM generate_series(1, 100000) AS n;
+
+INSERT INTO transactions (id, from_iban, to_iban, amount, type_of_transaction, date_of_execution)
+SELECT gen_random_uuid(),
+       ('00000000-0000-0000-0000-' || lpad(to_hex(CASE WHEN n % 100 = 0 THEN 1 ELSE 2 + n % 99998 END), 12, '0'))::uuid,
+       ('00000000-0000-0000-0000-' || lpad(to_hex(CASE WHEN n % 100 = 1 THEN 1 ELSE 2 + (n * 7) % 99998 END), 12, '0'))::uuid,
+       100 + n % 10000,
+       'TRANSFER',
+       timestamp '2020-01-01' + (n * interval '10 seconds')
+FROM generate_series(1, 10000000) AS n;
+
+VACUUM ANALYZE accounts;
+VACUUM ANALYZE transactions;
+
+-- 1. Previous query shape: OR across both foreign keys, newest 51 rows
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.* FROM transactions t
+WHERE t.from_iban = '00000000-0000-0000-0000-000000000001'
+   OR t.to_iban = '00000000-0000-0000-0000-000000000001'
+ORDER BY t.date_of_execution DESC, t.id DESC
+LIMIT 51;
+
+-- 2. Current query shape (TransactionHistoryRepositoryImpl): UNION ALL
+--    of two index range scans, each stopping after 51 rows
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT page.* FROM (
+    (SELECT t.* FROM transactions t
+     WHERE t.from_iban = '00000000-0000-0000-0000-000000000001'
+     ORDER BY t.date_of_execution DESC, t.id DESC LIMIT 51)
+    UNION ALL
+    (SELECT t.* FROM transactions t
+     WHERE t.to_iban = '00000000-0000-0000-0000-000000000001'
+       AND t.from_iban <> '00000000-0000-0000-0000-000000000001'
+     ORDER BY t.date_of_execution DESC, t.id DESC LIMIT 51)
+) page
+ORDER BY page.date_of_execution DESC, page.id DESC
+LIMIT 51;
+
+-- 3. Same as 2 deep into the history, continuing from a keyset cursor
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT page.* FROM (
+    (SELECT t.* FROM transactions t
+     WHERE t.from_iban = '00000000-0000-0000-0000-000000000001'
+       AND (t.date_of_execution < timestamp '2021-01-01'
+            OR (t.date_of_execution = timestamp '2021-01-01' AND t.id < 'ffffffff-ffff-ffff-ffff-ffffffffffff'))
+     ORDER BY t.date_of_execution DESC, t.id DESC LIMIT 51)
+    UNION ALL
+    (SELECT t.* FROM transactions t
+     WHERE t.to_iban = '00000000-0000-0000-0000-000000000001'
+       AND t.from_iban <> '00000000-0000-0000-0000-000000000001'
+       AND (t.date_of_execution < timestamp '2021-01-01'
+            OR (t.date_of_execution = timestamp '2021-01-01' AND t.id < 'ffffffff-ffff-ffff-ffff-ffffffffffff'))
+     ORDER BY t.date_of_execution DESC, t.id DESC LIMIT 51)
+) page
+ORDER BY page.date_of_execution DESC, page.id DESC
+LIMIT 51;
+
+-- 4. Plan 1 without the V4 indexes (the old full scan), for reference
+BEGIN;
+DROP INDEX idx_transactions_from_iban_date;
+DROP INDEX idx_transactions_to_iban_date;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.* FROM transactions t
+WHERE t.from_iban = '00000000-0000-0000-0000-000000000001'
+   OR t.to_iban = '00000000-0000-0000-0000-000000000001'
+ORDER BY t.date_of_execution DESC, t.id DESC
+LIMIT 51;
+
+ROLLBACK;
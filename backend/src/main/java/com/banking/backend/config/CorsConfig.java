@@ -19,6 +19,8 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOriginPatterns("https://schoolbank.onrender.com", "https://schoolbank.onrender.com")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                // Paging headers of the list endpoints
+                .exposedHeaders("X-Next-Cursor", "X-Next-Page", "X-Total-Count")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -29,6 +31,7 @@ public class CorsConfig implements WebMvcConfigurer {
         configuration.setAllowedOriginPatterns(Arrays.asList("https://schoolbank.onrender.com", "https://schoolbank.onrender.com"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("X-Next-Cursor", "X-Next-Page", "X-Total-Count"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,73 @@
+package com.banking.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the bodies of GET /accounts/{id}/transactions/export on a dedicated pool of
+ * {@code banking.export.threads} threads in front of a queue of {@code banking.export.queue-capacity}.
+ *
+ * An export holds its thread and a database connection for as long as the client reads, so exports
+ * get their own pool instead of Spring's task executor, where they would starve @Async work. Once
+ * the queue is full further exports are rejected right away with a TaskRejectedException (503).
+ * Each export also carries its own {@code banking.export.timeout}, so the long limit does not apply
+ * to other async requests. The pool is published as executor.* meters tagged name=transactionExport.
+ */
+@Component
+public class ExportTaskExecutor {
+
+    private final ExecutorService executor;
+    private final AsyncTaskExecutor taskExecutor;
+    private final Duration timeout;
+
+    @Autowired
+    public ExportTaskExecutor(MeterRegistry meterRegistry,
+                              @Value("${banking.export.threads:4}") int threads,
+                              @Value("${banking.export.queue-capacity:8}") int queueCapacity,
+                              @Value("${banking.export.timeout:PT30M}") Duration timeout) {
+        this(ExecutorServiceMetrics.monitor(meterRegistry, newPool(threads, queueCapacity), "transactionExport"),
+                timeout);
+    }
+
+    public ExportTaskExecutor(ExecutorService executor, Duration timeout) {
+        this.executor = executor;
+        this.taskExecutor = new TaskExecutorAdapter(executor);
+        this.timeout = timeout;
+    }
+
+    /**
+     * The export as an async request body, run on this pool with the export timeout.
+     */
+    public <T> WebAsyncTask<T> task(Callable<T> export) {
+        return new WebAsyncTask<>(timeout.toMillis(), taskExecutor, export);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Helper Methods
+
+    private static ExecutorService newPool(int threads, int queueCapacity) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("transaction-export-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
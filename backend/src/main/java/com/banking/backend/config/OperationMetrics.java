@@ -0,0 +1,92 @@
+package com.banking.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Times the banking hot paths. Every timer is tagged with outcome (success or failure) and
+ * exception (the simple class name of what was thrown, "none" on success), never with the
+ * exception message, so the number of series stays bounded.
+ *
+ * Repository methods are timed by Spring Data itself (spring.data.repository.invocations),
+ * and the Hikari pool and Hibernate statistics are bound by Spring Boot.
+ */
+@Component
+public class OperationMetrics {
+
+    public static final String TRANSFER = "banking.transactions.transfer";
+    public static final String TRANSFER_RETRIES = "banking.transactions.transfer.retries";
+    public static final String ATM = "banking.transactions.atm";
+    public static final String LOGIN = "banking.auth.login";
+    public static final String PASSWORD_CHECK = "banking.auth.password.check";
+    public static final String TOKEN_CHECK = "banking.auth.token.check";
+    public static final String BALANCE_SNAPSHOT = "banking.snapshots.day";
+
+    private static final Tag SUCCESS = Tag.of("outcome", "success");
+    private static final Tag FAILURE = Tag.of("outcome", "failure");
+    private static final Tag NO_EXCEPTION = Tag.of("exception", "none");
+
+    private final MeterRegistry meterRegistry;
+
+    public OperationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the operation and records its duration under name with the given extra tags
+     * (key, value pairs). Whatever the operation throws is rethrown unchanged.
+     */
+    public <T> T record(String name, Supplier<T> operation, String... tags) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = operation.get();
+            sample.stop(timer(name, Tags.of(tags).and(outcome(null))));
+            return result;
+        } catch (RuntimeException | Error e) {
+            sample.stop(timer(name, Tags.of(tags).and(outcome(e))));
+            throw e;
+        }
+    }
+
+    /**
+     * Same as record for an operation that completes later: the timer stops when the returned
+     * future completes, and a failure is tagged with the exception the future was completed with.
+     */
+    public <T> CompletableFuture<T> recordAsync(String name, Supplier<CompletableFuture<T>> operation, String... tags) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> result;
+        try {
+            result = operation.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, error) -> sample.stop(timer(name, Tags.of(tags).and(outcome(error)))));
+    }
+
+    public void increment(String name, String... tags) {
+        Counter.builder(name).tags(tags).register(meterRegistry).increment();
+    }
+
+    // Helper Methods
+
+    private static Tags outcome(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error == null
+                ? Tags.of(SUCCESS, NO_EXCEPTION)
+                : Tags.of(FAILURE, Tag.of("exception", error.getClass().getSimpleName()));
+    }
+
+    private Timer timer(String name, Tags tags) {
+        return Timer.builder(name).tags(tags).register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.banking.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything
+ * else: read-write transactions, statements outside a transaction, and reads of a user who
+ * committed a write moments ago (see ReadYourWritesTracker). The route is decided when a
+ * connection is taken, so this must sit behind a LazyConnectionDataSourceProxy: only then is the
+ * connection taken after the transaction has been marked read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    public Route currentRoute() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !readYourWritesTracker.currentUserWroteRecently()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,54 @@
+package com.banking.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers for a short window which users committed a read-write transaction, so their own
+ * reads go to the primary until the replica has caught up with what they just did (a transfer
+ * followed by reloading the balance). Users are the authenticated principal ids; work without
+ * one, such as registration, is not tracked.
+ *
+ * Registered with the transaction manager as a TransactionExecutionListener, so every commit
+ * counts, whether it comes from @Transactional or a TransactionTemplate.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maximumSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            UUID user = currentUser();
+            if (user != null) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        }
+    }
+
+    public boolean currentUserWroteRecently() {
+        UUID user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    // Helper Methods
+
+    private static UUID currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UUID principal ? principal : null;
+    }
+}
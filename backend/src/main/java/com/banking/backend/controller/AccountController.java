@@ -1,17 +1,31 @@
 package com.banking.backend.controller;
 
+import com.banking.backend.dto.AccountBalanceDTO;
 import com.banking.backend.dto.AccountDTO;
+import com.banking.backend.dto.AccountLimitDTO;
 import com.banking.backend.dto.AccountRequestDTO;
+import com.banking.backend.dto.AccountSearchQuery;
+import com.banking.backend.dto.AccountSummaryDTO;
+import com.banking.backend.dto.OffsetPage;
 import com.banking.backend.mapper.AccountMapper;
 import com.banking.backend.model.Account;
 import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
 import com.banking.backend.service.AccountService;
+import com.banking.backend.service.BalanceSnapshotService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -21,20 +35,50 @@ import java.util.stream.Collectors;
 public class AccountController {
 
     private final AccountService accountService;
+    private final BalanceSnapshotService balanceSnapshotService;
 
-    public AccountController(AccountService service) {
+    public AccountController(AccountService service, BalanceSnapshotService balanceSnapshotService) {
         this.accountService = service;
+        this.balanceSnapshotService = balanceSnapshotService;
     }
 
-    // GET /accounts → return all accounts
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final String NEXT_PAGE_HEADER = "X-Next-Page";
+
+    /**
+     * GET /accounts?page=0&size=50&sort=balance,desc&type=&active=&owner=&minBalance=&maxBalance=&total=true
+     * → one page of all accounts with their owners, for employees.
+     *
+     * • sort is iban (default), balance, dateOfOpening or owner, optionally followed by ,asc or ,desc
+     * • owner matches part of the owner's name or email; balances are in euros
+     * • X-Next-Page holds the next page number when there is one, X-Total-Count the number of
+     *   matching accounts unless total=false
+     */
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<AccountDTO>> getAllAccounts() {
-        List<Account> entities = accountService.getAllAccounts();
-        List<AccountDTO> dtos = entities.stream()
-                                         .map(AccountMapper::toDTO)
-                                         .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<AccountSummaryDTO>> getAllAccounts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + AccountSearchQuery.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) AccountType type,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String owner,
+            @RequestParam(required = false) BigDecimal minBalance,
+            @RequestParam(required = false) BigDecimal maxBalance,
+            @RequestParam(defaultValue = "true") boolean total) {
+        AccountSearchQuery query = new AccountSearchQuery(page, size, sort, type, active, owner,
+                minBalance != null ? Money.of(minBalance) : null,
+                maxBalance != null ? Money.of(maxBalance) : null,
+                total);
+        OffsetPage<AccountSummaryDTO> result = accountService.searchAccounts(query, currentUserId());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (result.hasNext()) {
+            response.header(NEXT_PAGE_HEADER, String.valueOf(result.getPage() + 1));
+        }
+        if (result.getTotal() != null) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(result.getTotal()));
+        }
+        return response.body(result.getItems());
     }
 
     // POST /accounts → create a new account from AccountRequestDTO
@@ -86,6 +130,31 @@ public class AccountController {
         return ResponseEntity.ok(AccountMapper.toDTO(entity));
     }
 
+    // GET /accounts/{id}/balance?at=2024-01-31T23:59:59 → balance just before that moment (ISO date-time),
+    // the current balance without at
+    @GetMapping("/{id}/balance")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AccountBalanceDTO> getBalance(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        Account entity = accountService.getAccountById(id);
+        if (entity == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (at == null) {
+            return ResponseEntity.ok(new AccountBalanceDTO(entity.getIban(), entity.getBalance()));
+        }
+        return ResponseEntity.ok(new AccountBalanceDTO(entity.getIban(), balanceSnapshotService.getBalanceAt(id, at), at));
+    }
+
+    // PUT /accounts/{id}/absolute-limit → employee sets how far the balance may go below zero
+    @PutMapping("/{id}/absolute-limit")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AccountDTO> updateAbsoluteLimit(@PathVariable UUID id, @RequestBody AccountLimitDTO limitDto) {
+        Account updated = accountService.updateAbsoluteLimit(id, limitDto.getAbsoluteLimit(), currentUserId());
+        return ResponseEntity.ok(AccountMapper.toDTO(updated));
+    }
+
     // DELETE /accounts/{id} →  soft delete an account
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
@@ -93,4 +162,29 @@ public class AccountController {
         accountService.deactivateAccount(id);
         return ResponseEntity.noContent().build();
     }
+
+    private UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UUID principal
+                ? principal
+                : null;
+    }
+
+    // IllegalArgumentException → 400 + plain-text message
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(ex.getMessage());
+    }
+
+    // AccessDeniedException → 403 + plain-text message
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<String> handleAccessDeniedException(AccessDeniedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.FORBIDDEN)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(ex.getMessage());
+    }
 }
@@ -0,0 +1,64 @@
+package com.banking.backend.controller;
+
+import com.banking.backend.service.AccountEventBroadcaster;
+import com.banking.backend.service.AccountService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/accounts")
+public class AccountStreamController {
+
+    private final AccountService accountService;
+    private final AccountEventBroadcaster accountEventBroadcaster;
+
+    public AccountStreamController(AccountService accountService, AccountEventBroadcaster accountEventBroadcaster) {
+        this.accountService = accountService;
+        this.accountEventBroadcaster = accountEventBroadcaster;
+    }
+
+    /**
+     * GET /accounts/{accountId}/stream → text/event-stream of the account's live updates
+     *
+     * • "transaction" events carry each TransactionDTO touching the account once it has committed
+     * • "balance" events carry the BalanceChangeEvent with the new balance, id = account sequence
+     * • comment lines are heartbeats; a client that falls behind is disconnected and should
+     *   reload the account when its EventSource reconnects
+     * • EventSource cannot send headers, so the token may also be passed as ?access_token=
+     *   (see JwtAuthFilter)
+     * • Unknown account → 404, caller neither the owner nor an employee → 403
+     */
+    @GetMapping(value = "/{accountId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SseEmitter> streamAccount(@PathVariable UUID accountId) {
+        if (!accountService.accountExists(accountId)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!accountService.canWatchAccount(accountId, currentUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                // Stops nginx style proxies from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(accountEventBroadcaster.subscribe(accountId));
+    }
+
+    private UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UUID principal
+                ? principal
+                : null;
+    }
+}
@@ -3,9 +3,15 @@ package com.banking.backend.controller;
 import com.banking.backend.dto.JwtResponseDTO;
 import com.banking.backend.dto.LoginDTO;
 import com.banking.backend.service.AuthService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * REST controller for authentication endpoints.
  */
@@ -22,15 +28,22 @@ public class AuthController {
     /**
      * Login endpoint: accepts email and password,
      * returns JWT token if successful, 401 error if not.
+     * The request thread is released while the password is checked; 503 when too many logins
+     * are already waiting for a check.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginDTO request) {
-        try {
-            String token = authService.login(request.getEmail(), request.getPassword());
-            return ResponseEntity.ok(new JwtResponseDTO(token));
-        } catch (RuntimeException e) {
-            // Return unauthorized with error message
-            return ResponseEntity.status(401).body(e.getMessage());
-        }
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginDTO request) {
+        return authService.login(request.getEmail(), request.getPassword())
+                .<ResponseEntity<?>>thenApply(token -> ResponseEntity.ok(new JwtResponseDTO(token)))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof RejectedExecutionException) {
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body("Too many logins in progress, try again shortly");
+                    }
+                    // Return unauthorized with error message
+                    return ResponseEntity.status(401).body(cause.getMessage());
+                });
     }
 }
\ No newline at end of file
@@ -1,37 +1,73 @@
 package com.banking.backend.controller;
 
+import com.banking.backend.config.ExportTaskExecutor;
 import com.banking.backend.dto.ATMDTO;
+import com.banking.backend.dto.BatchTransferResultDTO;
+import com.banking.backend.dto.CursorPage;
+import com.banking.backend.dto.TransactionCursor;
 import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.dto.TransactionHistoryQuery;
 import com.banking.backend.mapper.TransactionMapper;
 import com.banking.backend.model.Account;
+import com.banking.backend.model.AccountMetadata;
 import com.banking.backend.model.Transaction;
+import com.banking.backend.model.TransactionType;
 import com.banking.backend.model.User;
 import com.banking.backend.service.AccountService;
+import com.banking.backend.service.BatchTransferMode;
+import com.banking.backend.service.BatchTransferService;
+import com.banking.backend.service.IdempotencyKeyInProgressException;
+import com.banking.backend.service.IdempotencyService;
+import com.banking.backend.service.TransactionExportFormat;
+import com.banking.backend.service.TransactionExportService;
 import com.banking.backend.service.TransactionService;
 import com.banking.backend.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @RestController
 public class TransactionController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final TransactionService transactionService;
     private final AccountService accountService;
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
+    private final BatchTransferService batchTransferService;
+    private final TransactionExportService transactionExportService;
+    private final ExportTaskExecutor exportTaskExecutor;
 
     public TransactionController(TransactionService transactionService,
                                  AccountService accountService,
-                                 UserService userService) {
+                                 UserService userService,
+                                 IdempotencyService idempotencyService,
+                                 BatchTransferService batchTransferService,
+                                 TransactionExportService transactionExportService,
+                                 ExportTaskExecutor exportTaskExecutor) {
         this.transactionService = transactionService;
         this.accountService = accountService;
         this.userService = userService;
+        this.idempotencyService = idempotencyService;
+        this.batchTransferService = batchTransferService;
+        this.transactionExportService = transactionExportService;
+        this.exportTaskExecutor = exportTaskExecutor;
     }
 
     /**
@@ -47,6 +83,8 @@ public class TransactionController {
      *   – If service throws IllegalArgumentException("Insufficient funds in account")
      *     → 400 + "Insufficient funds in account"
      * • On success → 201 + JSON(body = TransactionDTO)
+     * • With an Idempotency-Key header, a retry of the same request → 201 + the stored response
+     *   and Idempotent-Replayed: true, without executing it again (see IdempotencyService)
      */
     @PostMapping(
         value = "/transactions",
@@ -54,48 +92,78 @@ public class TransactionController {
         produces = MediaType.APPLICATION_JSON_VALUE
     )
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<TransactionDTO> createTransaction(@RequestBody TransactionDTO dto) {
+    public ResponseEntity<TransactionDTO> createTransaction(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody TransactionDTO dto) {
+        return created(idempotencyKey, "POST /transactions", dto, () -> transfer(dto));
+    }
+
+    /**
+     * POST /transactions/batch
+     *
+     * • Body is a JSON array of TransactionDTO, each checked like POST /transactions
+     * • mode=ALL_OR_NOTHING (default) executes nothing if any entry is rejected,
+     *   mode=BEST_EFFORT executes the entries that pass
+     * • Empty or oversized batch (banking.transfer.batch.max-size) → 400 + plain-text message
+     * • Otherwise JSON BatchTransferResultDTO with one item per entry in request order,
+     *   201 if at least one transaction was created, 400 if none was
+     */
+    @PostMapping(
+        value = "/transactions/batch",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BatchTransferResultDTO> createTransactionBatch(
+            @RequestParam(defaultValue = "ALL_OR_NOTHING") BatchTransferMode mode,
+            @RequestBody List<TransactionDTO> dtos) {
+        BatchTransferResultDTO result = batchTransferService.makeTransactions(dtos, mode);
+        return ResponseEntity
+                .status(result.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(result);
+    }
+
+    private TransactionDTO transfer(TransactionDTO dto) {
         // 1) Reject “same account”
         if (dto.getFromIban() != null && dto.getFromIban().equals(dto.getToIban())) {
             throw new IllegalArgumentException("Cannot transfer to the same account");
         }
 
         // 2) Distinguish zero vs. negative
-        if (dto.getAmount() == 0) {
+        if (dto.getAmount() == null || dto.getAmount().isZero()) {
             throw new IllegalArgumentException("Transaction amount must be greater than zero");
         }
-        if (dto.getAmount() < 0) {
+        if (dto.getAmount().isNegative()) {
             throw new IllegalArgumentException("Transaction amount must be positive");
         }
 
         // 3) Map DTO → entity (accounts and user will be set next)
         Transaction txEntity = TransactionMapper.toEntity(dto);
 
-        // 4) Lookup “from” account
-        Account fromAcct = accountService
-                .getAccountByIban(dto.getFromIban())
+        // 4) Lookup “from” account (cached, the service reads the rows it needs for the balance update)
+        AccountMetadata fromAcct = accountService
+                .getAccountMetadataByIban(dto.getFromIban())
                 .orElseThrow(() -> new IllegalArgumentException("Source account not found"));
 
         // 5) Lookup “to” account
-        Account toAcct = accountService
-                .getAccountByIban(dto.getToIban())
+        AccountMetadata toAcct = accountService
+                .getAccountMetadataByIban(dto.getToIban())
                 .orElseThrow(() -> new IllegalArgumentException("Destination account not found"));
 
-        txEntity.setFromAccount(fromAcct);
-        txEntity.setToAccount(toAcct);
+        txEntity.setFromAccount(toAccountReference(fromAcct));
+        txEntity.setToAccount(toAccountReference(toAcct));
 
         // 6) Lookup performing user if provided
         if (dto.getPerformingUserId() != null) {
             User user = userService.getUserById(dto.getPerformingUserId().toString());
-            UUID userId = user.getId();
-            UUID fromAccUserid = accountService.getUserIdByIban(dto.getFromIban());
-            //Check if performing ID is same owner of sender IBAN
-            if(userId != fromAccUserid){
-                throw new IllegalArgumentException("Provide a valid IBAN");
-            }
             if (user == null) {
                 throw new IllegalArgumentException("Performing user not found");
             }
+            //Check if performing ID is same owner of sender IBAN
+            if (!user.getId().equals(fromAcct.getOwnerId())) {
+                throw new IllegalArgumentException("Provide a valid IBAN");
+            }
             txEntity.setPerformingUser(user);
         }
 
@@ -103,35 +171,68 @@ public class TransactionController {
         Transaction saved = transactionService.makeTransaction(txEntity);
 
         // 8) Map entity → DTO for response
-        TransactionDTO responseDto = TransactionMapper.toDTO(saved);
-
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(responseDto);
+        return TransactionMapper.toDTO(saved);
     }
 
     /**
      * GET /accounts/{accountId}/transactions
      *
      * • If accountId is not a valid UUID → 400
-     * • Otherwise always returns 200 + JSON array (possibly empty) of TransactionDTO
+     * • Otherwise returns 200 + JSON array (possibly empty) of TransactionDTO, newest first
+     * • limit (default 50, max 500), after (cursor), fromDate/toDate (ISO date-time, toDate exclusive)
+     *   and type narrow the page; an invalid value → 400
+     * • If more rows exist, the X-Next-Cursor header holds the value to pass as after
      */
     @GetMapping(
         value = "/accounts/{accountId}/transactions",
         produces = MediaType.APPLICATION_JSON_VALUE
     )
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<TransactionDTO>> getAccountTransactions(@PathVariable UUID accountId) {
-        List<Transaction> list = transactionService.getTransactionsForAccount(accountId);
-        List<TransactionDTO> dtos = list.stream()
-                                        .map(TransactionMapper::toDTO)
-                                        .collect(Collectors.toList());
+    public ResponseEntity<List<TransactionDTO>> getAccountTransactions(
+            @PathVariable UUID accountId,
+            @RequestParam(defaultValue = "" + TransactionHistoryQuery.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) TransactionType type) {
+        TransactionHistoryQuery query = toHistoryQuery(limit, after, fromDate, toDate, type);
+        return toPageResponse(transactionService.getTransactionsForAccount(accountId, query));
+    }
 
-        return ResponseEntity
-                .ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(dtos);
+    /**
+     * GET /accounts/{accountId}/transactions/export
+     *
+     * • The complete history of the account, oldest first, written while it is read from the
+     *   database instead of being collected first
+     * • format=ndjson (default, one TransactionDTO per line) or format=csv; anything else → 400
+     * • fromDate/toDate (ISO date-time, toDate exclusive) and type narrow it like the paged endpoint
+     * • Unknown account → 404
+     * • Written on the export pool (see ExportTaskExecutor); when that is full → 503 + plain-text message
+     */
+    @GetMapping("/accounts/{accountId}/transactions/export")
+    @PreAuthorize("isAuthenticated()")
+    public WebAsyncTask<Void> exportAccountTransactions(
+            @PathVariable UUID accountId,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) TransactionType type,
+            HttpServletResponse response) {
+        TransactionExportFormat exportFormat = TransactionExportFormat.parse(format);
+        if (!accountService.accountExists(accountId)) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return null;
+        }
+        String fileName = "account-" + accountId + "-transactions." + exportFormat.getFileExtension();
+        return exportTaskExecutor.task(() -> {
+            // Headers are only set once the export runs, so a rejected export gets a clean 503
+            response.setContentType(exportFormat.getMediaType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+            OutputStream out = response.getOutputStream();
+            transactionExportService.export(accountId, type, fromDate, toDate, exportFormat, out);
+            out.flush();
+            return null;
+        });
     }
 
     /**
@@ -144,9 +245,32 @@ public class TransactionController {
                 .contentType(MediaType.TEXT_PLAIN)
                 .body(ex.getMessage());
     }
+
+    /**
+     * An export while the export pool is full → 503 + plain-text message
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> handleExportRejected(TaskRejectedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("Too many exports in progress, try again shortly");
+    }
+
+    /**
+     * A retry whose Idempotency-Key is still held by the first request → 409 + plain-text message
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<String> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(ex.getMessage());
+    }
     /**
      * POST /atm/withdraw
-     * Performs ATM withdrawal.
+     * Performs ATM withdrawal. Accepts an Idempotency-Key header like POST /transactions.
      */
     @PostMapping(
             value = "/atm/withdraw",
@@ -154,18 +278,16 @@ public class TransactionController {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<TransactionDTO> withdraw(@RequestBody ATMDTO dto) {
-        Transaction transaction = transactionService.createWithdrawal(dto);
-        TransactionDTO responseDto = TransactionMapper.toDTO(transaction);
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(responseDto);
+    public ResponseEntity<TransactionDTO> withdraw(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody ATMDTO dto) {
+        return created(idempotencyKey, "POST /atm/withdraw", dto,
+                () -> TransactionMapper.toDTO(transactionService.createWithdrawal(dto)));
     }
 
     /**
      * POST /atm/deposit
-     * Performs ATM deposit.
+     * Performs ATM deposit. Accepts an Idempotency-Key header like POST /transactions.
      */
     @PostMapping(
             value = "/atm/deposit",
@@ -173,38 +295,82 @@ public class TransactionController {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<TransactionDTO> deposit(@RequestBody ATMDTO dto) {
-        Transaction transaction = transactionService.createDeposit(dto);
-        TransactionDTO responseDto = TransactionMapper.toDTO(transaction);
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(responseDto);
+    public ResponseEntity<TransactionDTO> deposit(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody ATMDTO dto) {
+        return created(idempotencyKey, "POST /atm/deposit", dto,
+                () -> TransactionMapper.toDTO(transactionService.createDeposit(dto)));
     }
+    /**
+     * GET /accounts/{accountId}/received
+     * Same paging and filters as /accounts/{accountId}/transactions, incoming transactions only.
+     */
     @GetMapping(value = "/accounts/{accountId}/received", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<TransactionDTO>> getTransactionsReceivedByAccount(@PathVariable UUID accountId) {
-        List<Transaction> receivedTransactions = transactionService.getTransactionsByToAccount(accountId);
-        List<TransactionDTO> dtos = receivedTransactions.stream()
-                .map(TransactionMapper::toDTO)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(dtos);
+    public ResponseEntity<List<TransactionDTO>> getTransactionsReceivedByAccount(
+            @PathVariable UUID accountId,
+            @RequestParam(defaultValue = "" + TransactionHistoryQuery.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) TransactionType type) {
+        TransactionHistoryQuery query = toHistoryQuery(limit, after, fromDate, toDate, type);
+        return toPageResponse(transactionService.getTransactionsByToAccount(accountId, query));
     }
 
+    /**
+     * GET /accounts/{accountId}/sent
+     * Same paging and filters as /accounts/{accountId}/transactions, outgoing transactions only.
+     */
     @GetMapping(value = "/accounts/{accountId}/sent", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<TransactionDTO>> getTransactionsSentFromAccount(@PathVariable UUID accountId) {
-        List<Transaction> sentTransactions = transactionService.getTransactionsByFromAccount(accountId);
-        List<TransactionDTO> dtos = sentTransactions.stream()
-                .map(TransactionMapper::toDTO)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<TransactionDTO>> getTransactionsSentFromAccount(
+            @PathVariable UUID accountId,
+            @RequestParam(defaultValue = "" + TransactionHistoryQuery.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) TransactionType type) {
+        TransactionHistoryQuery query = toHistoryQuery(limit, after, fromDate, toDate, type);
+        return toPageResponse(transactionService.getTransactionsByFromAccount(accountId, query));
+    }
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(dtos);
+    // Runs the request once per Idempotency-Key when the client sent one
+    private ResponseEntity<TransactionDTO> created(String idempotencyKey, String operation, Object request,
+                                                   Supplier<TransactionDTO> action) {
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (idempotencyKey == null) {
+            return response.body(action.get());
+        }
+        IdempotencyService.Outcome outcome = idempotencyService.execute(idempotencyKey, operation, request, action);
+        if (outcome.isReplayed()) {
+            response.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return response.body(outcome.getResponse());
+    }
+
+    // Carries only what makeTransaction needs to find and lock the account row
+    private Account toAccountReference(AccountMetadata metadata) {
+        Account account = new Account();
+        account.setId(metadata.getId());
+        account.setIban(metadata.getIban());
+        return account;
+    }
+
+    private TransactionHistoryQuery toHistoryQuery(int limit, String after, LocalDateTime fromDate,
+                                                   LocalDateTime toDate, TransactionType type) {
+        TransactionCursor cursor = after != null && !after.isBlank() ? TransactionCursor.decode(after) : null;
+        return new TransactionHistoryQuery(limit, cursor, fromDate, toDate, type);
+    }
+
+    private ResponseEntity<List<TransactionDTO>> toPageResponse(CursorPage<TransactionDTO> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
 }
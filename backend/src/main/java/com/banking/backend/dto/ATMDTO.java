@@ -1,9 +1,10 @@
 package com.banking.backend.dto;
 
+import com.banking.backend.model.Money;
 
 public class ATMDTO {
     private String IBAN;
-    private Double amount;
+    private Money amount;
 
     public String getIBAN() {
         return IBAN;
@@ -13,11 +14,11 @@ public class ATMDTO {
         this.IBAN = IBAN;
     }
 
-    public Double getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(Double amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 }
@@ -1,19 +1,34 @@
 package com.banking.backend.dto;
 
+import com.banking.backend.model.Money;
+
+import java.time.LocalDateTime;
+
 public class AccountBalanceDTO {
     private String iban;
-    private Double balance;
+    private Money balance;
+    // Moment the balance is for, null for the current balance
+    private LocalDateTime at;
 
     public AccountBalanceDTO() {}
 
-    public AccountBalanceDTO(String iban, Double balance) {
+    public AccountBalanceDTO(String iban, Money balance) {
         this.iban = iban;
         this.balance = balance;
     }
 
+    public AccountBalanceDTO(String iban, Money balance, LocalDateTime at) {
+        this.iban = iban;
+        this.balance = balance;
+        this.at = at;
+    }
+
     public String getIban() { return iban; }
     public void setIban(String iban) { this.iban = iban; }
 
-    public Double getBalance() { return balance; }
-    public void setBalance(Double balance) { this.balance = balance; }
-}
\ No newline at end of file
+    public Money getBalance() { return balance; }
+    public void setBalance(Money balance) { this.balance = balance; }
+
+    public LocalDateTime getAt() { return at; }
+    public void setAt(LocalDateTime at) { this.at = at; }
+}
@@ -1,22 +1,24 @@
 package com.banking.backend.dto;
 
+import com.banking.backend.model.Money;
+
 import java.time.LocalDate;
 import java.util.UUID;
 
 public class AccountDTO {
     private UUID id;
     private String iban;
-    private double balance;
+    private Money balance;
     private String typeOfAccount;
     private UUID userId;
     private LocalDate dateOfOpening;
-    private double absoluteLimit;
+    private Money absoluteLimit;
     private boolean active;
 
     public AccountDTO() {}
 
-    public AccountDTO(UUID id, String iban, double balance, String typeOfAccount,
-                      UUID userId, LocalDate dateOfOpening, double absoluteLimit, boolean active) {
+    public AccountDTO(UUID id, String iban, Money balance, String typeOfAccount,
+                      UUID userId, LocalDate dateOfOpening, Money absoluteLimit, boolean active) {
         this.id = id;
         this.iban = iban;
         this.balance = balance;
@@ -33,8 +35,8 @@ public class AccountDTO {
     public String getIban() { return iban; }
     public void setIban(String iban) { this.iban = iban; }
 
-    public double getBalance() { return balance; }
-    public void setBalance(double balance) { this.balance = balance; }
+    public Money getBalance() { return balance; }
+    public void setBalance(Money balance) { this.balance = balance; }
 
     public String getTypeOfAccount() { return typeOfAccount; }
     public void setTypeOfAccount(String typeOfAccount) { this.typeOfAccount = typeOfAccount; }
@@ -45,8 +47,8 @@ public class AccountDTO {
     public LocalDate getDateOfOpening() { return dateOfOpening; }
     public void setDateOfOpening(LocalDate dateOfOpening) { this.dateOfOpening = dateOfOpening; }
 
-    public double getAbsoluteLimit() { return absoluteLimit; }
-    public void setAbsoluteLimit(double absoluteLimit) { this.absoluteLimit = absoluteLimit; }
+    public Money getAbsoluteLimit() { return absoluteLimit; }
+    public void setAbsoluteLimit(Money absoluteLimit) { this.absoluteLimit = absoluteLimit; }
 
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
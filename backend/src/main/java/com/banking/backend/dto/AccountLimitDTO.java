@@ -0,0 +1,17 @@
+package com.banking.backend.dto;
+
+import com.banking.backend.model.Money;
+
+public class AccountLimitDTO {
+    // How far the balance may go below zero
+    private Money absoluteLimit;
+
+    public AccountLimitDTO() {}
+
+    public AccountLimitDTO(Money absoluteLimit) {
+        this.absoluteLimit = absoluteLimit;
+    }
+
+    public Money getAbsoluteLimit() { return absoluteLimit; }
+    public void setAbsoluteLimit(Money absoluteLimit) { this.absoluteLimit = absoluteLimit; }
+}
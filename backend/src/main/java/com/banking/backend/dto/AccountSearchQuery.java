@@ -0,0 +1,119 @@
+package com.banking.backend.dto;
+
+import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
+
+import java.util.Locale;
+
+/**
+ * One page request against all accounts: page number and size, sort order and optional
+ * filters. Null filters are ignored.
+ */
+public class AccountSearchQuery {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+    public static final int MAX_OWNER_LENGTH = 100;
+
+    // Sortable columns; ties are broken by account id so pages never overlap
+    public enum SortField { IBAN, BALANCE, DATE_OF_OPENING, OWNER }
+
+    private final int page;
+    private final int size;
+    private final SortField sortField;
+    private final boolean descending;
+    private final AccountType type;
+    private final Boolean active;
+    private final String owner;
+    private final Money minBalance;
+    private final Money maxBalance;
+    private final boolean includeTotal;
+
+    /**
+     * @param sort "field" or "field,asc|desc" with field one of iban, balance, dateOfOpening, owner;
+     *             null sorts by IBAN
+     * @param owner matched case-insensitively against part of the owner's full name or email
+     */
+    public AccountSearchQuery(int page, int size, String sort, AccountType type, Boolean active, String owner,
+                              Money minBalance, Money maxBalance, boolean includeTotal) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE);
+        }
+        if (minBalance != null && maxBalance != null && minBalance.getMinorUnits() > maxBalance.getMinorUnits()) {
+            throw new IllegalArgumentException("minBalance must not be above maxBalance");
+        }
+        String trimmedOwner = owner != null && !owner.isBlank() ? owner.trim() : null;
+        if (trimmedOwner != null && trimmedOwner.length() > MAX_OWNER_LENGTH) {
+            throw new IllegalArgumentException("owner must be at most " + MAX_OWNER_LENGTH + " characters");
+        }
+        this.page = page;
+        this.size = size;
+        this.type = type;
+        this.active = active;
+        this.owner = trimmedOwner;
+        this.minBalance = minBalance;
+        this.maxBalance = maxBalance;
+        this.includeTotal = includeTotal;
+
+        SortField field = SortField.IBAN;
+        boolean desc = false;
+        if (sort != null && !sort.isBlank()) {
+            String[] parts = sort.split(",", -1);
+            field = parseSortField(parts[0].trim());
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("Invalid sort: " + sort);
+            }
+            if (parts.length == 2) {
+                String direction = parts[1].trim().toLowerCase(Locale.ROOT);
+                if (!direction.equals("asc") && !direction.equals("desc")) {
+                    throw new IllegalArgumentException("Invalid sort direction: " + parts[1]);
+                }
+                desc = direction.equals("desc");
+            }
+        }
+        this.sortField = field;
+        this.descending = desc;
+    }
+
+    // First page sorted by IBAN, no filters, with the total
+    public static AccountSearchQuery firstPage() {
+        return new AccountSearchQuery(0, DEFAULT_SIZE, null, null, null, null, null, null, true);
+    }
+
+    public int getPage() { return page; }
+
+    public int getSize() { return size; }
+
+    public long getOffset() { return (long) page * size; }
+
+    public SortField getSortField() { return sortField; }
+
+    public boolean isDescending() { return descending; }
+
+    public AccountType getType() { return type; }
+
+    public Boolean getActive() { return active; }
+
+    public String getOwner() { return owner; }
+
+    public Money getMinBalance() { return minBalance; }
+
+    public Money getMaxBalance() { return maxBalance; }
+
+    public boolean isIncludeTotal() { return includeTotal; }
+
+    // Helper Methods
+
+    private static SortField parseSortField(String name) {
+        return switch (name) {
+            case "iban" -> SortField.IBAN;
+            case "balance" -> SortField.BALANCE;
+            case "dateOfOpening" -> SortField.DATE_OF_OPENING;
+            case "owner" -> SortField.OWNER;
+            default -> throw new IllegalArgumentException("Cannot sort by: " + name);
+        };
+    }
+}
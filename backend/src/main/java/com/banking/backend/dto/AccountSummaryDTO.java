@@ -0,0 +1,35 @@
+package com.banking.backend.dto;
+
+import com.banking.backend.model.Money;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * An account with its owner's name and email, as listed to employees.
+ */
+public class AccountSummaryDTO extends AccountDTO {
+    private String ownerFirstName;
+    private String ownerLastName;
+    private String ownerEmail;
+
+    public AccountSummaryDTO() {}
+
+    public AccountSummaryDTO(UUID id, String iban, Money balance, String typeOfAccount,
+                             UUID userId, LocalDate dateOfOpening, Money absoluteLimit, boolean active,
+                             String ownerFirstName, String ownerLastName, String ownerEmail) {
+        super(id, iban, balance, typeOfAccount, userId, dateOfOpening, absoluteLimit, active);
+        this.ownerFirstName = ownerFirstName;
+        this.ownerLastName = ownerLastName;
+        this.ownerEmail = ownerEmail;
+    }
+
+    public String getOwnerFirstName() { return ownerFirstName; }
+    public void setOwnerFirstName(String ownerFirstName) { this.ownerFirstName = ownerFirstName; }
+
+    public String getOwnerLastName() { return ownerLastName; }
+    public void setOwnerLastName(String ownerLastName) { this.ownerLastName = ownerLastName; }
+
+    public String getOwnerEmail() { return ownerEmail; }
+    public void setOwnerEmail(String ownerEmail) { this.ownerEmail = ownerEmail; }
+}
@@ -0,0 +1,63 @@
+package com.banking.backend.dto;
+
+import com.banking.backend.model.Money;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Balance change of one account as handed to an OutboxSink. sequence counts the changes of
+ * the account from 1 without gaps; delivery is at least once, so a consumer drops events
+ * whose sequence it has already seen and resumes after the last one it processed.
+ */
+public class BalanceChangeEvent {
+    private long eventId;
+    private UUID accountId;
+    private long sequence;
+    private UUID transactionId;
+    private String typeOfTransaction;
+    private Money amount;
+    private Money balanceAfter;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSS")
+    private LocalDateTime occurredAt;
+
+    public BalanceChangeEvent() {}
+
+    public BalanceChangeEvent(long eventId, UUID accountId, long sequence, UUID transactionId,
+                              String typeOfTransaction, Money amount, Money balanceAfter,
+                              LocalDateTime occurredAt) {
+        this.eventId = eventId;
+        this.accountId = accountId;
+        this.sequence = sequence;
+        this.transactionId = transactionId;
+        this.typeOfTransaction = typeOfTransaction;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.occurredAt = occurredAt;
+    }
+
+    public long getEventId() { return eventId; }
+    public void setEventId(long eventId) { this.eventId = eventId; }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+
+    public String getTypeOfTransaction() { return typeOfTransaction; }
+    public void setTypeOfTransaction(String typeOfTransaction) { this.typeOfTransaction = typeOfTransaction; }
+
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
+
+    public Money getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(Money balanceAfter) { this.balanceAfter = balanceAfter; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
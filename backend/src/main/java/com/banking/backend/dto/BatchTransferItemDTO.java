@@ -0,0 +1,38 @@
+package com.banking.backend.dto;
+
+/**
+ * Outcome of one entry of POST /transactions/batch, in request order.
+ * status is CREATED (transaction set), REJECTED (error set) or NOT_EXECUTED
+ * (valid, but an all-or-nothing batch was rolled back because of another entry).
+ */
+public class BatchTransferItemDTO {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+    public static final String NOT_EXECUTED = "NOT_EXECUTED";
+
+    private int index;
+    private String status;
+    private TransactionDTO transaction;
+    private String error;
+
+    public BatchTransferItemDTO() {}
+
+    public BatchTransferItemDTO(int index, String status, TransactionDTO transaction, String error) {
+        this.index = index;
+        this.status = status;
+        this.transaction = transaction;
+        this.error = error;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public TransactionDTO getTransaction() { return transaction; }
+    public void setTransaction(TransactionDTO transaction) { this.transaction = transaction; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
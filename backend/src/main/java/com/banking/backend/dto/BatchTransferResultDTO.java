@@ -0,0 +1,31 @@
+package com.banking.backend.dto;
+
+import java.util.List;
+
+public class BatchTransferResultDTO {
+    private String mode;
+    private int created;
+    private int rejected;
+    private List<BatchTransferItemDTO> items;
+
+    public BatchTransferResultDTO() {}
+
+    public BatchTransferResultDTO(String mode, int created, int rejected, List<BatchTransferItemDTO> items) {
+        this.mode = mode;
+        this.created = created;
+        this.rejected = rejected;
+        this.items = items;
+    }
+
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<BatchTransferItemDTO> getItems() { return items; }
+    public void setItems(List<BatchTransferItemDTO> items) { this.items = items; }
+}
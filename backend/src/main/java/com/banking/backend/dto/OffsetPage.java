@@ -0,0 +1,29 @@
+package com.banking.backend.dto;
+
+import java.util.List;
+
+/**
+ * A page of an offset-paginated result. {@code total} is null when the count was skipped.
+ */
+public class OffsetPage<T> {
+
+    private final List<T> items;
+    private final int page;
+    private final boolean hasNext;
+    private final Long total;
+
+    public OffsetPage(List<T> items, int page, boolean hasNext, Long total) {
+        this.items = items;
+        this.page = page;
+        this.hasNext = hasNext;
+        this.total = total;
+    }
+
+    public List<T> getItems() { return items; }
+
+    public int getPage() { return page; }
+
+    public boolean hasNext() { return hasNext; }
+
+    public Long getTotal() { return total; }
+}
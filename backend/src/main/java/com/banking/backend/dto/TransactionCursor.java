@@ -0,0 +1,46 @@
+package com.banking.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in a transaction history: the (dateOfExecution, id) of the last
+ * row a client has seen. Histories are ordered newest first, so the next page holds the rows
+ * strictly before this position.
+ */
+public final class TransactionCursor {
+
+    private final LocalDateTime dateOfExecution;
+    private final UUID id;
+
+    public TransactionCursor(LocalDateTime dateOfExecution, UUID id) {
+        this.dateOfExecution = dateOfExecution;
+        this.id = id;
+    }
+
+    public LocalDateTime getDateOfExecution() { return dateOfExecution; }
+
+    public UUID getId() { return id; }
+
+    public String encode() {
+        String raw = dateOfExecution + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new TransactionCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.banking.backend.dto;
 
+import com.banking.backend.model.Money;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -8,7 +9,7 @@ public class TransactionDTO {
     private UUID id;
     private String fromIban;
     private String toIban;
-    private double amount;
+    private Money amount;
     private String typeOfTransaction;
 
     // Always print exactly six digits of fractional seconds
@@ -24,7 +25,7 @@ public class TransactionDTO {
         UUID id,
         String fromIban,
         String toIban,
-        double amount,
+        Money amount,
         String typeOfTransaction,
         LocalDateTime dateOfExecution,
         UUID performingUserId,
@@ -61,10 +62,10 @@ public class TransactionDTO {
         this.toIban = toIban;
     }
 
-    public double getAmount() {
+    public Money getAmount() {
         return amount;
     }
-    public void setAmount(double amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
@@ -0,0 +1,51 @@
+package com.banking.backend.dto;
+
+import com.banking.backend.model.TransactionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * One page request against a transaction history: page size, keyset position and
+ * optional filters. Null filters are ignored.
+ */
+public class TransactionHistoryQuery {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final int limit;
+    private final TransactionCursor after;
+    private final LocalDateTime fromDate;
+    private final LocalDateTime toDate;
+    private final TransactionType type;
+
+    public TransactionHistoryQuery(int limit, TransactionCursor after,
+                                   LocalDateTime fromDate, LocalDateTime toDate, TransactionType type) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (fromDate != null && toDate != null && !fromDate.isBefore(toDate)) {
+            throw new IllegalArgumentException("fromDate must be before toDate");
+        }
+        this.limit = limit;
+        this.after = after;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.type = type;
+    }
+
+    // First page, newest transactions, no filters
+    public static TransactionHistoryQuery firstPage() {
+        return new TransactionHistoryQuery(DEFAULT_LIMIT, null, null, null, null);
+    }
+
+    public int getLimit() { return limit; }
+
+    public TransactionCursor getAfter() { return after; }
+
+    public LocalDateTime getFromDate() { return fromDate; }
+
+    public LocalDateTime getToDate() { return toDate; }
+
+    public TransactionType getType() { return type; }
+}
@@ -1,4 +1,5 @@
 package com.banking.backend.dto;
+import com.banking.backend.model.Money;
 import com.banking.backend.model.User;
 import com.banking.backend.model.UserType;
 
@@ -30,8 +31,8 @@ public class UserDTO {
         // Set default values for fields not in RegisterDTO
         user.setRole(UserType.CUSTOMER);         // default user role
         user.setActive(true);
-        user.setDayLimit(0f);
-        user.setTransactionLimit(0f);
+        user.setDayLimit(Money.ZERO);
+        user.setTransactionLimit(Money.ZERO);
     // Leave bsn and dateOfBirth as null for now
 
     return user;
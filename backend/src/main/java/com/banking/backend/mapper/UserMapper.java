@@ -2,6 +2,7 @@ package com.banking.backend.mapper;
 
 import com.banking.backend.dto.RegisterDTO;
 import com.banking.backend.dto.UserDTO;
+import com.banking.backend.model.Money;
 import com.banking.backend.model.User;
 import com.banking.backend.model.UserType;
 
@@ -43,8 +44,8 @@ public class UserMapper {
         // Set default values for fields not in RegisterDTO
         user.setRole(UserType.CUSTOMER);           // default role
         user.setActive(true);
-        user.setDayLimit(0f);
-        user.setTransactionLimit(0f);
+        user.setDayLimit(Money.ZERO);
+        user.setTransactionLimit(Money.ZERO);
         // bsn and dateOfBirth left null for now
         return user;
     }
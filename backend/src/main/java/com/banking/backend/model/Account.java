@@ -22,7 +22,7 @@ public class Account {
     private String iban;
 
     @Column(nullable = false)
-    private double balance;
+    private Money balance = Money.ZERO;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "type_of_account", nullable = false)
@@ -36,11 +36,24 @@ public class Account {
     private LocalDate dateOfOpening;
 
     @Column(name = "absolute_limit")
-    private double absoluteLimit;
+    private Money absoluteLimit = Money.ZERO;
 
     @Column(name = "active")
     private boolean active;
 
+    // Optimistic lock counter. Balances, limits and the active flag are changed by the native
+    // UPDATEs in AccountRepository, which bump it themselves; Hibernate only bumps it when it
+    // writes the entity.
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    // Last per-account sequence number handed to an outbox event. Only the balance update
+    // statements bump it, so Hibernate never writes it from a possibly stale entity.
+    @Column(name = "event_sequence", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private long eventSequence;
+
     
      @OneToMany(mappedBy = "fromAccount")
      private List<Transaction> sentTransactions;
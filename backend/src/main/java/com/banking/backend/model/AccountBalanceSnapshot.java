@@ -0,0 +1,41 @@
+package com.banking.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Balance of an account at the end of a day it had transactions on, written by the
+ * BalanceSnapshotService. Days without transactions have no row: the balance at their end is
+ * that of the latest earlier snapshot. Derived from the transactions, so there is no foreign key.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(AccountBalanceSnapshot.Key.class)
+@Table(name = "account_balance_snapshots")
+public class AccountBalanceSnapshot {
+
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Id
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false)
+    private Money balance;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID accountId;
+        private LocalDate snapshotDate;
+    }
+}
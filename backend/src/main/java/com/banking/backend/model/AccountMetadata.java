@@ -0,0 +1,46 @@
+package com.banking.backend.model;
+
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the account fields that rarely change, used to resolve an
+ * IBAN or id without going to the database. It deliberately carries no balance:
+ * balances are only ever read and changed by the conditional updates in
+ * AccountRepository.
+ */
+public final class AccountMetadata {
+    private final UUID id;
+    private final String iban;
+    private final UUID ownerId;
+    private final AccountType typeOfAccount;
+    private final boolean active;
+    private final Money absoluteLimit;
+
+    public AccountMetadata(UUID id, String iban, UUID ownerId, AccountType typeOfAccount,
+                           boolean active, Money absoluteLimit) {
+        this.id = id;
+        this.iban = iban;
+        this.ownerId = ownerId;
+        this.typeOfAccount = typeOfAccount;
+        this.active = active;
+        this.absoluteLimit = absoluteLimit;
+    }
+
+    public static AccountMetadata of(Account account) {
+        return new AccountMetadata(
+            account.getId(),
+            account.getIban(),
+            account.getUser() != null ? account.getUser().getId() : null,
+            account.getTypeOfAccount(),
+            account.isActive(),
+            account.getAbsoluteLimit()
+        );
+    }
+
+    public UUID getId() { return id; }
+    public String getIban() { return iban; }
+    public UUID getOwnerId() { return ownerId; }
+    public AccountType getTypeOfAccount() { return typeOfAccount; }
+    public boolean isActive() { return active; }
+    public Money getAbsoluteLimit() { return absoluteLimit; }
+}
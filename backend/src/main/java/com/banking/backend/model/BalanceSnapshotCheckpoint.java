@@ -0,0 +1,27 @@
+package com.banking.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * The single row recording up to which day account_balance_snapshots is complete. Locked by the
+ * snapshot job while it adds a day, so several instances never snapshot the same day twice.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "balance_snapshot_checkpoint")
+public class BalanceSnapshotCheckpoint {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    // Last day whose end-of-day balances are all in account_balance_snapshots
+    @Column(name = "snapshot_through", nullable = false)
+    private LocalDate snapshotThrough;
+}
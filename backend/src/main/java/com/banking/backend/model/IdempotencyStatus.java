@@ -0,0 +1,6 @@
+package com.banking.backend.model;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
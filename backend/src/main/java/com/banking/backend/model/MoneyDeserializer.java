@@ -0,0 +1,38 @@
+package com.banking.backend.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+// Reads Money from a JSON number or numeric string without going through double
+public class MoneyDeserializer extends StdDeserializer<Money> {
+
+    public MoneyDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        BigDecimal value;
+        if (p.currentToken() == JsonToken.VALUE_STRING) {
+            try {
+                value = new BigDecimal(p.getText().trim());
+            } catch (NumberFormatException e) {
+                return (Money) ctxt.handleWeirdStringValue(Money.class, p.getText(), "not a valid amount");
+            }
+        } else if (p.currentToken().isNumeric()) {
+            value = p.getDecimalValue();
+        } else {
+            return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+        }
+        try {
+            return Money.of(value);
+        } catch (IllegalArgumentException e) {
+            return (Money) ctxt.handleWeirdNumberValue(Money.class, value, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.banking.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One balance change of one account, written in the database transaction that changed the
+ * balance and later published by the OutboxRelay. accountSequence numbers the changes of an
+ * account without gaps, consumers resume from the last sequence they have seen.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_events",
+       uniqueConstraints = @UniqueConstraint(name = "uk_outbox_events_account_sequence",
+                                             columnNames = {"account_id", "account_sequence"}))
+public class OutboxEvent {
+
+    // Publication order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "account_sequence", nullable = false)
+    private long accountSequence;
+
+    @Column(name = "transaction_id", nullable = false)
+    private UUID transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    // Signed change of this account's balance
+    @Column(nullable = false)
+    private Money amount;
+
+    @Column(name = "balance_after", nullable = false)
+    private Money balanceAfter;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Null until the relay has handed the event to the sink
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
@@ -25,7 +25,7 @@ public class Transaction {
     private Account toAccount;
 
     @Column(nullable = false)
-    private double amount;
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -27,7 +27,7 @@ public class User {
     @Enumerated(EnumType.STRING)
     private UserType role;
 
-    private float dayLimit;
-    private float transactionLimit;
+    private Money dayLimit = Money.ZERO;
+    private Money transactionLimit = Money.ZERO;
     private boolean active;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.banking.backend.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Balance changes computed from the transactions table, amounts in cents. A transaction between
+ * two accounts moves its amount from one to the other; an ATM transaction (from and to the same
+ * account) carries its own sign.
+ */
+public interface AccountBalanceHistoryRepository {
+
+    /**
+     * Adds a snapshot for every account with transactions on day: the latest earlier snapshot
+     * plus that day's changes. Returns the number of snapshots written.
+     */
+    int insertSnapshotsForDay(LocalDate day);
+
+    // Net change of the account's balance by transactions executed in [from, to)
+    long sumBalanceChanges(UUID accountId, LocalDateTime from, LocalDateTime to);
+
+    Optional<LocalDateTime> findFirstExecutionDate();
+}
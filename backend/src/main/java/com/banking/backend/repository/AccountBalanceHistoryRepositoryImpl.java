@@ -0,0 +1,67 @@
+package com.banking.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+class AccountBalanceHistoryRepositoryImpl implements AccountBalanceHistoryRepository {
+
+    // Each side of a transaction read on its own, so both can use a date range index
+    private static final String DAY_CHANGES =
+            "SELECT t.to_iban AS account_id, t.amount AS delta FROM transactions t" +
+            " WHERE t.date_of_execution >= :from AND t.date_of_execution < :to" +
+            " UNION ALL" +
+            " SELECT t.from_iban, -t.amount FROM transactions t" +
+            " WHERE t.date_of_execution >= :from AND t.date_of_execution < :to AND t.from_iban <> t.to_iban";
+
+    private static final String INSERT_SNAPSHOTS =
+            "INSERT INTO account_balance_snapshots (account_id, snapshot_date, balance)" +
+            " SELECT c.account_id, :day," +
+            " COALESCE((SELECT s.balance FROM account_balance_snapshots s" +
+            "           WHERE s.account_id = c.account_id AND s.snapshot_date < :day" +
+            "           ORDER BY s.snapshot_date DESC LIMIT 1), 0) + c.delta" +
+            " FROM (SELECT account_id, SUM(delta) AS delta FROM (" + DAY_CHANGES + ") changes" +
+            "       GROUP BY account_id) c";
+
+    // Per side again, each an index range scan on (from_iban|to_iban, date_of_execution)
+    private static final String SUM_CHANGES =
+            "SELECT COALESCE(SUM(delta), 0) FROM (" +
+            " SELECT t.amount AS delta FROM transactions t" +
+            " WHERE t.to_iban = :id AND t.date_of_execution >= :from AND t.date_of_execution < :to" +
+            " UNION ALL" +
+            " SELECT -t.amount FROM transactions t" +
+            " WHERE t.from_iban = :id AND t.to_iban <> :id" +
+            " AND t.date_of_execution >= :from AND t.date_of_execution < :to) changes";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertSnapshotsForDay(LocalDate day) {
+        return entityManager.createNativeQuery(INSERT_SNAPSHOTS)
+                .setParameter("day", day)
+                .setParameter("from", day.atStartOfDay())
+                .setParameter("to", day.plusDays(1).atStartOfDay())
+                .executeUpdate();
+    }
+
+    @Override
+    public long sumBalanceChanges(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        return ((Number) entityManager.createNativeQuery(SUM_CHANGES)
+                .setParameter("id", accountId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getSingleResult()).longValue();
+    }
+
+    @Override
+    public Optional<LocalDateTime> findFirstExecutionDate() {
+        return Optional.ofNullable(entityManager
+                .createQuery("SELECT MIN(t.dateOfExecution) FROM Transaction t", LocalDateTime.class)
+                .getSingleResult());
+    }
+}
@@ -0,0 +1,17 @@
+package com.banking.backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads every account of a transfer batch in one statement. Unknown IBANs are
+ * simply absent from the result.
+ */
+public interface AccountBalanceRepository {
+
+    // Locks the rows in id order, like findByIdForUpdate for a single transfer
+    List<AccountBalanceRow> findBalancesByIbanForUpdate(Collection<String> ibans);
+
+    // Unlocked, for OPTIMISTIC mode where the update checks the version instead
+    List<AccountBalanceRow> findBalancesByIban(Collection<String> ibans);
+}
@@ -0,0 +1,63 @@
+package com.banking.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+class AccountBalanceRepositoryImpl implements AccountBalanceRepository {
+
+    // The owner's limits come from subqueries, a join to users would make FOR UPDATE lock those rows too
+    private static final String SELECT_BALANCES =
+            "SELECT a.id, a.iban, a.balance, a.absolute_limit, a.user_id," +
+            " (SELECT u.transaction_limit FROM users u WHERE u.id = a.user_id) AS transaction_limit," +
+            " (SELECT u.day_limit FROM users u WHERE u.id = a.user_id) AS day_limit," +
+            " a.version" +
+            " FROM accounts a WHERE a.iban IN (:ibans)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AccountBalanceRow> findBalancesByIbanForUpdate(Collection<String> ibans) {
+        return find(SELECT_BALANCES + " ORDER BY a.id FOR UPDATE", ibans);
+    }
+
+    @Override
+    public List<AccountBalanceRow> findBalancesByIban(Collection<String> ibans) {
+        return find(SELECT_BALANCES, ibans);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AccountBalanceRow> find(String sql, Collection<String> ibans) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        List<Object[]> rows = query
+                .addScalar("id", UUID.class)
+                .addScalar("iban", String.class)
+                .addScalar("balance", Long.class)
+                .addScalar("absolute_limit", Long.class)
+                .addScalar("user_id", UUID.class)
+                .addScalar("transaction_limit", Long.class)
+                .addScalar("day_limit", Long.class)
+                .addScalar("version", Long.class)
+                .setParameterList("ibans", ibans, String.class)
+                .getResultList();
+        return rows.stream().map(AccountBalanceRepositoryImpl::toRow).toList();
+    }
+
+    private static AccountBalanceRow toRow(Object[] row) {
+        return new AccountBalanceRow(
+            (UUID) row[0],
+            (String) row[1],
+            (Long) row[2],
+            row[3] != null ? (Long) row[3] : 0L,
+            (UUID) row[4],
+            row[5] != null ? (Long) row[5] : 0L,
+            row[6] != null ? (Long) row[6] : 0L,
+            (Long) row[7]
+        );
+    }
+}
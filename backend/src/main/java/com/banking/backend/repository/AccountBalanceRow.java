@@ -0,0 +1,48 @@
+package com.banking.backend.repository;
+
+import java.util.UUID;
+
+/**
+ * The columns a transfer batch needs from an account row and its owner, amounts in cents.
+ * Read instead of Account so no entities (and their users) are loaded.
+ */
+public class AccountBalanceRow {
+
+    private final UUID id;
+    private final String iban;
+    private final long balance;
+    private final long absoluteLimit;
+    private final UUID userId;
+    private final long transactionLimit;
+    private final long dayLimit;
+    private final long version;
+
+    public AccountBalanceRow(UUID id, String iban, long balance, long absoluteLimit, UUID userId,
+                             long transactionLimit, long dayLimit, long version) {
+        this.id = id;
+        this.iban = iban;
+        this.balance = balance;
+        this.absoluteLimit = absoluteLimit;
+        this.userId = userId;
+        this.transactionLimit = transactionLimit;
+        this.dayLimit = dayLimit;
+        this.version = version;
+    }
+
+    public UUID getId() { return id; }
+
+    public String getIban() { return iban; }
+
+    public long getBalance() { return balance; }
+
+    public long getAbsoluteLimit() { return absoluteLimit; }
+
+    public UUID getUserId() { return userId; }
+
+    // Limits of the owner, zero when there is none or no owner
+    public long getTransactionLimit() { return transactionLimit; }
+
+    public long getDayLimit() { return dayLimit; }
+
+    public long getVersion() { return version; }
+}
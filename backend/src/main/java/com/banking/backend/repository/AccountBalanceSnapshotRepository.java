@@ -0,0 +1,18 @@
+package com.banking.backend.repository;
+
+import com.banking.backend.model.AccountBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AccountBalanceSnapshotRepository
+        extends JpaRepository<AccountBalanceSnapshot, AccountBalanceSnapshot.Key>, AccountBalanceHistoryRepository {
+
+    // Latest snapshot on or before day, a backwards primary key range scan
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(
+            UUID accountId, LocalDate day);
+}
@@ -2,18 +2,83 @@ package com.banking.backend.repository;
 
 import com.banking.backend.model.Account;
 import com.banking.backend.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, UUID> {
+public interface AccountRepository extends JpaRepository<Account, UUID>, AccountBalanceRepository,
+        IbanSequenceRepository, AccountSearchRepository {
     List<Account> findByUser(User user);
     Optional<Account> findByIban(String iban); // ← added
     Optional<Account> findByid(UUID id);
-    //Get user by IBAN
+
+    // SELECT ... FOR UPDATE, used by the transfer engine in PESSIMISTIC mode
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") UUID id);
+
+    // Single-statement debit in cents: only applies when balance plus overdraft limit covers the amount.
+    // Returns 0 when the account does not exist or has insufficient funds.
+    // Also numbers the outbox event the caller writes for this change (see OutboxWriter).
+    @Modifying
+    @Query(value = "UPDATE accounts SET balance = balance - :amount, version = version + 1, " +
+                   "event_sequence = event_sequence + 1 " +
+                   "WHERE id = :id AND balance + absolute_limit >= :amount", nativeQuery = true)
+    int debitIfCovered(@Param("id") UUID id, @Param("amount") long amount);
+
+    // Single-statement credit in cents, returns 0 when the account does not exist.
+    // Numbers the outbox event like debitIfCovered.
+    @Modifying
+    @Query(value = "UPDATE accounts SET balance = balance + :amount, version = version + 1, " +
+                   "event_sequence = event_sequence + 1 WHERE id = :id",
+           nativeQuery = true)
+    int credit(@Param("id") UUID id, @Param("amount") long amount);
+
+    // debitIfCovered for OPTIMISTIC mode: also 0 when the account changed since expectedVersion was read
+    @Modifying
+    @Query(value = "UPDATE accounts SET balance = balance - :amount, version = version + 1, " +
+                   "event_sequence = event_sequence + 1 " +
+                   "WHERE id = :id AND version = :expectedVersion AND balance + absolute_limit >= :amount",
+           nativeQuery = true)
+    int debitIfCoveredAtVersion(@Param("id") UUID id, @Param("amount") long amount,
+                                @Param("expectedVersion") long expectedVersion);
+
+    // credit for OPTIMISTIC mode: also 0 when the account changed since expectedVersion was read
+    @Modifying
+    @Query(value = "UPDATE accounts SET balance = balance + :amount, version = version + 1, " +
+                   "event_sequence = event_sequence + 1 WHERE id = :id AND version = :expectedVersion",
+           nativeQuery = true)
+    int creditAtVersion(@Param("id") UUID id, @Param("amount") long amount,
+                        @Param("expectedVersion") long expectedVersion);
+
+    // The committed version, read past the persistence context that may hold an older copy of the account
+    @Query(value = "SELECT version FROM accounts WHERE id = :id", nativeQuery = true)
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    // Sets the overdraft limit in cents without a read-modify-write racing the balance updates,
+    // returns 0 when the account does not exist
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE accounts SET absolute_limit = :limit, version = version + 1 WHERE id = :id",
+           nativeQuery = true)
+    int updateAbsoluteLimit(@Param("id") UUID id, @Param("limit") long limit);
+
+    // Soft deletes the account without a read-modify-write racing the balance updates,
+    // returns 0 when the account does not exist
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE accounts SET active = false, version = version + 1 WHERE id = :id",
+           nativeQuery = true)
+    int deactivate(@Param("id") UUID id);
 }
 
@@ -0,0 +1,24 @@
+package com.banking.backend.repository;
+
+import com.banking.backend.dto.AccountSearchQuery;
+import com.banking.backend.dto.AccountSummaryDTO;
+
+import java.util.List;
+
+/**
+ * Read model behind the employee account list. A page is one SQL statement that selects
+ * only the columns of {@link AccountSummaryDTO}, so no Account or User entities are loaded,
+ * and the owner is joined for the page rows only unless a filter or the sort needs it.
+ */
+public interface AccountSearchRepository {
+
+    /**
+     * Up to {@code limit} accounts matching the query's filters, in its order, starting at its offset.
+     */
+    List<AccountSummaryDTO> findAccountPage(AccountSearchQuery query, int limit);
+
+    /**
+     * Number of accounts matching the query's filters.
+     */
+    long countAccounts(AccountSearchQuery query);
+}
@@ -0,0 +1,150 @@
+package com.banking.backend.repository;
+
+import com.banking.backend.dto.AccountSearchQuery;
+import com.banking.backend.dto.AccountSummaryDTO;
+import com.banking.backend.model.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+class AccountSearchRepositoryImpl implements AccountSearchRepository {
+
+    private static final String SELECT_DTO =
+            "SELECT p.id, p.iban, p.balance, p.type_of_account, p.user_id, p.date_of_opening, p.absolute_limit," +
+            " p.active, o.first_name, o.last_name, o.email" +
+            " FROM (%s) p" +
+            " LEFT JOIN users o ON o.id = p.user_id" +
+            " ORDER BY %s";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<AccountSummaryDTO> findAccountPage(AccountSearchQuery query, int limit) {
+        boolean joinOwner = query.getOwner() != null || query.getSortField() == AccountSearchQuery.SortField.OWNER;
+        String pageSql = "SELECT a.* FROM " + from(joinOwner) + where(query)
+                + " ORDER BY " + orderBy(query, "a", "u") + " LIMIT :limit OFFSET :offset";
+        NativeQuery<Object[]> nativeQuery = entityManager
+                .createNativeQuery(String.format(SELECT_DTO, pageSql, orderBy(query, "p", "o")))
+                .unwrap(NativeQuery.class);
+        addScalars(nativeQuery);
+        bindFilters(nativeQuery, query);
+        List<Object[]> rows = nativeQuery
+                .setParameter("limit", limit)
+                .setParameter("offset", query.getOffset())
+                .getResultList();
+        return rows.stream().map(AccountSearchRepositoryImpl::toDTO).toList();
+    }
+
+    @Override
+    public long countAccounts(AccountSearchQuery query) {
+        Query countQuery = entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM " + from(query.getOwner() != null) + where(query));
+        bindFilters(countQuery, query);
+        return ((Number) countQuery.getSingleResult()).longValue();
+    }
+
+    // Helper Methods
+
+    private static String from(boolean joinOwner) {
+        return joinOwner ? "accounts a LEFT JOIN users u ON u.id = a.user_id" : "accounts a";
+    }
+
+    // Only the filters that are set, so the planner sees plain predicates instead of "IS NULL OR" branches
+    private static String where(AccountSearchQuery query) {
+        List<String> conditions = new ArrayList<>();
+        if (query.getType() != null) {
+            conditions.add("a.type_of_account = :type");
+        }
+        if (query.getActive() != null) {
+            conditions.add("a.active = :active");
+        }
+        if (query.getMinBalance() != null) {
+            conditions.add("a.balance >= :minBalance");
+        }
+        if (query.getMaxBalance() != null) {
+            conditions.add("a.balance <= :maxBalance");
+        }
+        if (query.getOwner() != null) {
+            conditions.add("(LOWER(u.email) LIKE :owner ESCAPE '\\'" +
+                           " OR LOWER(CONCAT(u.first_name, ' ', u.last_name)) LIKE :owner ESCAPE '\\')");
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static void bindFilters(Query nativeQuery, AccountSearchQuery query) {
+        if (query.getType() != null) {
+            nativeQuery.setParameter("type", query.getType().name());
+        }
+        if (query.getActive() != null) {
+            nativeQuery.setParameter("active", query.getActive());
+        }
+        if (query.getMinBalance() != null) {
+            nativeQuery.setParameter("minBalance", query.getMinBalance().getMinorUnits());
+        }
+        if (query.getMaxBalance() != null) {
+            nativeQuery.setParameter("maxBalance", query.getMaxBalance().getMinorUnits());
+        }
+        if (query.getOwner() != null) {
+            nativeQuery.setParameter("owner", "%" + escapeLike(query.getOwner().toLowerCase(Locale.ROOT)) + "%");
+        }
+    }
+
+    // The owner is matched literally, not as a pattern
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Ties are broken by id so a row never shows up on two pages; IBANs are unique already
+    private static String orderBy(AccountSearchQuery query, String account, String owner) {
+        String direction = query.isDescending() ? " DESC" : " ASC";
+        return switch (query.getSortField()) {
+            case IBAN -> account + ".iban" + direction;
+            case BALANCE -> account + ".balance" + direction + ", " + account + ".id" + direction;
+            case DATE_OF_OPENING -> account + ".date_of_opening" + direction + " NULLS LAST, "
+                    + account + ".id" + direction;
+            case OWNER -> owner + ".last_name" + direction + " NULLS LAST, "
+                    + owner + ".first_name" + direction + " NULLS LAST, " + account + ".id" + direction;
+        };
+    }
+
+    // Columns of AccountSummaryDTO, in constructor order
+    private static void addScalars(NativeQuery<Object[]> query) {
+        query
+            .addScalar("id", UUID.class)
+            .addScalar("iban", String.class)
+            .addScalar("balance", Long.class)
+            .addScalar("type_of_account", String.class)
+            .addScalar("user_id", UUID.class)
+            .addScalar("date_of_opening", LocalDate.class)
+            .addScalar("absolute_limit", Long.class)
+            .addScalar("active", Boolean.class)
+            .addScalar("first_name", String.class)
+            .addScalar("last_name", String.class)
+            .addScalar("email", String.class);
+    }
+
+    private static AccountSummaryDTO toDTO(Object[] row) {
+        return new AccountSummaryDTO(
+            (UUID) row[0],
+            (String) row[1],
+            Money.ofMinor((Long) row[2]),
+            (String) row[3],
+            (UUID) row[4],
+            (LocalDate) row[5],
+            row[6] != null ? Money.ofMinor((Long) row[6]) : null,
+            (Boolean) row[7],
+            (String) row[8],
+            (String) row[9],
+            (String) row[10]
+        );
+    }
+}
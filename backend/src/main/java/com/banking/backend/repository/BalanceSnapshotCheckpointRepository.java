@@ -0,0 +1,20 @@
+package com.banking.backend.repository;
+
+import com.banking.backend.model.BalanceSnapshotCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotCheckpointRepository extends JpaRepository<BalanceSnapshotCheckpoint, Integer> {
+
+    // Held by the snapshot job for the day it adds
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM BalanceSnapshotCheckpoint c WHERE c.id = :id")
+    Optional<BalanceSnapshotCheckpoint> findByIdForUpdate(@Param("id") Integer id);
+}
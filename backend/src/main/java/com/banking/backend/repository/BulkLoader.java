@@ -0,0 +1,170 @@
+package com.banking.backend.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+/**
+ * Appends rows to one table outside of JPA, for loading datasets far larger than a persistence
+ * context could hold. On PostgreSQL rows are streamed with COPY ... FROM STDIN (CSV); on other
+ * databases they are sent as JDBC batches of batchSize inserts. Both commit every batchSize rows,
+ * so the caller owns the connection but not its transactions.
+ */
+public abstract class BulkLoader implements AutoCloseable {
+
+    protected final Connection connection;
+    protected final int batchSize;
+    private long rows;
+
+    private BulkLoader(Connection connection, int batchSize) {
+        this.connection = connection;
+        this.batchSize = batchSize;
+    }
+
+    public static BulkLoader open(Connection connection, String table, String[] columns, int batchSize)
+            throws SQLException {
+        connection.setAutoCommit(false);
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return new CopyLoader(connection, table, columns, batchSize);
+        }
+        return new BatchLoader(connection, table, columns, batchSize);
+    }
+
+    // Refreshes planner statistics after a load on PostgreSQL, nothing elsewhere
+    public static void analyze(Connection connection, String... tables) throws SQLException {
+        if (!connection.isWrapperFor(PGConnection.class)) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String table : tables) {
+                statement.execute("ANALYZE " + table);
+            }
+        }
+        connection.commit();
+    }
+
+    // values in column order: UUID, String, Number, Boolean, LocalDate, LocalDateTime or null
+    public void add(Object... values) throws SQLException {
+        write(values);
+        if (++rows % batchSize == 0) {
+            flush();
+        }
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+        finish();
+    }
+
+    protected abstract void write(Object[] values) throws SQLException;
+
+    protected abstract void flush() throws SQLException;
+
+    protected abstract void finish() throws SQLException;
+
+    private static final class BatchLoader extends BulkLoader {
+        private final PreparedStatement statement;
+        private int pending;
+
+        private BatchLoader(Connection connection, String table, String[] columns, int batchSize) throws SQLException {
+            super(connection, batchSize);
+            this.statement = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns)
+                    + ") VALUES (" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")");
+        }
+
+        @Override
+        protected void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            pending++;
+        }
+
+        @Override
+        protected void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+
+        @Override
+        protected void finish() throws SQLException {
+            statement.close();
+        }
+    }
+
+    // One COPY per batch, so a batch is also the unit of commit as with BatchLoader
+    private static final class CopyLoader extends BulkLoader {
+        private final String copySql;
+        private final StringBuilder buffer = new StringBuilder();
+
+        private CopyLoader(Connection connection, String table, String[] columns, int batchSize) {
+            super(connection, batchSize);
+            this.copySql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        }
+
+        @Override
+        protected void write(Object[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendCsv(values[i]);
+            }
+            buffer.append('\n');
+        }
+
+        @Override
+        protected void flush() throws SQLException {
+            if (buffer.length() == 0) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+            try {
+                copy.writeToCopy(bytes, 0, bytes.length);
+                copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+            connection.commit();
+            buffer.setLength(0);
+        }
+
+        @Override
+        protected void finish() {
+        }
+
+        // An unquoted empty field is NULL in CSV COPY, quoted text is always a value
+        private void appendCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof String text) {
+                buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value instanceof LocalDateTime || value instanceof LocalDate) {
+                buffer.append(value.toString().replace('T', ' '));
+            } else {
+                buffer.append(value);
+            }
+        }
+    }
+}
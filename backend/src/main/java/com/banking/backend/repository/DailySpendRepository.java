@@ -0,0 +1,11 @@
+package com.banking.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+public interface DailySpendRepository {
+
+    // Money each user moved out of their accounts (transfers and ATM withdrawals) since the given time, in cents
+    Map<UUID, Long> sumSpendByUserSince(LocalDateTime since);
+}
@@ -0,0 +1,44 @@
+package com.banking.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class DailySpendRepositoryImpl implements DailySpendRepository {
+
+    // Spend is money leaving the account: a transfer to another account, or a withdrawal, which is
+    // stored from and to the same account with a negative amount (hence ABS). Classified by movement,
+    // not by type_of_transaction, which clients supply.
+    private static final String SUM_SPEND =
+            "SELECT a.user_id, SUM(ABS(t.amount)) AS spent" +
+            " FROM transactions t JOIN accounts a ON a.id = t.from_iban" +
+            " WHERE t.date_of_execution >= :since" +
+            " AND (t.from_iban <> t.to_iban OR t.amount < 0)" +
+            " AND a.user_id IS NOT NULL" +
+            " GROUP BY a.user_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<UUID, Long> sumSpendByUserSince(LocalDateTime since) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(SUM_SPEND).unwrap(NativeQuery.class);
+        List<Object[]> rows = query
+                .addScalar("user_id", UUID.class)
+                .addScalar("spent", Long.class)
+                .setParameter("since", since, LocalDateTime.class)
+                .getResultList();
+        Map<UUID, Long> spend = new HashMap<>();
+        for (Object[] row : rows) {
+            spend.put((UUID) row[0], (Long) row[1]);
+        }
+        return spend;
+    }
+}
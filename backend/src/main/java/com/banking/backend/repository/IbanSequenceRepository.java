@@ -0,0 +1,13 @@
+package com.banking.backend.repository;
+
+/**
+ * Database sequence behind the account numbers of new IBANs (see IbanAllocator).
+ * It is shared by every node, and each call reserves a whole block of numbers.
+ */
+public interface IbanSequenceRepository {
+
+    String IBAN_SEQUENCE = "iban_account_number_seq";
+
+    // First number of a fresh block; the block is as long as the sequence increment
+    long reserveIbanNumbers();
+}
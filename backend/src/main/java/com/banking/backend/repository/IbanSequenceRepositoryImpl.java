@@ -0,0 +1,31 @@
+package com.banking.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+class IbanSequenceRepositoryImpl implements IbanSequenceRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String nextValueSql;
+
+    @Override
+    public long reserveIbanNumbers() {
+        return ((Number) entityManager.createNativeQuery(nextValueSql()).getSingleResult()).longValue();
+    }
+
+    // nextval('...') on PostgreSQL, NEXT VALUE FOR on H2: whatever the configured dialect uses
+    private String nextValueSql() {
+        if (nextValueSql == null) {
+            nextValueSql = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect()
+                    .getSequenceSupport()
+                    .getSequenceNextValString(IBAN_SEQUENCE);
+        }
+        return nextValueSql;
+    }
+}
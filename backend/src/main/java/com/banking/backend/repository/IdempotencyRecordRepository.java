@@ -0,0 +1,39 @@
+package com.banking.backend.repository;
+
+import com.banking.backend.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, UUID> {
+    // Read as values, see IdempotencyRecordState: a retry polls these while another request completes the row
+    @Query("SELECT new com.banking.backend.repository.IdempotencyRecordState(" +
+           "r.id, r.requestHash, r.status, r.responseBody, r.expiresAt) " +
+           "FROM IdempotencyRecord r WHERE r.scope = :scope AND r.idempotencyKey = :idempotencyKey")
+    Optional<IdempotencyRecordState> findStateByScopeAndIdempotencyKey(@Param("scope") String scope,
+                                                                       @Param("idempotencyKey") String idempotencyKey);
+
+    @Query("SELECT new com.banking.backend.repository.IdempotencyRecordState(" +
+           "r.id, r.requestHash, r.status, r.responseBody, r.expiresAt) " +
+           "FROM IdempotencyRecord r WHERE r.id = :id")
+    Optional<IdempotencyRecordState> findStateById(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.banking.backend.model.IdempotencyStatus.COMPLETED, " +
+           "r.responseBody = :responseBody WHERE r.id = :id")
+    int markCompleted(@Param("id") UUID id, @Param("responseBody") String responseBody);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,40 @@
+package com.banking.backend.repository;
+
+import com.banking.backend.model.IdempotencyStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns a retry needs from an idempotency key row. Read instead of IdempotencyRecord
+ * so every read hits the database: with open-in-view the request's persistence context
+ * would otherwise keep answering with the entity it loaded first.
+ */
+public class IdempotencyRecordState {
+
+    private final UUID id;
+    private final String requestHash;
+    private final IdempotencyStatus status;
+    private final String responseBody;
+    private final LocalDateTime expiresAt;
+
+    public IdempotencyRecordState(UUID id, String requestHash, IdempotencyStatus status, String responseBody,
+                                  LocalDateTime expiresAt) {
+        this.id = id;
+        this.requestHash = requestHash;
+        this.status = status;
+        this.responseBody = responseBody;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getId() { return id; }
+
+    public String getRequestHash() { return requestHash; }
+
+    public IdempotencyStatus getStatus() { return status; }
+
+    // Null until the first request completed
+    public String getResponseBody() { return responseBody; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
@@ -0,0 +1,40 @@
+package com.banking.backend.repository;
+
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.model.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Read model behind the account history endpoints. Each page is one SQL statement
+ * that selects only the columns of {@link TransactionDTO}, so no Transaction,
+ * Account or User entities are loaded.
+ *
+ * Rows come newest first by (dateOfExecution, id); afterDate/afterId is the last
+ * row of the previous page and may be null for the first page, as may the filters.
+ */
+public interface TransactionHistoryRepository {
+
+    List<TransactionDTO> findHistoryPageByAccount(UUID accountId, TransactionType type,
+                                                  LocalDateTime fromDate, LocalDateTime toDate,
+                                                  LocalDateTime afterDate, UUID afterId, int limit);
+
+    List<TransactionDTO> findHistoryPageByToAccount(UUID accountId, TransactionType type,
+                                                    LocalDateTime fromDate, LocalDateTime toDate,
+                                                    LocalDateTime afterDate, UUID afterId, int limit);
+
+    List<TransactionDTO> findHistoryPageByFromAccount(UUID accountId, TransactionType type,
+                                                      LocalDateTime fromDate, LocalDateTime toDate,
+                                                      LocalDateTime afterDate, UUID afterId, int limit);
+
+    /**
+     * The account's whole history matching the filters, oldest first, read through a database
+     * cursor {@code fetchSize} rows at a time. Must be consumed and closed inside a transaction.
+     */
+    Stream<TransactionDTO> streamHistoryByAccount(UUID accountId, TransactionType type,
+                                                  LocalDateTime fromDate, LocalDateTime toDate,
+                                                  int fetchSize);
+}
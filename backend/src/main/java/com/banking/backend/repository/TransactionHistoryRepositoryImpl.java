@@ -0,0 +1,145 @@
+package com.banking.backend.repository;
+
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+class TransactionHistoryRepositoryImpl implements TransactionHistoryRepository {
+
+    // Filters and keyset condition shared by every branch. Parameters are cast so
+    // PostgreSQL can type them when bound as null.
+    private static final String FILTERS =
+            " AND (CAST(:type AS VARCHAR) IS NULL OR t.type_of_transaction = CAST(:type AS VARCHAR))" +
+            " AND (CAST(:fromDate AS TIMESTAMP) IS NULL OR t.date_of_execution >= CAST(:fromDate AS TIMESTAMP))" +
+            " AND (CAST(:toDate AS TIMESTAMP) IS NULL OR t.date_of_execution < CAST(:toDate AS TIMESTAMP))";
+    private static final String PAGE_FILTERS = FILTERS +
+            " AND (CAST(:afterDate AS TIMESTAMP) IS NULL OR t.date_of_execution < CAST(:afterDate AS TIMESTAMP)" +
+            "      OR (t.date_of_execution = CAST(:afterDate AS TIMESTAMP) AND t.id < CAST(:afterId AS UUID)))" +
+            " ORDER BY t.date_of_execution DESC, t.id DESC LIMIT :limit";
+
+    // Each branch is a range scan on the (from_iban | to_iban, date_of_execution) index
+    private static final String SENT =
+            "SELECT t.* FROM transactions t WHERE t.from_iban = :accountId" + PAGE_FILTERS;
+    private static final String RECEIVED =
+            "SELECT t.* FROM transactions t WHERE t.to_iban = :accountId" + PAGE_FILTERS;
+
+    // UNION ALL instead of an OR across both columns, which cannot use either index.
+    // Rows with the account on both sides (ATM deposits and withdrawals) come from the sent branch only.
+    private static final String SENT_OR_RECEIVED =
+            "SELECT page.* FROM ((" + SENT + ") UNION ALL (" +
+            "SELECT t.* FROM transactions t WHERE t.to_iban = :accountId AND t.from_iban <> :accountId" + PAGE_FILTERS +
+            ")) page ORDER BY page.date_of_execution DESC, page.id DESC LIMIT :limit";
+
+    // Whole filtered history, oldest first: the same two index range scans, merged instead of limited
+    private static final String EXPORT =
+            "SELECT t.id, f.iban AS from_account_iban, r.iban AS to_account_iban, t.amount," +
+            " t.type_of_transaction, t.date_of_execution, t.user_id, t.description" +
+            " FROM ((SELECT t.* FROM transactions t WHERE t.from_iban = :accountId" + FILTERS + ")" +
+            " UNION ALL (SELECT t.* FROM transactions t WHERE t.to_iban = :accountId" +
+            " AND t.from_iban <> :accountId" + FILTERS + ")) t" +
+            " JOIN accounts f ON f.id = t.from_iban" +
+            " JOIN accounts r ON r.id = t.to_iban" +
+            " ORDER BY t.date_of_execution, t.id";
+
+    // Resolves the two IBANs for the page rows only, after the limit is applied
+    private static final String SELECT_DTO =
+            "SELECT p.id, f.iban AS from_account_iban, r.iban AS to_account_iban, p.amount," +
+            " p.type_of_transaction, p.date_of_execution, p.user_id, p.description" +
+            " FROM (%s) p" +
+            " JOIN accounts f ON f.id = p.from_iban" +
+            " JOIN accounts r ON r.id = p.to_iban" +
+            " ORDER BY p.date_of_execution DESC, p.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionDTO> findHistoryPageByAccount(UUID accountId, TransactionType type,
+                                                         LocalDateTime fromDate, LocalDateTime toDate,
+                                                         LocalDateTime afterDate, UUID afterId, int limit) {
+        return findPage(SENT_OR_RECEIVED, accountId, type, fromDate, toDate, afterDate, afterId, limit);
+    }
+
+    @Override
+    public List<TransactionDTO> findHistoryPageByToAccount(UUID accountId, TransactionType type,
+                                                           LocalDateTime fromDate, LocalDateTime toDate,
+                                                           LocalDateTime afterDate, UUID afterId, int limit) {
+        return findPage(RECEIVED, accountId, type, fromDate, toDate, afterDate, afterId, limit);
+    }
+
+    @Override
+    public List<TransactionDTO> findHistoryPageByFromAccount(UUID accountId, TransactionType type,
+                                                             LocalDateTime fromDate, LocalDateTime toDate,
+                                                             LocalDateTime afterDate, UUID afterId, int limit) {
+        return findPage(SENT, accountId, type, fromDate, toDate, afterDate, afterId, limit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<TransactionDTO> streamHistoryByAccount(UUID accountId, TransactionType type,
+                                                         LocalDateTime fromDate, LocalDateTime toDate,
+                                                         int fetchSize) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(EXPORT).unwrap(NativeQuery.class);
+        return addScalars(query)
+                .setParameter("accountId", accountId, UUID.class)
+                .setParameter("type", type != null ? type.name() : null, String.class)
+                .setParameter("fromDate", fromDate, LocalDateTime.class)
+                .setParameter("toDate", toDate, LocalDateTime.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .getResultStream()
+                .map(TransactionHistoryRepositoryImpl::toDTO);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TransactionDTO> findPage(String pageSql, UUID accountId, TransactionType type,
+                                          LocalDateTime fromDate, LocalDateTime toDate,
+                                          LocalDateTime afterDate, UUID afterId, int limit) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(String.format(SELECT_DTO, pageSql))
+                .unwrap(NativeQuery.class);
+        List<Object[]> rows = addScalars(query)
+                .setParameter("accountId", accountId, UUID.class)
+                .setParameter("type", type != null ? type.name() : null, String.class)
+                .setParameter("fromDate", fromDate, LocalDateTime.class)
+                .setParameter("toDate", toDate, LocalDateTime.class)
+                .setParameter("afterDate", afterDate, LocalDateTime.class)
+                .setParameter("afterId", afterId, UUID.class)
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream().map(TransactionHistoryRepositoryImpl::toDTO).toList();
+    }
+
+    // Columns of TransactionDTO, in constructor order
+    private static NativeQuery<Object[]> addScalars(NativeQuery<Object[]> query) {
+        return query
+                .addScalar("id", UUID.class)
+                .addScalar("from_account_iban", String.class)
+                .addScalar("to_account_iban", String.class)
+                .addScalar("amount", Long.class)
+                .addScalar("type_of_transaction", String.class)
+                .addScalar("date_of_execution", LocalDateTime.class)
+                .addScalar("user_id", UUID.class)
+                .addScalar("description", String.class);
+    }
+
+    private static TransactionDTO toDTO(Object[] row) {
+        return new TransactionDTO(
+            (UUID) row[0],
+            (String) row[1],
+            (String) row[2],
+            Money.ofMinor((Long) row[3]),
+            (String) row[4],
+            (LocalDateTime) row[5],
+            (UUID) row[6],
+            (String) row[7]
+        );
+    }
+}
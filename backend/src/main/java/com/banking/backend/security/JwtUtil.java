@@ -1,6 +1,7 @@
 package com.banking.backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -18,6 +19,9 @@ public class JwtUtil {
 
     private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
 
+    // Immutable and thread-safe, built once instead of per call
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
     public String generateToken(UUID userId) {
         return Jwts.builder()
                 .setSubject(userId.toString())
@@ -27,26 +31,31 @@ public class JwtUtil {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the signature and expiry of the token in a single parse.
+     * Returns the claims, or null if the token is malformed, forged or expired.
+     */
+    public Claims parseVerifiedClaims(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 
+    public boolean validateToken(String token) {
+        return parseVerifiedClaims(token) != null;
+    }
+
     public UUID extractUserId(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+        return toUserId(parseVerifiedClaims(token));
+    }
 
-            return UUID.fromString(claims.getSubject());
+    public UUID toUserId(Claims claims) {
+        try {
+            return claims != null ? UUID.fromString(claims.getSubject()) : null;
         } catch (Exception e) {
             return null;
         }
     }
-}
\ No newline at end of file
+}
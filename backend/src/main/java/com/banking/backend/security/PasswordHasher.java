@@ -0,0 +1,104 @@
+package com.banking.backend.security;
+
+import com.banking.backend.config.OperationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs password checks on a dedicated pool of {@code banking.password.hashing.threads} threads
+ * (one per CPU by default) in front of a queue of {@code banking.password.hashing.queue-capacity}.
+ *
+ * A hash is deliberately expensive CPU work, so a login storm can at most keep these threads
+ * busy: request threads hand the check over and are released, and once the queue is full further
+ * checks fail right away with a RejectedExecutionException instead of piling up. The pool is
+ * published as executor.* meters tagged name=passwordHashing.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService executor;
+    private final OperationMetrics operationMetrics;
+
+    @Autowired
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          OperationMetrics operationMetrics,
+                          MeterRegistry meterRegistry,
+                          @Value("${banking.password.hashing.threads:0}") int threads,
+                          @Value("${banking.password.hashing.queue-capacity:200}") int queueCapacity) {
+        this(passwordEncoder, operationMetrics, ExecutorServiceMetrics.monitor(meterRegistry,
+                newPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), queueCapacity),
+                "passwordHashing"));
+    }
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, OperationMetrics operationMetrics, ExecutorService executor) {
+        this.passwordEncoder = passwordEncoder;
+        this.operationMetrics = operationMetrics;
+        this.executor = executor;
+    }
+
+    /**
+     * Checks rawPassword against the stored hash on the hashing pool. When it matches and the hash
+     * was made with outdated parameters, the check also produces a new hash to store instead.
+     */
+    public CompletableFuture<PasswordCheck> check(String rawPassword, String storedHash) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                boolean matches = operationMetrics.record(OperationMetrics.PASSWORD_CHECK,
+                        () -> passwordEncoder.matches(rawPassword, storedHash));
+                String upgradedHash = matches && passwordEncoder.upgradeEncoding(storedHash)
+                        ? passwordEncoder.encode(rawPassword)
+                        : null;
+                return new PasswordCheck(matches, upgradedHash);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Helper Methods
+
+    private static ExecutorService newPool(int threads, int queueCapacity) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public static final class PasswordCheck {
+        private final boolean matches;
+        private final String upgradedHash;
+
+        PasswordCheck(boolean matches, String upgradedHash) {
+            this.matches = matches;
+            this.upgradedHash = upgradedHash;
+        }
+
+        public boolean matches() {
+            return matches;
+        }
+
+        // New hash to replace the stored one with, null when it is current or did not match
+        public String getUpgradedHash() {
+            return upgradedHash;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.BalanceChangeEvent;
+import com.banking.backend.dto.TransactionDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Fans committed transactions and relayed balance changes out to the Server-Sent Events streams
+ * of GET /accounts/{accountId}/stream.
+ *
+ * Publishing never blocks and never touches a connection: it offers the event to each subscriber's
+ * bounded buffer ({@code banking.stream.buffer-size}) and the subscriber's own drain task writes it
+ * out. A subscriber whose buffer is full is too slow to keep up and is disconnected; EventSource
+ * clients reconnect by themselves and reload the account once.
+ *
+ * Drains run on a dedicated pool of {@code banking.stream.threads} threads in front of a queue of
+ * {@code banking.stream.queue-capacity}, so clients that stop reading can only hold these threads and
+ * not Spring's task executor. A blocked write ends after the connector's write timeout
+ * ({@code server.tomcat.connection-timeout}) and drops the subscriber. A drain the full queue rejects
+ * disconnects its subscriber as well. The pool is published as executor.* meters tagged
+ * name=accountStream.
+ */
+@Component
+public class AccountEventBroadcaster {
+
+    static final String TRANSACTION_EVENT = "transaction";
+    static final String BALANCE_EVENT = "balance";
+
+    private final Map<UUID, Set<Subscriber>> subscribersByAccount = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int bufferSize;
+    private final Duration timeout;
+
+    @Autowired
+    public AccountEventBroadcaster(MeterRegistry meterRegistry,
+                                   @Value("${banking.stream.threads:8}") int threads,
+                                   @Value("${banking.stream.queue-capacity:1000}") int queueCapacity,
+                                   @Value("${banking.stream.buffer-size:64}") int bufferSize,
+                                   @Value("${banking.stream.timeout:PT30M}") Duration timeout) {
+        this(ExecutorServiceMetrics.monitor(meterRegistry, newPool(threads, queueCapacity), "accountStream"),
+                bufferSize, timeout);
+    }
+
+    public AccountEventBroadcaster(Executor executor, int bufferSize, Duration timeout) {
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+    }
+
+    public SseEmitter subscribe(UUID accountId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(accountId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribersByAccount.computeIfAbsent(accountId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        // First write commits the response headers, so the client sees the stream open right away
+        subscriber.offer(SseEmitter.event().comment("subscribed"));
+        return emitter;
+    }
+
+    public int subscriberCount(UUID accountId) {
+        Set<Subscriber> subscribers = subscribersByAccount.get(accountId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    /**
+     * Sends the transaction to the streams of both accounts once the surrounding database
+     * transaction has committed, nothing is sent if it rolls back. The DTO is only built when
+     * one of the accounts is being watched.
+     */
+    public void publishAfterCommit(UUID fromAccountId, UUID toAccountId, Supplier<TransactionDTO> transaction) {
+        if (subscriberCount(fromAccountId) == 0 && subscriberCount(toAccountId) == 0) {
+            return;
+        }
+        TransactionDTO dto = transaction.get();
+        Runnable publish = () -> {
+            publish(fromAccountId, TRANSACTION_EVENT, dto);
+            if (!toAccountId.equals(fromAccountId)) {
+                publish(toAccountId, TRANSACTION_EVENT, dto);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish.run();
+            }
+        });
+    }
+
+    /**
+     * Sends balance changes delivered by the OutboxRelay, with the account sequence as event id.
+     * A change a stream has already received (relayed again after a failed batch) is skipped.
+     */
+    public void publishBalanceChanges(List<BalanceChangeEvent> events) {
+        for (BalanceChangeEvent event : events) {
+            Set<Subscriber> subscribers = subscribersByAccount.get(event.getAccountId());
+            if (subscribers == null) {
+                continue;
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offerBalance(event);
+            }
+        }
+    }
+
+    // Keeps idle connections from being closed by proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${banking.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : subscribersByAccount.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    // Helper Methods
+
+    private static ExecutorService newPool(int threads, int queueCapacity) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("account-stream-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private void publish(UUID accountId, String name, Object data) {
+        Set<Subscriber> subscribers = subscribersByAccount.get(accountId);
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribersByAccount.computeIfPresent(subscriber.accountId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private final class Subscriber {
+        private final UUID accountId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean dropped;
+        private volatile boolean closed;
+        private long lastSequence;
+
+        private Subscriber(UUID accountId, SseEmitter emitter) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+        }
+
+        private synchronized void offerBalance(BalanceChangeEvent event) {
+            if (event.getSequence() <= lastSequence) {
+                return;
+            }
+            lastSequence = event.getSequence();
+            offer(SseEmitter.event()
+                    .name(BALANCE_EVENT)
+                    .id(Long.toString(event.getSequence()))
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (dropped) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                // Too slow to keep up, the drain task closes the connection
+                dropped = true;
+                remove(this);
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Every drain thread is busy and the queue is full, no drain runs so closing here is safe
+                dropped = true;
+                closed = true;
+                buffer.clear();
+                remove(this);
+                emitter.complete();
+            }
+        }
+
+        // Only ever runs once at a time per subscriber, the one place that writes to the emitter
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!dropped && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+                if (dropped && !closed) {
+                    closed = true;
+                    buffer.clear();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                dropped = true;
+                closed = true;
+                buffer.clear();
+                remove(this);
+            } finally {
+                draining.set(false);
+            }
+            // Offered after the last poll but before draining was reset
+            if (!closed && (dropped || !buffer.isEmpty())) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.banking.backend.service;
+
+import com.banking.backend.model.Account;
+import com.banking.backend.model.AccountMetadata;
+import com.banking.backend.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded in-process cache of {@link AccountMetadata}, indexed by IBAN and by id.
+ *
+ * Misses are loaded from AccountRepository and stored under both keys; unknown
+ * IBANs are not cached. Every write that changes one of the cached fields must
+ * call {@link #evict(Account)} after it has been saved. Entries also expire after
+ * the configured TTL, which bounds how long a load racing with such a write can
+ * serve the old values.
+ *
+ * Hit, miss and eviction counts are published as cache.* meters tagged
+ * cache=accountsByIban / accountsById.
+ */
+@Component
+public class AccountMetadataCache {
+
+    private final AccountRepository accountRepository;
+    private final Cache<String, AccountMetadata> byIban;
+    private final Cache<UUID, AccountMetadata> byId;
+
+    public AccountMetadataCache(AccountRepository accountRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${banking.account-cache.maximum-size:10000}") long maximumSize,
+                                @Value("${banking.account-cache.ttl:10m}") Duration ttl) {
+        this.accountRepository = accountRepository;
+        this.byIban = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byIban, "accountsByIban");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "accountsById");
+    }
+
+    public Optional<AccountMetadata> findByIban(String iban) {
+        if (iban == null) {
+            return Optional.empty();
+        }
+        AccountMetadata cached = byIban.getIfPresent(iban);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return accountRepository.findByIban(iban).map(this::put);
+    }
+
+    public Optional<AccountMetadata> findById(UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        AccountMetadata cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return accountRepository.findById(id).map(this::put);
+    }
+
+    public void evict(Account account) {
+        if (account == null) {
+            return;
+        }
+        if (account.getIban() != null) {
+            byIban.invalidate(account.getIban());
+        }
+        if (account.getId() != null) {
+            byId.invalidate(account.getId());
+        }
+    }
+
+    private AccountMetadata put(Account account) {
+        AccountMetadata metadata = AccountMetadata.of(account);
+        byIban.put(metadata.getIban(), metadata);
+        byId.put(metadata.getId(), metadata);
+        return metadata;
+    }
+}
@@ -1,11 +1,19 @@
 package com.banking.backend.service;
 
+import com.banking.backend.dto.AccountSearchQuery;
+import com.banking.backend.dto.AccountSummaryDTO;
+import com.banking.backend.dto.OffsetPage;
 import com.banking.backend.model.Account;
+import com.banking.backend.model.AccountMetadata;
+import com.banking.backend.model.Money;
 import com.banking.backend.model.User;
+import com.banking.backend.model.UserType;
 import com.banking.backend.repository.AccountRepository;
 import com.banking.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -21,26 +29,77 @@ public class AccountService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AccountMetadataCache accountMetadataCache;
+
+    @Autowired
+    private IbanAllocator ibanAllocator;
+
     public Optional<Account> getAccountByIban(String iban) {
     return accountRepository.findByIban(iban);
 }
+    // Cached lookup for callers that need to resolve an IBAN but not its balance
+    public Optional<AccountMetadata> getAccountMetadataByIban(String iban) {
+        return accountMetadataCache.findByIban(iban);
+    }
+
     public Account createAccount(Account account) {
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+        accountMetadataCache.evict(saved);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<Account> getAccountsByUserId(UUID userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         return accountRepository.findByUser(user);
     }
 
+    @Transactional(readOnly = true)
     public Account getAccountById(UUID accountId) {
         return accountRepository.findById(accountId).orElse(null);
     }
 
-    // ── NEW METHOD #1: return all accounts ──
-    public List<Account> getAllAccounts() {
-        return accountRepository.findAll();
+    // Cached, for callers that only need to know the account is there
+    public boolean accountExists(UUID accountId) {
+        return accountMetadataCache.findById(accountId).isPresent();
+    }
+
+    // Only the account's owner and employees may watch its live updates
+    public boolean canWatchAccount(UUID accountId, UUID userId) {
+        if (userId == null) {
+            return false;
+        }
+        Optional<AccountMetadata> account = accountMetadataCache.findById(accountId);
+        if (account.isPresent() && userId.equals(account.get().getOwnerId())) {
+            return true;
+        }
+        return userRepository.findById(userId).map(user -> user.getRole() == UserType.EMPLOYEE).orElse(false);
+    }
+
+    /**
+     * One page of all accounts for an employee. The page is read with one row extra to tell
+     * whether another page follows; the total is counted only when the query asks for it and
+     * cannot be told from the page itself.
+     */
+    @Transactional(readOnly = true)
+    public OffsetPage<AccountSummaryDTO> searchAccounts(AccountSearchQuery query, UUID employeeId) {
+        User employee = employeeId != null ? userRepository.findById(employeeId).orElse(null) : null;
+        if (employee == null || employee.getRole() != UserType.EMPLOYEE) {
+            throw new AccessDeniedException("Only employees can list all accounts");
+        }
+        List<AccountSummaryDTO> rows = accountRepository.findAccountPage(query, query.getSize() + 1);
+        boolean hasNext = rows.size() > query.getSize();
+        List<AccountSummaryDTO> items = hasNext ? rows.subList(0, query.getSize()) : rows;
+        Long total = null;
+        if (query.isIncludeTotal()) {
+            // A short page that has rows says how many rows there are
+            total = !hasNext && (!items.isEmpty() || query.getPage() == 0)
+                    ? query.getOffset() + items.size()
+                    : accountRepository.countAccounts(query);
+        }
+        return new OffsetPage<>(items, query.getPage(), hasNext, total);
     }
 
     // ── NEW METHOD #2: create from request ──
@@ -52,31 +111,51 @@ public class AccountService {
         accountEntity.setUser(user);
         // 3) Set defaults
         accountEntity.setDateOfOpening(LocalDate.now());
-        accountEntity.setAbsoluteLimit(0.0);
+        accountEntity.setAbsoluteLimit(Money.ZERO);
         accountEntity.setActive(true);
 
-        // Generate a random IBAN for testing purposes
-        accountEntity.setIban(generateTestIban());
+        // Unique by construction, no lookup needed before the insert
+        accountEntity.setIban(ibanAllocator.nextIban());
 
         // 4) Save
-        return accountRepository.save(accountEntity);
+        Account saved = accountRepository.save(accountEntity);
+        accountMetadataCache.evict(saved);
+        return saved;
     }
 
     // ── NEW METHOD #3: delete an account ──
+    // One UPDATE of the active flag, so a transfer committing meanwhile cannot fail it on the version
     public void deactivateAccount(UUID accountId) {
-        Optional<Account> account = accountRepository.findById(accountId);
-        account.get().setActive(false);
-        accountRepository.save(account.get());
+        if (accountRepository.deactivate(accountId) == 0) {
+            throw new IllegalArgumentException("Account not found");
+        }
+        accountMetadataCache.evict(accountRepository.findById(accountId).orElse(null));
     }
-    private String generateTestIban() {
-        // Simple IBAN generation for tests
-        return "NL" + String.format("%02d", (int)(Math.random() * 99)) +
-                "BANK" + String.format("%010d", (long)(Math.random() * 10000000000L));
+    /**
+     * Sets how far the account's balance may go below zero. Transfers and ATM withdrawals
+     * admit a debit only while balance - amount >= -absoluteLimit, checked in the debit
+     * statement itself. Lowering the limit below a current overdraft only blocks further debits.
+     */
+    public Account updateAbsoluteLimit(UUID accountId, Money absoluteLimit, UUID employeeId) {
+        User employee = employeeId != null ? userRepository.findById(employeeId).orElse(null) : null;
+        if (employee == null || employee.getRole() != UserType.EMPLOYEE) {
+            throw new AccessDeniedException("Only employees can change the absolute limit");
+        }
+        if (absoluteLimit == null || absoluteLimit.isNegative()) {
+            throw new IllegalArgumentException("Absolute limit must not be negative");
+        }
+        if (accountRepository.updateAbsoluteLimit(accountId, absoluteLimit.getMinorUnits()) == 0) {
+            throw new IllegalArgumentException("Account not found");
+        }
+        Account updated = accountRepository.findById(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found"));
+        accountMetadataCache.evict(updated);
+        return updated;
     }
 
     public UUID getUserIdByIban(String iban) {
-        return accountRepository.findByIban(iban)
-                .map(account -> account.getUser().getId())
+        return accountMetadataCache.findByIban(iban)
+                .map(AccountMetadata::getOwnerId)
                 .orElseThrow(() -> new IllegalArgumentException("Account or User not found for IBAN: " + iban));
     }
 }
\ No newline at end of file
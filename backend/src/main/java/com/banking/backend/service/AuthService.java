@@ -1,49 +1,85 @@
 package com.banking.backend.service;
 
+import com.banking.backend.config.OperationMetrics;
 import com.banking.backend.model.User;
 import com.banking.backend.repository.UserRepository;
 import com.banking.backend.security.JwtUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.banking.backend.security.PasswordHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
+    private final OperationMetrics operationMetrics;
+    private final Executor taskExecutor;
 
     public AuthService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder,
-                       JwtUtil jwtUtil) {
+                       PasswordHasher passwordHasher,
+                       JwtUtil jwtUtil,
+                       OperationMetrics operationMetrics,
+                       @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtil = jwtUtil;
+        this.operationMetrics = operationMetrics;
+        this.taskExecutor = taskExecutor;
     }
 
     /**
-     * Authenticate user by email and password.
+     * Authenticate user by email and password. Only the password check runs on the PasswordHasher
+     * pool; storing a re-hashed password and issuing the token continue on the task executor, so
+     * the pool's few threads never wait on the database.
      * @param email User email
      * @param rawPassword Plain text password entered by user
-     * @return JWT token if authentication succeeds
-     * @throws RuntimeException if user not found or password invalid
+     * @return future JWT token, completed exceptionally with a RuntimeException if user not found
+     *         or password invalid, or a RejectedExecutionException if too many logins are waiting
      */
-    public String login(String email, String rawPassword) {
+    public CompletableFuture<String> login(String email, String rawPassword) {
+        return operationMetrics.recordAsync(OperationMetrics.LOGIN, () -> authenticate(email, rawPassword));
+    }
+
+    // Helper Methods
+
+    private CompletableFuture<String> authenticate(String email, String rawPassword) {
         Optional<User> userOpt = userRepository.findByEmail(email);
         if (userOpt.isEmpty()) {
-            throw new RuntimeException("Invalid email or password");
+            return CompletableFuture.failedFuture(new RuntimeException("Invalid email or password"));
         }
 
         User user = userOpt.get();
 
         // Verify raw password matches hashed password
-        if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
-            throw new RuntimeException("Invalid email or password");
-        }
+        return passwordHasher.check(rawPassword, user.getPassword()).thenApplyAsync(check -> {
+            if (!check.matches()) {
+                throw new RuntimeException("Invalid email or password");
+            }
+            if (check.getUpgradedHash() != null) {
+                upgradePasswordHash(user, check.getUpgradedHash());
+            }
+
+            // Generate JWT token containing user ID
+            return jwtUtil.generateToken(user.getId());
+        }, taskExecutor);
+    }
 
-        // Generate JWT token containing user ID
-        return jwtUtil.generateToken(user.getId());
+    // Best effort: the login already succeeded, the next one tries again
+    private void upgradePasswordHash(User user, String upgradedHash) {
+        try {
+            userRepository.updatePasswordHash(user.getId(), user.getPassword(), upgradedHash);
+        } catch (RuntimeException e) {
+            log.warn("Could not store the re-hashed password of user {}", user.getId(), e);
+        }
     }
-}
\ No newline at end of file
+}
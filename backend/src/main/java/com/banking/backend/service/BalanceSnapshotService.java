@@ -0,0 +1,142 @@
+package com.banking.backend.service;
+
+import com.banking.backend.config.OperationMetrics;
+import com.banking.backend.model.BalanceSnapshotCheckpoint;
+import com.banking.backend.model.Money;
+import com.banking.backend.repository.AccountBalanceSnapshotRepository;
+import com.banking.backend.repository.BalanceSnapshotCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * End-of-day balance snapshots, and historical balances read from them.
+ *
+ * Every banking.snapshots.interval the job snapshots the days after the checkpoint that are
+ * closed, i.e. ended at least banking.snapshots.settle-delay ago (transactions are stamped before
+ * they commit), at most banking.snapshots.max-days-per-run of them. Each day reads only that
+ * day's transactions and is committed together with the checkpoint, so a failed run resumes at
+ * the day it failed on. Until the first day is done there is no checkpoint and the backlog starts
+ * at the first transaction ever executed.
+ *
+ * A balance at a point in time is then the latest snapshot before that day, plus the transactions
+ * between the checkpoint (or that day) and the point in time: never more than a few days of one
+ * account's history, however old the account is.
+ */
+@Service
+public class BalanceSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotService.class);
+
+    // Lower bound of the delta scan when nothing has been snapshotted yet
+    private static final LocalDateTime BEGINNING = LocalDate.of(1900, 1, 1).atStartOfDay();
+
+    @Autowired
+    private AccountBalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private BalanceSnapshotCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OperationMetrics operationMetrics;
+
+    @Value("${banking.snapshots.settle-delay:PT5M}")
+    private Duration settleDelay = Duration.ofMinutes(5);
+
+    @Value("${banking.snapshots.max-days-per-run:366}")
+    private int maxDaysPerRun = 366;
+
+    /**
+     * Snapshots closed days after the checkpoint, returns the number of days snapshotted.
+     */
+    @Scheduled(fixedDelayString = "${banking.snapshots.interval:PT15M}",
+               initialDelayString = "${banking.snapshots.initial-delay:PT1M}")
+    public int snapshotClosedDays() {
+        LocalDate lastClosedDay = LocalDateTime.now().minus(settleDelay).toLocalDate().minusDays(1);
+        int days = 0;
+        try {
+            while (days < maxDaysPerRun) {
+                Optional<LocalDate> next = nextDay();
+                if (next.isEmpty() || next.get().isAfter(lastClosedDay)) {
+                    break;
+                }
+                LocalDate day = next.get();
+                int snapshots = operationMetrics.record(OperationMetrics.BALANCE_SNAPSHOT,
+                        () -> transactionTemplate.execute(status -> snapshotDay(day)));
+                if (snapshots < 0) {
+                    // Another instance did this day first, continue after its checkpoint
+                    continue;
+                }
+                log.debug("Snapshotted {} account balances for {}", snapshots, day);
+                days++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Balance snapshots stopped after {} days, retrying on the next run", days, e);
+        }
+        return days;
+    }
+
+    /**
+     * Balance of the account just before at, from transactions executed before that moment.
+     */
+    @Transactional(readOnly = true)
+    public Money getBalanceAt(UUID accountId, LocalDateTime at) {
+        long balance = 0;
+        LocalDateTime scanFrom = BEGINNING;
+        Optional<BalanceSnapshotCheckpoint> checkpoint = checkpointRepository.findById(BalanceSnapshotCheckpoint.ID);
+        if (checkpoint.isPresent()) {
+            // Last day before at whose end-of-day balance the snapshots know
+            LocalDate dayBefore = at.toLocalDate().minusDays(1);
+            LocalDate covered = checkpoint.get().getSnapshotThrough().isBefore(dayBefore)
+                    ? checkpoint.get().getSnapshotThrough()
+                    : dayBefore;
+            balance = snapshotRepository
+                    .findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(accountId, covered)
+                    .map(snapshot -> snapshot.getBalance().getMinorUnits())
+                    .orElse(0L);
+            scanFrom = covered.plusDays(1).atStartOfDay();
+        }
+        if (scanFrom.isBefore(at)) {
+            balance += snapshotRepository.sumBalanceChanges(accountId, scanFrom, at);
+        }
+        return Money.ofMinor(balance);
+    }
+
+    // Helper Methods
+
+    private Optional<LocalDate> nextDay() {
+        Optional<BalanceSnapshotCheckpoint> checkpoint = checkpointRepository.findById(BalanceSnapshotCheckpoint.ID);
+        if (checkpoint.isPresent()) {
+            return Optional.of(checkpoint.get().getSnapshotThrough().plusDays(1));
+        }
+        return snapshotRepository.findFirstExecutionDate().map(LocalDateTime::toLocalDate);
+    }
+
+    // Snapshots day and moves the checkpoint onto it, -1 when the checkpoint is already past it
+    private int snapshotDay(LocalDate day) {
+        Optional<BalanceSnapshotCheckpoint> checkpoint = checkpointRepository.findByIdForUpdate(BalanceSnapshotCheckpoint.ID);
+        if (checkpoint.isPresent() && !checkpoint.get().getSnapshotThrough().isBefore(day)) {
+            return -1;
+        }
+        int snapshots = snapshotRepository.insertSnapshotsForDay(day);
+        BalanceSnapshotCheckpoint updated = checkpoint.orElseGet(
+                () -> new BalanceSnapshotCheckpoint(BalanceSnapshotCheckpoint.ID, day));
+        updated.setSnapshotThrough(day);
+        checkpointRepository.save(updated);
+        return snapshots;
+    }
+}
@@ -0,0 +1,12 @@
+package com.banking.backend.service;
+
+/**
+ * How {@link BatchTransferService} treats entries that cannot be executed.
+ *
+ * ALL_OR_NOTHING executes the batch only if every entry is valid and covered.
+ * BEST_EFFORT executes the entries that are and reports the others as rejected.
+ */
+public enum BatchTransferMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
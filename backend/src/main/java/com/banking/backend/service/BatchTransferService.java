@@ -0,0 +1,337 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.BatchTransferItemDTO;
+import com.banking.backend.dto.BatchTransferResultDTO;
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.model.Transaction;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.repository.AccountBalanceRow;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.TransactionRepository;
+import com.banking.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Executes a list of transfers as one database transaction with a fixed number of round trips:
+ * one IN query for every account involved, one for the performing users that do not own the
+ * source account, one JDBC batch applying the net balance change per account, and the
+ * transaction rows inserted through Hibernate JDBC batching (hibernate.jdbc.batch_size).
+ *
+ * Entries are checked in request order against running balances, so an entry may spend money
+ * credited by an earlier one, and against the owners' limits (see {@link SpendingLimits}). Concurrency follows {@code banking.transfer.locking-mode} like
+ * {@link TransactionService#makeTransaction}: PESSIMISTIC locks the account rows in id order,
+ * OPTIMISTIC checks their versions in the batch update and retries the whole batch on a conflict.
+ */
+@Service
+public class BatchTransferService {
+
+    // Also reserve one outbox sequence number per transaction touching the account (see OutboxWriter)
+    private static final String CREDIT_SQL =
+            "UPDATE accounts SET balance = balance + ?, version = version + 1, " +
+            "event_sequence = event_sequence + ? WHERE id = ?";
+    private static final String VERSIONED_CREDIT_SQL =
+            "UPDATE accounts SET balance = balance + ?, version = version + 1, " +
+            "event_sequence = event_sequence + ? WHERE id = ? AND version = ?";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SpendingLimits spendingLimits;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private AccountEventBroadcaster accountEventBroadcaster;
+
+    @Value("${banking.transfer.locking-mode:PESSIMISTIC}")
+    private TransferLockingMode lockingMode = TransferLockingMode.PESSIMISTIC;
+
+    @Value("${banking.transfer.max-retries:3}")
+    private int maxRetries = 3;
+
+    @Value("${banking.transfer.batch.max-size:5000}")
+    private int maxBatchSize = 5000;
+
+    public BatchTransferResultDTO makeTransactions(List<TransactionDTO> requests, BatchTransferMode mode) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one transaction");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch must not contain more than " + maxBatchSize + " transactions");
+        }
+        BatchTransferMode batchMode = mode != null ? mode : BatchTransferMode.ALL_OR_NOTHING;
+
+        // Field checks need no database, they are done once for all attempts
+        String[] fieldErrors = new String[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            fieldErrors[i] = validateFields(requests.get(i));
+        }
+
+        int attempt = 0;
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    BatchTransferResultDTO result = executeBatch(requests, fieldErrors.clone(), batchMode);
+                    if (result.getCreated() == 0) {
+                        // Nothing was written, roll back so the limit reservations are released
+                        status.setRollbackOnly();
+                    }
+                    return result;
+                });
+            } catch (ConcurrencyFailureException e) {
+                attempt++;
+                if (attempt > maxRetries) {
+                    throw new IllegalStateException("Batch aborted after " + attempt + " concurrent update conflicts", e);
+                }
+            }
+        }
+    }
+
+    // Helper Methods
+
+    private BatchTransferResultDTO executeBatch(List<TransactionDTO> requests, String[] errors, BatchTransferMode mode) {
+        Map<String, AccountBalanceRow> accounts = loadAccounts(requests, errors);
+        Set<UUID> knownUsers = loadOtherPerformingUsers(requests, errors, accounts);
+
+        // Balance plus overdraft limit per account, the same rule as AccountRepository.debitIfCovered
+        Map<UUID, Long> available = new HashMap<>();
+        for (AccountBalanceRow row : accounts.values()) {
+            available.put(row.getId(), row.getBalance() + row.getAbsoluteLimit());
+        }
+        // Sorted so concurrent batches take the row locks of the update in the same order
+        Map<UUID, Long> netDelta = new TreeMap<>();
+        Map<UUID, Integer> eventCount = new HashMap<>();
+        int rejected = 0;
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors[i] == null) {
+                errors[i] = checkAgainstAccounts(requests.get(i), accounts, knownUsers, available);
+            }
+            if (errors[i] != null) {
+                rejected++;
+                continue;
+            }
+            TransactionDTO request = requests.get(i);
+            long amount = request.getAmount().getMinorUnits();
+            UUID fromId = accounts.get(request.getFromIban()).getId();
+            UUID toId = accounts.get(request.getToIban()).getId();
+            available.merge(fromId, -amount, Long::sum);
+            available.merge(toId, amount, Long::sum);
+            netDelta.merge(fromId, -amount, Long::sum);
+            netDelta.merge(toId, amount, Long::sum);
+            eventCount.merge(fromId, 1, Integer::sum);
+            eventCount.merge(toId, 1, Integer::sum);
+        }
+
+        List<BatchTransferItemDTO> items = new ArrayList<>(requests.size());
+        if (rejected > 0 && mode == BatchTransferMode.ALL_OR_NOTHING) {
+            for (int i = 0; i < requests.size(); i++) {
+                items.add(errors[i] != null
+                        ? new BatchTransferItemDTO(i, BatchTransferItemDTO.REJECTED, null, errors[i])
+                        : new BatchTransferItemDTO(i, BatchTransferItemDTO.NOT_EXECUTED, null, null));
+            }
+            return new BatchTransferResultDTO(mode.name(), 0, rejected, items);
+        }
+
+        applyBalanceChanges(netDelta, eventCount, accounts);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors[i] == null) {
+                transactions.add(toTransaction(requests.get(i), accounts, now));
+            }
+        }
+        transactionRepository.saveAll(transactions);
+        outboxWriter.recordAll(transactions);
+
+        int next = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors[i] != null) {
+                items.add(new BatchTransferItemDTO(i, BatchTransferItemDTO.REJECTED, null, errors[i]));
+            } else {
+                TransactionDTO created = toResponse(transactions.get(next++), requests.get(i));
+                items.add(new BatchTransferItemDTO(i, BatchTransferItemDTO.CREATED, created, null));
+                accountEventBroadcaster.publishAfterCommit(accounts.get(created.getFromIban()).getId(),
+                        accounts.get(created.getToIban()).getId(), () -> created);
+            }
+        }
+        return new BatchTransferResultDTO(mode.name(), transactions.size(), rejected, items);
+    }
+
+    private Map<String, AccountBalanceRow> loadAccounts(List<TransactionDTO> requests, String[] errors) {
+        Set<String> ibans = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors[i] == null) {
+                ibans.add(requests.get(i).getFromIban());
+                ibans.add(requests.get(i).getToIban());
+            }
+        }
+        ibans.remove(null);
+        if (ibans.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<AccountBalanceRow> rows = lockingMode == TransferLockingMode.PESSIMISTIC
+                ? accountRepository.findBalancesByIbanForUpdate(ibans)
+                : accountRepository.findBalancesByIban(ibans);
+        Map<String, AccountBalanceRow> byIban = new HashMap<>();
+        for (AccountBalanceRow row : rows) {
+            byIban.put(row.getIban(), row);
+        }
+        return byIban;
+    }
+
+    // Only needed to tell "unknown user" from "not the owner" when a user is not the account owner
+    private Set<UUID> loadOtherPerformingUsers(List<TransactionDTO> requests, String[] errors,
+                                               Map<String, AccountBalanceRow> accounts) {
+        Set<UUID> userIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TransactionDTO request = requests.get(i);
+            AccountBalanceRow from = accounts.get(request.getFromIban());
+            if (errors[i] == null && request.getPerformingUserId() != null
+                    && from != null && !request.getPerformingUserId().equals(from.getUserId())) {
+                userIds.add(request.getPerformingUserId());
+            }
+        }
+        return userIds.isEmpty() ? Collections.emptySet() : userRepository.findExistingIds(userIds);
+    }
+
+    // Same checks and messages as POST /transactions
+    private String validateFields(TransactionDTO request) {
+        if (request == null) {
+            return "Missing required transaction fields";
+        }
+        if (request.getFromIban() != null && request.getFromIban().equals(request.getToIban())) {
+            return "Cannot transfer to the same account";
+        }
+        if (request.getAmount() == null || request.getAmount().isZero()) {
+            return "Transaction amount must be greater than zero";
+        }
+        if (request.getAmount().isNegative()) {
+            return "Transaction amount must be positive";
+        }
+        if (request.getTypeOfTransaction() != null) {
+            TransactionType type;
+            try {
+                type = TransactionType.valueOf(request.getTypeOfTransaction());
+            } catch (IllegalArgumentException e) {
+                return "Invalid transaction type";
+            }
+            // Every entry moves money between two accounts, any other label would misstate the history
+            if (type != TransactionType.TRANSFER) {
+                return "Batch entries must be transfers";
+            }
+        }
+        return null;
+    }
+
+    private String checkAgainstAccounts(TransactionDTO request, Map<String, AccountBalanceRow> accounts,
+                                        Set<UUID> knownUsers, Map<UUID, Long> available) {
+        AccountBalanceRow from = accounts.get(request.getFromIban());
+        if (from == null) {
+            return "Source account not found";
+        }
+        if (!accounts.containsKey(request.getToIban())) {
+            return "Destination account not found";
+        }
+        UUID userId = request.getPerformingUserId();
+        if (userId != null && !userId.equals(from.getUserId())) {
+            return knownUsers.contains(userId) ? "Provide a valid IBAN" : "Performing user not found";
+        }
+        long amount = request.getAmount().getMinorUnits();
+        if (available.get(from.getId()) < amount) {
+            return "Insufficient funds in account";
+        }
+        if (from.getUserId() != null) {
+            try {
+                spendingLimits.reserve(from.getUserId(), amount, from.getTransactionLimit(), from.getDayLimit());
+            } catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+        }
+        return null;
+    }
+
+    private void applyBalanceChanges(Map<UUID, Long> netDelta, Map<UUID, Integer> eventCount,
+                                     Map<String, AccountBalanceRow> accounts) {
+        Map<UUID, Long> versions = new HashMap<>();
+        for (AccountBalanceRow row : accounts.values()) {
+            versions.put(row.getId(), row.getVersion());
+        }
+        boolean optimistic = lockingMode == TransferLockingMode.OPTIMISTIC;
+        List<Object[]> updates = new ArrayList<>(netDelta.size());
+        for (Map.Entry<UUID, Long> change : netDelta.entrySet()) {
+            Integer events = eventCount.get(change.getKey());
+            updates.add(optimistic
+                    ? new Object[]{change.getValue(), events, change.getKey(), versions.get(change.getKey())}
+                    : new Object[]{change.getValue(), events, change.getKey()});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(optimistic ? VERSIONED_CREDIT_SQL : CREDIT_SQL, updates);
+        for (int count : counts) {
+            if (count == 0) {
+                throw new OptimisticLockingFailureException("An account of the batch was updated concurrently");
+            }
+        }
+    }
+
+    private Transaction toTransaction(TransactionDTO request, Map<String, AccountBalanceRow> accounts,
+                                      LocalDateTime now) {
+        Transaction transaction = new Transaction();
+        // References only, the insert needs the ids and nothing else of the account or user
+        transaction.setFromAccount(accountRepository.getReferenceById(accounts.get(request.getFromIban()).getId()));
+        transaction.setToAccount(accountRepository.getReferenceById(accounts.get(request.getToIban()).getId()));
+        if (request.getPerformingUserId() != null) {
+            transaction.setPerformingUser(userRepository.getReferenceById(request.getPerformingUserId()));
+        }
+        transaction.setAmount(request.getAmount());
+        transaction.setTypeOfTransaction(TransactionType.TRANSFER);
+        transaction.setDateOfExecution(now);
+        transaction.setDescription(request.getDescription());
+        return transaction;
+    }
+
+    // Built from the request, mapping the entity would initialize the account references
+    private TransactionDTO toResponse(Transaction transaction, TransactionDTO request) {
+        return new TransactionDTO(
+                transaction.getId(),
+                request.getFromIban(),
+                request.getToIban(),
+                transaction.getAmount(),
+                transaction.getTypeOfTransaction().name(),
+                transaction.getDateOfExecution(),
+                request.getPerformingUserId(),
+                transaction.getDescription()
+        );
+    }
+}
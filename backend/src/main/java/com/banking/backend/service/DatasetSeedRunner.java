@@ -0,0 +1,64 @@
+package com.banking.backend.service;
+
+import com.banking.backend.model.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * With the seed profile the application loads a dataset with {@link DatasetSeeder} and exits,
+ * sized by the banking.seed.* properties (see application-seed.properties), e.g.
+ * {@code java -jar backend.jar --spring.profiles.active=seed --banking.seed.transactions=20000000}.
+ */
+@Component
+@Profile("seed")
+public class DatasetSeedRunner implements ApplicationRunner {
+
+    private final DatasetSeeder datasetSeeder;
+    private final ApplicationContext applicationContext;
+    private final DatasetSeeder.Plan plan = new DatasetSeeder.Plan();
+
+    public DatasetSeedRunner(DatasetSeeder datasetSeeder,
+                             ApplicationContext applicationContext,
+                             @Value("${banking.seed.seed:42}") long seed,
+                             @Value("${banking.seed.users:1000000}") int users,
+                             @Value("${banking.seed.accounts-per-user:2}") int accountsPerUser,
+                             @Value("${banking.seed.merchants:100}") int merchants,
+                             @Value("${banking.seed.transactions:10000000}") long transactions,
+                             @Value("${banking.seed.merchant-share:0.6}") double merchantShare,
+                             @Value("${banking.seed.atm-share:0.15}") double atmShare,
+                             @Value("${banking.seed.skew:3.0}") double skew,
+                             @Value("${banking.seed.history-days:365}") int historyDays,
+                             @Value("${banking.seed.end-date:}") String endDate,
+                             @Value("${banking.seed.initial-balance:1000.00}") String initialBalance,
+                             @Value("${banking.seed.password:Seed-Password-1}") String password,
+                             @Value("${banking.seed.batch-size:5000}") int batchSize) {
+        this.datasetSeeder = datasetSeeder;
+        this.applicationContext = applicationContext;
+        plan.setSeed(seed);
+        plan.setUsers(users);
+        plan.setAccountsPerUser(accountsPerUser);
+        plan.setMerchants(merchants);
+        plan.setTransactions(transactions);
+        plan.setMerchantShare(merchantShare);
+        plan.setAtmShare(atmShare);
+        plan.setSkew(skew);
+        plan.setHistoryDays(historyDays);
+        plan.setEndDate(endDate.isBlank() ? null : LocalDate.parse(endDate));
+        plan.setInitialBalance(Money.of(initialBalance));
+        plan.setPassword(password);
+        plan.setBatchSize(batchSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        datasetSeeder.seed(plan);
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+}
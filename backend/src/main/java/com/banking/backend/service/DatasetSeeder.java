@@ -0,0 +1,383 @@
+package com.banking.backend.service;
+
+import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.model.UserType;
+import com.banking.backend.repository.BulkLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates a large synthetic dataset straight into the users, accounts and transactions tables
+ * through {@link BulkLoader}, for benchmarking indexes, paging and caches at realistic sizes.
+ *
+ * The shape follows retail banking: a few merchant accounts receive most card-like payments and
+ * retail activity is long-tailed (low account numbers are far busier than high ones). Every
+ * account's balance equals the sum of its history, which starts with an opening deposit, and no
+ * transfer or withdrawal overdraws an account. Ids, emails and the transaction stream follow from
+ * the seed alone, so a plan with the same seed and end date always produces the same rows; on an
+ * empty database the IBANs, drawn from the sequence, are the same as well.
+ *
+ * All seeded users share one password, hashed once with the configured encoder. Balance snapshots
+ * are dropped afterwards so the snapshot job rebuilds them over the loaded history.
+ */
+@Service
+public class DatasetSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetSeeder.class);
+
+    private static final String[] USER_COLUMNS = {"id", "first_name", "last_name", "email", "password", "bsn",
+            "date_of_birth", "role", "day_limit", "transaction_limit", "active"};
+    private static final String[] ACCOUNT_COLUMNS = {"id", "iban", "balance", "type_of_account", "user_id",
+            "date_of_opening", "absolute_limit", "active", "version", "event_sequence"};
+    private static final String[] TRANSACTION_COLUMNS = {"id", "from_iban", "to_iban", "amount",
+            "type_of_transaction", "date_of_execution", "user_id", "description"};
+
+    private static final long PROGRESS_INTERVAL = 1_000_000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private IbanAllocator ibanAllocator;
+
+    public Result seed(Plan plan) throws SQLException {
+        long start = System.nanoTime();
+        Layout layout = new Layout(plan);
+        try (Connection connection = dataSource.getConnection()) {
+            if (alreadySeeded(connection, layout)) {
+                throw new IllegalStateException("The database already holds a dataset with seed " + plan.getSeed());
+            }
+
+            // First pass only replays the stream for the final balances the accounts are written with
+            long[] balances = new long[layout.accounts];
+            generateTransactions(plan, layout, balances, null);
+
+            loadUsers(connection, plan, layout);
+            loadAccounts(connection, plan, layout, balances);
+            long transactions;
+            try (BulkLoader loader = BulkLoader.open(connection, "transactions", TRANSACTION_COLUMNS, plan.getBatchSize())) {
+                generateTransactions(plan, layout, new long[layout.accounts], loader);
+                transactions = loader.rows();
+            }
+            resetBalanceSnapshots(connection);
+            BulkLoader.analyze(connection, "users", "accounts", "transactions");
+
+            Result result = new Result(layout.users, layout.accounts, transactions,
+                    (System.nanoTime() - start) / 1_000_000);
+            log.info("Seeded {} users, {} accounts and {} transactions in {} ms",
+                    result.getUsers(), result.getAccounts(), result.getTransactions(), result.getMillis());
+            return result;
+        }
+    }
+
+    // Helper Methods
+
+    private boolean alreadySeeded(Connection connection, Layout layout) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM users WHERE id = ?")) {
+            statement.setObject(1, layout.userId(0));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1) > 0;
+            }
+        }
+    }
+
+    // Snapshots taken before the load miss its history, the snapshot job starts over from the first transaction
+    private void resetBalanceSnapshots(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM balance_snapshot_checkpoint");
+            statement.executeUpdate("DELETE FROM account_balance_snapshots");
+        }
+        connection.commit();
+    }
+
+    private void loadUsers(Connection connection, Plan plan, Layout layout) throws SQLException {
+        String passwordHash = passwordEncoder.encode(plan.getPassword());
+        Random random = new Random(plan.getSeed());
+        LocalDate oldestBirthDate = LocalDate.of(1940, 1, 1);
+        try (BulkLoader loader = BulkLoader.open(connection, "users", USER_COLUMNS, plan.getBatchSize())) {
+            for (int user = 0; user < layout.users; user++) {
+                boolean merchant = user < layout.merchants;
+                int number = merchant ? user : user - layout.merchants;
+                loader.add(layout.userId(user),
+                        merchant ? "Merchant" : "Customer",
+                        Integer.toString(number),
+                        (merchant ? "merchant-" : "customer-") + plan.getSeed() + "-" + number + "@seed.example.com",
+                        passwordHash,
+                        String.format("%09d", 100_000_000 + user),
+                        oldestBirthDate.plusDays(random.nextInt(60 * 365)),
+                        UserType.CUSTOMER.name(),
+                        0L,
+                        0L,
+                        true);
+                progress("users", loader.rows());
+            }
+        }
+    }
+
+    private void loadAccounts(Connection connection, Plan plan, Layout layout, long[] balances) throws SQLException {
+        LocalDate openedOn = layout.historyStart.toLocalDate();
+        try (BulkLoader loader = BulkLoader.open(connection, "accounts", ACCOUNT_COLUMNS, plan.getBatchSize())) {
+            for (int account = 0; account < layout.accounts; account++) {
+                boolean savings = account >= layout.merchants && (account - layout.merchants) % plan.getAccountsPerUser() > 0;
+                loader.add(layout.accountId(account),
+                        ibanAllocator.nextIban(),
+                        balances[account],
+                        (savings ? AccountType.SAVINGS : AccountType.CURRENT).name(),
+                        layout.userId(layout.ownerOf(account)),
+                        openedOn,
+                        0L,
+                        true,
+                        0L,
+                        0L);
+                progress("accounts", loader.rows());
+            }
+        }
+    }
+
+    /**
+     * The transaction stream: an opening deposit per retail account, then plan.transactions
+     * payments to merchants, ATM deposits and withdrawals and transfers between retail accounts,
+     * evenly spread over the history and in order of execution. java.util.Random because its
+     * sequence is specified, so the stream is the same on every JDK. With a null loader only
+     * balances is updated.
+     */
+    private void generateTransactions(Plan plan, Layout layout, long[] balances, BulkLoader loader) throws SQLException {
+        Random random = new Random(plan.getSeed());
+        long initialBalance = plan.getInitialBalance().getMinorUnits();
+        long index = 0;
+        for (int account = layout.merchants; account < layout.accounts; account++) {
+            balances[account] += initialBalance;
+            write(loader, layout, index++, account, account, initialBalance, TransactionType.DEPOSIT,
+                    layout.historyStart, "Opening deposit");
+        }
+
+        long spanMillis = ChronoUnit.MILLIS.between(layout.historyStart, layout.historyEnd);
+        for (long i = 0; i < plan.getTransactions(); i++) {
+            LocalDateTime executedAt = layout.historyStart.plus(
+                    (i * spanMillis) / plan.getTransactions() + random.nextInt(1000), ChronoUnit.MILLIS);
+            int from = layout.retailAccount(random);
+            double kind = random.nextDouble();
+            if (kind < plan.getAtmShare()) {
+                long amount = (2 + random.nextInt(19)) * 1_000L;
+                if (random.nextBoolean() && balances[from] >= amount) {
+                    balances[from] -= amount;
+                    write(loader, layout, index++, from, from, -amount, TransactionType.WITHDRAWAL, executedAt, null);
+                } else {
+                    balances[from] += amount;
+                    write(loader, layout, index++, from, from, amount, TransactionType.DEPOSIT, executedAt, null);
+                }
+                continue;
+            }
+
+            boolean toMerchant = kind < plan.getAtmShare() + plan.getMerchantShare() && layout.merchants > 0;
+            int to = toMerchant ? layout.merchantAccount(random) : layout.retailAccount(random);
+            // log-normal amounts around 25.00 for payments and 50.00 between people
+            long amount = Math.max(1, Math.round(Math.exp(random.nextGaussian() + (toMerchant ? 7.82 : 8.52))));
+            if (to == from || balances[from] < amount) {
+                // A top-up instead, so the history stays free of overdrafts
+                balances[from] += amount;
+                write(loader, layout, index++, from, from, amount, TransactionType.DEPOSIT, executedAt, null);
+                continue;
+            }
+            balances[from] -= amount;
+            balances[to] += amount;
+            write(loader, layout, index++, from, to, amount, TransactionType.TRANSFER, executedAt,
+                    toMerchant ? "Payment" : "Transfer");
+        }
+    }
+
+    private void write(BulkLoader loader, Layout layout, long index, int from, int to, long amount,
+                       TransactionType type, LocalDateTime executedAt, String description) throws SQLException {
+        if (loader == null) {
+            return;
+        }
+        loader.add(layout.transactionId(index), layout.accountId(from), layout.accountId(to), amount, type.name(),
+                executedAt, layout.userId(layout.ownerOf(from)), description);
+        progress("transactions", loader.rows());
+    }
+
+    private static void progress(String table, long rows) {
+        if (rows % PROGRESS_INTERVAL == 0) {
+            log.info("Seeded {} {}", rows, table);
+        }
+    }
+
+    /**
+     * Which user owns which account, and the ids of both. Users 0 .. merchants-1 are merchants
+     * with one current account each (accounts 0 .. merchants-1); every retail user after them has
+     * accountsPerUser accounts, the first current, the others savings.
+     */
+    private static final class Layout {
+        private final int merchants;
+        private final int users;
+        private final int accounts;
+        private final int accountsPerUser;
+        private final double skew;
+        private final LocalDateTime historyStart;
+        private final LocalDateTime historyEnd;
+        private final long userPrefix;
+        private final long accountPrefix;
+        private final long transactionPrefix;
+
+        private Layout(Plan plan) {
+            if (plan.getUsers() <= 0 || plan.getAccountsPerUser() <= 0 || plan.getMerchants() < 0
+                    || plan.getTransactions() < 0 || plan.getHistoryDays() <= 0 || plan.getBatchSize() <= 0) {
+                throw new IllegalArgumentException("Dataset sizes must be positive");
+            }
+            if (plan.getSkew() < 1 || plan.getAtmShare() < 0 || plan.getMerchantShare() < 0
+                    || plan.getAtmShare() + plan.getMerchantShare() > 1) {
+                throw new IllegalArgumentException("Skew must be at least 1 and the shares must add up to at most 1");
+            }
+            long totalAccounts = plan.getMerchants() + (long) plan.getUsers() * plan.getAccountsPerUser();
+            if (totalAccounts > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("At most " + (Integer.MAX_VALUE - 8) + " accounts can be seeded");
+            }
+            this.merchants = plan.getMerchants();
+            this.users = plan.getMerchants() + plan.getUsers();
+            this.accounts = (int) totalAccounts;
+            this.accountsPerUser = plan.getAccountsPerUser();
+            this.skew = plan.getSkew();
+            this.historyEnd = (plan.getEndDate() != null ? plan.getEndDate() : LocalDate.now()).atStartOfDay();
+            this.historyStart = historyEnd.minusDays(plan.getHistoryDays());
+            SplittableRandom prefixes = new SplittableRandom(plan.getSeed());
+            this.userPrefix = versionFour(prefixes.nextLong());
+            this.accountPrefix = versionFour(prefixes.nextLong());
+            this.transactionPrefix = versionFour(prefixes.nextLong());
+        }
+
+        private int ownerOf(int account) {
+            return account < merchants ? account : merchants + (account - merchants) / accountsPerUser;
+        }
+
+        // Index u^skew: the lowest 1% of retail accounts see about a fifth of the activity at skew 3
+        private int retailAccount(Random random) {
+            return merchants + (int) ((accounts - merchants) * Math.pow(random.nextDouble(), skew));
+        }
+
+        private int merchantAccount(Random random) {
+            return (int) (merchants * Math.pow(random.nextDouble(), skew));
+        }
+
+        private UUID userId(int index) {
+            return id(userPrefix, index);
+        }
+
+        private UUID accountId(int index) {
+            return id(accountPrefix, index);
+        }
+
+        private UUID transactionId(long index) {
+            return id(transactionPrefix, index);
+        }
+
+        // Random-looking high half per seed and table, the row index with the RFC 4122 variant below
+        private static UUID id(long prefix, long index) {
+            return new UUID(prefix, index | 0x8000_0000_0000_0000L);
+        }
+
+        private static long versionFour(long bits) {
+            return (bits & ~0xF000L) | 0x4000L;
+        }
+    }
+
+    /**
+     * Size and shape of a dataset. Defaults give 100 merchants, 1M retail users with 2M accounts
+     * and 10M transactions over a year.
+     */
+    public static class Plan {
+        private long seed = 42;
+        private int users = 1_000_000;
+        private int accountsPerUser = 2;
+        private int merchants = 100;
+        private long transactions = 10_000_000;
+        private double merchantShare = 0.6;
+        private double atmShare = 0.15;
+        private double skew = 3.0;
+        private int historyDays = 365;
+        private LocalDate endDate;
+        private Money initialBalance = Money.of("1000.00");
+        private String password = "Seed-Password-1";
+        private int batchSize = 5_000;
+
+        public long getSeed() { return seed; }
+        public void setSeed(long seed) { this.seed = seed; }
+
+        public int getUsers() { return users; }
+        public void setUsers(int users) { this.users = users; }
+
+        public int getAccountsPerUser() { return accountsPerUser; }
+        public void setAccountsPerUser(int accountsPerUser) { this.accountsPerUser = accountsPerUser; }
+
+        public int getMerchants() { return merchants; }
+        public void setMerchants(int merchants) { this.merchants = merchants; }
+
+        public long getTransactions() { return transactions; }
+        public void setTransactions(long transactions) { this.transactions = transactions; }
+
+        public double getMerchantShare() { return merchantShare; }
+        public void setMerchantShare(double merchantShare) { this.merchantShare = merchantShare; }
+
+        public double getAtmShare() { return atmShare; }
+        public void setAtmShare(double atmShare) { this.atmShare = atmShare; }
+
+        public double getSkew() { return skew; }
+        public void setSkew(double skew) { this.skew = skew; }
+
+        public int getHistoryDays() { return historyDays; }
+        public void setHistoryDays(int historyDays) { this.historyDays = historyDays; }
+
+        // Day after the last transaction, today when null
+        public LocalDate getEndDate() { return endDate; }
+        public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+        public Money getInitialBalance() { return initialBalance; }
+        public void setInitialBalance(Money initialBalance) { this.initialBalance = initialBalance; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    }
+
+    public static class Result {
+        private final long users;
+        private final long accounts;
+        private final long transactions;
+        private final long millis;
+
+        Result(long users, long accounts, long transactions, long millis) {
+            this.users = users;
+            this.accounts = accounts;
+            this.transactions = transactions;
+            this.millis = millis;
+        }
+
+        public long getUsers() { return users; }
+        public long getAccounts() { return accounts; }
+        public long getTransactions() { return transactions; }
+        public long getMillis() { return millis; }
+    }
+}
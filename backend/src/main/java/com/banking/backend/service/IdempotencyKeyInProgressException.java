@@ -0,0 +1,11 @@
+package com.banking.backend.service;
+
+/**
+ * A retry arrived while the first request with the same Idempotency-Key was still
+ * executing and did not finish within the wait timeout.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
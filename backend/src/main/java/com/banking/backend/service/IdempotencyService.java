@@ -0,0 +1,282 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.model.IdempotencyRecord;
+import com.banking.backend.model.IdempotencyStatus;
+import com.banking.backend.repository.IdempotencyRecordRepository;
+import com.banking.backend.repository.IdempotencyRecordState;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a money-moving request at most once per Idempotency-Key.
+ *
+ * The first request claims the key by inserting an IN_PROGRESS row, executes, and stores
+ * the serialized response. Retries with the same key and the same request are answered
+ * from that row without executing again; retries that arrive while the first one is
+ * still running wait for it, on this instance through the in-flight future and across
+ * instances by polling the row. A key reused for a different request is rejected.
+ *
+ * A request that fails releases its key, nothing was moved and the client may retry.
+ * If the response cannot be stored the row stays IN_PROGRESS and retries are refused
+ * until it expires, so a retry never moves the money a second time.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MS = 50;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${banking.idempotency.ttl:24h}")
+    private Duration ttl = Duration.ofHours(24);
+
+    @Value("${banking.idempotency.wait-timeout:10s}")
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    // Requests with a key currently executing on this instance
+    private final ConcurrentMap<String, Execution> inFlight = new ConcurrentHashMap<>();
+
+    public static final class Outcome {
+        private final TransactionDTO response;
+        private final boolean replayed;
+
+        Outcome(TransactionDTO response, boolean replayed) {
+            this.response = response;
+            this.replayed = replayed;
+        }
+
+        public TransactionDTO getResponse() {
+            return response;
+        }
+
+        // True when the response was served from the store instead of executing the request
+        public boolean isReplayed() {
+            return replayed;
+        }
+    }
+
+    /**
+     * Executes {@code action} unless the caller already sent {@code request} to {@code operation}
+     * under the same key, in which case the stored response is returned.
+     */
+    public Outcome execute(String key, String operation, Object request, Supplier<TransactionDTO> action) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Invalid Idempotency-Key");
+        }
+        String scope = currentScope();
+        String fingerprint = fingerprint(operation, request);
+
+        Execution execution = new Execution(fingerprint);
+        Execution running = inFlight.putIfAbsent(scope + ':' + key, execution);
+        if (running != null) {
+            return awaitLocal(running, fingerprint);
+        }
+        try {
+            Outcome outcome = claimAndExecute(scope, key, fingerprint, action);
+            execution.result.complete(outcome.getResponse());
+            return outcome;
+        } catch (RuntimeException e) {
+            execution.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scope + ':' + key, execution);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.idempotency.sweep-interval:PT15M}")
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    // Helper Methods
+
+    private Outcome claimAndExecute(String scope, String key, String fingerprint, Supplier<TransactionDTO> action) {
+        while (true) {
+            Optional<IdempotencyRecord> claimed = tryClaim(scope, key, fingerprint);
+            if (claimed.isPresent()) {
+                return run(claimed.get(), action);
+            }
+
+            Optional<IdempotencyRecordState> existing =
+                    idempotencyRecordRepository.findStateByScopeAndIdempotencyKey(scope, key);
+            if (existing.isEmpty()) {
+                continue; // released by a failed request in the meantime
+            }
+            IdempotencyRecordState stored = existing.get();
+            if (stored.getExpiresAt().isBefore(LocalDateTime.now())) {
+                // Not swept yet, an expired key is free to be used again
+                idempotencyRecordRepository.deleteById(stored.getId());
+                continue;
+            }
+            if (!stored.getRequestHash().equals(fingerprint)) {
+                throw new IllegalArgumentException("Idempotency-Key has already been used for a different request");
+            }
+            if (stored.getStatus() == IdempotencyStatus.COMPLETED) {
+                return new Outcome(readResponse(stored.getResponseBody()), true);
+            }
+            Optional<Outcome> completed = awaitStored(stored.getId());
+            if (completed.isPresent()) {
+                return completed.get();
+            }
+        }
+    }
+
+    private Optional<IdempotencyRecord> tryClaim(String scope, String key, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setScope(scope);
+        record.setIdempotencyKey(key);
+        record.setRequestHash(fingerprint);
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plus(ttl));
+        try {
+            // Committed on its own so concurrent duplicates see the claim right away
+            return Optional.of(idempotencyRecordRepository.saveAndFlush(record));
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Outcome run(IdempotencyRecord record, Supplier<TransactionDTO> action) {
+        TransactionDTO response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            idempotencyRecordRepository.deleteById(record.getId());
+            throw e;
+        }
+        try {
+            idempotencyRecordRepository.markCompleted(record.getId(), writeResponse(response));
+        } catch (RuntimeException e) {
+            // The money has moved, so this request still succeeds; retries are refused until the key expires
+            log.warn("Could not store the response for Idempotency-Key record {}", record.getId(), e);
+        }
+        return new Outcome(response, false);
+    }
+
+    private Outcome awaitLocal(Execution running, String fingerprint) {
+        if (!running.fingerprint.equals(fingerprint)) {
+            throw new IllegalArgumentException("Idempotency-Key has already been used for a different request");
+        }
+        try {
+            return new Outcome(running.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS), true);
+        } catch (ExecutionException e) {
+            // The duplicate gets the same answer as the request it waited for
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    // Empty when the first request failed and released the key
+    private Optional<Outcome> awaitStored(UUID recordId) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw inProgress();
+            }
+            // Not findById: under open-in-view that keeps returning the IN_PROGRESS entity loaded earlier
+            Optional<IdempotencyRecordState> current = idempotencyRecordRepository.findStateById(recordId);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            if (current.get().getStatus() == IdempotencyStatus.COMPLETED) {
+                return Optional.of(new Outcome(readResponse(current.get().getResponseBody()), true));
+            }
+        }
+        throw inProgress();
+    }
+
+    private IdempotencyKeyInProgressException inProgress() {
+        return new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still being processed");
+    }
+
+    private String currentScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() != null
+                ? authentication.getPrincipal().toString()
+                : "anonymous";
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid request body", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String writeResponse(TransactionDTO response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store the response for replay", e);
+        }
+    }
+
+    private TransactionDTO readResponse(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, TransactionDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for Idempotency-Key could not be read", e);
+        }
+    }
+
+    private static final class Execution {
+        private final String fingerprint;
+        private final CompletableFuture<TransactionDTO> result = new CompletableFuture<>();
+
+        Execution(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.BalanceChangeEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the latest {@code banking.outbox.memory.capacity} events of every account, for local runs
+ * and tests. Redelivered events (a sequence already held) are dropped.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final Map<UUID, Deque<BalanceChangeEvent>> eventsByAccount = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    public InMemoryOutboxSink(@Value("${banking.outbox.memory.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void publish(List<BalanceChangeEvent> events) {
+        for (BalanceChangeEvent event : events) {
+            Deque<BalanceChangeEvent> account = eventsByAccount.computeIfAbsent(event.getAccountId(),
+                    id -> new ArrayDeque<>());
+            synchronized (account) {
+                if (!account.isEmpty() && account.peekLast().getSequence() >= event.getSequence()) {
+                    continue;
+                }
+                account.addLast(event);
+                if (account.size() > capacity) {
+                    account.removeFirst();
+                }
+            }
+        }
+    }
+
+    /**
+     * Events of the account with a sequence above afterSequence, oldest first.
+     * Pass 0 for everything still held.
+     */
+    public List<BalanceChangeEvent> eventsAfter(UUID accountId, long afterSequence) {
+        Deque<BalanceChangeEvent> account = eventsByAccount.get(accountId);
+        List<BalanceChangeEvent> result = new ArrayList<>();
+        if (account == null) {
+            return result;
+        }
+        synchronized (account) {
+            for (BalanceChangeEvent event : account) {
+                if (event.getSequence() > afterSequence) {
+                    result.add(event);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.BalanceChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Default sink: one JSON line per event, appended to {@code banking.outbox.file} when it is set
+ * and written to the log otherwise.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public LoggingOutboxSink(ObjectMapper objectMapper, @Value("${banking.outbox.file:}") String file) {
+        this.objectMapper = objectMapper;
+        this.file = file.isBlank() ? null : Path.of(file);
+    }
+
+    @Override
+    public void publish(List<BalanceChangeEvent> events) {
+        StringBuilder lines = new StringBuilder();
+        for (BalanceChangeEvent event : events) {
+            String json = toJson(event);
+            if (file == null) {
+                log.info("Balance change {}", json);
+            } else {
+                lines.append(json).append('\n');
+            }
+        }
+        if (file != null) {
+            try {
+                Files.writeString(file, lines, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to outbox file " + file, e);
+            }
+        }
+    }
+
+    private String toJson(BalanceChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize balance change event", e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.BalanceChangeEvent;
+import com.banking.backend.model.OutboxEvent;
+import com.banking.backend.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the outbox to the configured OutboxSink in id order, {@code banking.outbox.batch-size}
+ * events per database transaction. Events are marked published in the transaction that read them,
+ * so a sink failure or a crash before the commit leaves the batch to be delivered again.
+ * Committed batches are also handed to the AccountEventBroadcaster for the live account streams.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final AccountEventBroadcaster accountEventBroadcaster;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink sink,
+                       AccountEventBroadcaster accountEventBroadcaster, TransactionTemplate transactionTemplate,
+                       @Value("${banking.outbox.batch-size:500}") int batchSize,
+                       @Value("${banking.outbox.retention:P7D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.accountEventBroadcaster = accountEventBroadcaster;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Publishes batches until the outbox is empty, returns the number of events published.
+     */
+    @Scheduled(fixedDelayString = "${banking.outbox.relay-interval:PT1S}")
+    public int relay() {
+        int published = 0;
+        try {
+            while (true) {
+                List<BalanceChangeEvent> events = transactionTemplate.execute(status -> publishBatch());
+                published += events.size();
+                // Live account streams only get what has been committed as published
+                accountEventBroadcaster.publishBalanceChanges(events);
+                if (events.size() < batchSize) {
+                    return published;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay stopped after {} events, retrying on the next run", published, e);
+            return published;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.outbox.sweep-interval:PT1H}")
+    public void purgePublished() {
+        outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    // Helper Methods
+
+    private List<BalanceChangeEvent> publishBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findUnpublishedForUpdate(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+        List<BalanceChangeEvent> events = new ArrayList<>(batch.size());
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            events.add(toEvent(event));
+            ids.add(event.getId());
+        }
+        sink.publish(events);
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+        return events;
+    }
+
+    private BalanceChangeEvent toEvent(OutboxEvent event) {
+        return new BalanceChangeEvent(
+                event.getId(),
+                event.getAccountId(),
+                event.getAccountSequence(),
+                event.getTransactionId(),
+                event.getTransactionType().name(),
+                event.getAmount(),
+                event.getBalanceAfter(),
+                event.getOccurredAt()
+        );
+    }
+}
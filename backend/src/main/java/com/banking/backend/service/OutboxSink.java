@@ -0,0 +1,14 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.BalanceChangeEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the events drained by the OutboxRelay, selected with {@code banking.outbox.sink}.
+ * Batches arrive in publication order; a batch whose publish throws is offered again on the next
+ * run, so an implementation may see an event more than once.
+ */
+public interface OutboxSink {
+    void publish(List<BalanceChangeEvent> events);
+}
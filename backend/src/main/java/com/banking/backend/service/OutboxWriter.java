@@ -0,0 +1,87 @@
+package com.banking.backend.service;
+
+import com.banking.backend.model.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Appends the outbox events of freshly saved transactions, in the caller's database transaction.
+ *
+ * The statement that changed an account's balance must also have added one to
+ * accounts.event_sequence per event written here (see AccountRepository.debitIfCovered and the
+ * batch update of BatchTransferService). That update holds the account's row lock until commit,
+ * so the sequence numbers and balances copied from the row below are exactly this transaction's
+ * and the events of one account are inserted, and therefore published, in sequence order.
+ */
+@Component
+public class OutboxWriter {
+
+    // The n-th of k events of an account in one call gets event_sequence - (k - n) and the
+    // balance minus the changes that come after it
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (account_id, account_sequence, transaction_id, transaction_type, " +
+            "amount, balance_after, occurred_at) " +
+            "SELECT a.id, a.event_sequence - ?, ?, ?, ?, a.balance - ?, ? FROM accounts a WHERE a.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void record(Transaction transaction) {
+        recordAll(List.of(transaction));
+    }
+
+    /**
+     * One event per account touched: a deposit or withdrawal (same source and destination account,
+     * signed amount) changes one balance, a transfer debits the source and credits the destination.
+     */
+    public void recordAll(List<Transaction> transactions) {
+        List<Object[]> events = new ArrayList<>(transactions.size() * 2);
+        for (Transaction transaction : transactions) {
+            UUID fromId = transaction.getFromAccount().getId();
+            UUID toId = transaction.getToAccount().getId();
+            long amount = transaction.getAmount().getMinorUnits();
+            if (fromId.equals(toId)) {
+                events.add(event(transaction, fromId, amount));
+            } else {
+                events.add(event(transaction, fromId, -amount));
+                events.add(event(transaction, toId, amount));
+            }
+        }
+
+        // Walk backwards, collecting the count and sum of the later changes of each account
+        Map<UUID, long[]> later = new HashMap<>();
+        for (int i = events.size() - 1; i >= 0; i--) {
+            Object[] event = events.get(i);
+            long[] countAndSum = later.computeIfAbsent((UUID) event[6], id -> new long[2]);
+            long delta = (Long) event[3];
+            event[0] = countAndSum[0];
+            event[4] = countAndSum[1];
+            countAndSum[0]++;
+            countAndSum[1] += delta;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events);
+    }
+
+    // Parameters of INSERT_SQL, the two offsets are filled in by recordAll
+    private Object[] event(Transaction transaction, UUID accountId, long delta) {
+        return new Object[]{
+                0L,
+                transaction.getId(),
+                transaction.getTypeOfTransaction().name(),
+                delta,
+                0L,
+                Timestamp.valueOf(transaction.getDateOfExecution()),
+                accountId
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package com.banking.backend.service;
+
+import com.banking.backend.repository.TransactionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces User.transactionLimit and User.dayLimit for money leaving an owner's accounts
+ * (transfers and ATM withdrawals). A limit of zero or less means no limit.
+ *
+ * Today's spend per user is kept in memory, so a check is one map update instead of a sum
+ * over the user's history. The map is a ConcurrentHashMap: compute() locks only the bin of
+ * one user, so transfers of different users never wait on each other while the
+ * check-and-add for one user is atomic. The counters are rebuilt from one aggregate query
+ * at startup and reconciled with the database every banking.limits.reconcile-interval,
+ * which also picks up spend recorded by other instances.
+ *
+ * A reservation made inside a database transaction stays pending until the transaction completes
+ * and is given back if it does not commit. Reconciling keeps pending reservations on top of the
+ * committed totals, and leaves alone users whose counter changed while the totals were queried,
+ * so a reservation is never lost and a rollback never subtracts what the query did not count.
+ */
+@Component
+public class SpendingLimits {
+
+    private final TransactionRepository transactionRepository;
+    private final ConcurrentHashMap<UUID, DailySpend> spend = new ConcurrentHashMap<>();
+    private Clock clock = Clock.systemDefaultZone();
+
+    public SpendingLimits(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Counts {@code amount} cents against the user's limits, or throws
+     * IllegalArgumentException when the amount or today's total would exceed them.
+     */
+    public void reserve(UUID userId, long amount, long transactionLimit, long dayLimit) {
+        if (transactionLimit > 0 && amount > transactionLimit) {
+            throw new IllegalArgumentException("Transaction amount exceeds the transaction limit");
+        }
+        LocalDate today = LocalDate.now(clock);
+        boolean pending = TransactionSynchronizationManager.isSynchronizationActive();
+        spend.compute(userId, (id, current) -> {
+            boolean sameDay = current != null && current.day.equals(today);
+            long spent = sameDay ? current.cents : 0;
+            if (dayLimit > 0 && spent + amount > dayLimit) {
+                throw new IllegalArgumentException("Daily limit exceeded");
+            }
+            long pendingCents = sameDay ? current.pending : 0;
+            return new DailySpend(today, spent + amount, pending ? pendingCents + amount : pendingCents);
+        });
+        if (pending) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    complete(userId, today, amount, status == STATUS_COMMITTED);
+                }
+            });
+        }
+    }
+
+    public long spentToday(UUID userId) {
+        DailySpend current = spend.get(userId);
+        return current != null && current.day.equals(LocalDate.now(clock)) ? current.cents : 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDate today = LocalDate.now(clock);
+        // Counters are replaced on every change, so an identical instance means nothing happened meanwhile
+        Map<UUID, DailySpend> before = new HashMap<>(spend);
+        Map<UUID, Long> totals = transactionRepository.sumSpendByUserSince(today.atStartOfDay());
+        Set<UUID> users = new HashSet<>(totals.keySet());
+        users.addAll(spend.keySet());
+        for (UUID userId : users) {
+            DailySpend seen = before.get(userId);
+            spend.compute(userId, (id, current) -> {
+                if (current != seen) {
+                    return current; // changed while the query ran, the next reconcile catches up
+                }
+                long pending = current != null && current.day.equals(today) ? current.pending : 0;
+                long cents = totals.getOrDefault(userId, 0L) + pending;
+                return cents > 0 ? new DailySpend(today, cents, pending) : null;
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.limits.reconcile-interval:PT5M}",
+               initialDelayString = "${banking.limits.reconcile-interval:PT5M}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    // Helper Methods
+
+    // A committed reservation is no longer pending, one that did not commit is given back
+    private void complete(UUID userId, LocalDate day, long amount, boolean committed) {
+        spend.computeIfPresent(userId, (id, current) -> {
+            if (!current.day.equals(day)) {
+                return current;
+            }
+            long cents = committed ? current.cents : Math.max(0, current.cents - amount);
+            return new DailySpend(day, cents, Math.max(0, current.pending - amount));
+        });
+    }
+
+    private static final class DailySpend {
+        private final LocalDate day;
+        private final long cents;
+        // Part of cents reserved by transactions that have not completed yet
+        private final long pending;
+
+        DailySpend(LocalDate day, long cents, long pending) {
+            this.day = day;
+            this.cents = cents;
+            this.pending = pending;
+        }
+    }
+}
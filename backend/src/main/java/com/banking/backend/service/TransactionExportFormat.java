@@ -0,0 +1,40 @@
+package com.banking.backend.service;
+
+import java.util.Locale;
+
+/**
+ * Output of GET /accounts/{accountId}/transactions/export.
+ */
+public enum TransactionExportFormat {
+    // One TransactionDTO JSON object per line
+    NDJSON("application/x-ndjson", "ndjson"),
+    // Header line, then one row per transaction with the TransactionDTO fields as columns
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    TransactionExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static TransactionExportFormat parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid export format");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Writes an account's complete history while it is read. Rows come from a database cursor
+ * ({@code banking.export.fetch-size} at a time) as column values, never as entities, so neither
+ * the persistence context nor the heap grows with the length of the history.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final String CSV_HEADER =
+            "id,fromIban,toIban,amount,typeOfTransaction,dateOfExecution,performingUserId,description";
+
+    // Same text as the JSON representation of TransactionDTO
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${banking.export.fetch-size:500}")
+    private int fetchSize = 500;
+
+    /**
+     * Streams the history to out, oldest first, and returns the number of transactions written.
+     * out is flushed but not closed. The read-only transaction keeps the cursor open, and on
+     * PostgreSQL it is what makes the driver honour the fetch size.
+     */
+    @Transactional(readOnly = true)
+    public long export(UUID accountId, TransactionType type, LocalDateTime fromDate, LocalDateTime toDate,
+                       TransactionExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == TransactionExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long count = 0;
+        try (Stream<TransactionDTO> rows = transactionRepository.streamHistoryByAccount(accountId, type,
+                fromDate, toDate, fetchSize)) {
+            for (TransactionDTO row : (Iterable<TransactionDTO>) rows::iterator) {
+                writer.write(format == TransactionExportFormat.CSV ? toCsv(row) : toJson(row));
+                writer.write('\n');
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    // Helper Methods
+
+    private String toJson(TransactionDTO row) {
+        try {
+            return objectMapper.writeValueAsString(row);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize transaction " + row.getId(), e);
+        }
+    }
+
+    private String toCsv(TransactionDTO row) {
+        return String.join(",",
+                row.getId().toString(),
+                csvText(row.getFromIban()),
+                csvText(row.getToIban()),
+                row.getAmount().toString(),
+                row.getTypeOfTransaction(),
+                DATE_FORMAT.format(row.getDateOfExecution()),
+                row.getPerformingUserId() != null ? row.getPerformingUserId().toString() : "",
+                csvText(row.getDescription()));
+    }
+
+    // RFC 4180 quoting. Free text starting like a formula is prefixed with ' so spreadsheets
+    // opening the export show it instead of evaluating it.
+    private static String csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if ("=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,16 +1,30 @@
 package com.banking.backend.service;
 
+import com.banking.backend.config.OperationMetrics;
 import com.banking.backend.dto.ATMDTO;
+import com.banking.backend.dto.CursorPage;
+import com.banking.backend.dto.TransactionCursor;
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.dto.TransactionHistoryQuery;
+import com.banking.backend.mapper.TransactionMapper;
 import com.banking.backend.model.Account;
+import com.banking.backend.model.Money;
 import com.banking.backend.model.Transaction;
 import com.banking.backend.model.TransactionType;
+import com.banking.backend.model.User;
 import com.banking.backend.repository.AccountRepository;
 import com.banking.backend.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -22,65 +36,177 @@ public class TransactionService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SpendingLimits spendingLimits;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private AccountEventBroadcaster accountEventBroadcaster;
+
+    @Autowired
+    private OperationMetrics operationMetrics;
+
+    @Value("${banking.transfer.locking-mode:PESSIMISTIC}")
+    private TransferLockingMode lockingMode = TransferLockingMode.PESSIMISTIC;
+
+    @Value("${banking.transfer.max-retries:3}")
+    private int maxRetries = 3;
+
+    /**
+     * Moves money between two accounts as one database transaction.
+     * A concurrent update of either account (a version conflict in OPTIMISTIC mode, a lock
+     * timeout in PESSIMISTIC mode) rolls the attempt back and the transfer is retried up to
+     * {@code banking.transfer.max-retries} times. Retries are counted in
+     * banking.transactions.transfer.retries, the whole call is timed as banking.transactions.transfer.
+     */
     public Transaction makeTransaction(Transaction transaction) {
+        return operationMetrics.record(OperationMetrics.TRANSFER, () -> transfer(transaction));
+    }
+
+    public Transaction createWithdrawal(ATMDTO dto) {
+        return operationMetrics.record(OperationMetrics.ATM,
+                () -> handleATMTransaction(dto, -dto.getAmount().getMinorUnits(), "Withdrawal amount must be greater than zero"),
+                "type", "withdrawal");
+    }
+
+    public Transaction createDeposit(ATMDTO dto) {
+        return operationMetrics.record(OperationMetrics.ATM,
+                () -> handleATMTransaction(dto, dto.getAmount().getMinorUnits(), "Deposit amount must be greater than zero"),
+                "type", "deposit");
+    }
+
+    // History reads may be served by the read replica
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionDTO> getTransactionsForAccount(UUID accountId, TransactionHistoryQuery query) {
+        return findPage(accountId, query, transactionRepository::findHistoryPageByAccount);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionDTO> getTransactionsByToAccount(UUID accountId, TransactionHistoryQuery query) {
+        return findPage(accountId, query, transactionRepository::findHistoryPageByToAccount);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionDTO> getTransactionsByFromAccount(UUID accountId, TransactionHistoryQuery query) {
+        return findPage(accountId, query, transactionRepository::findHistoryPageByFromAccount);
+    }
+
+    // Helper Methods
+
+    private Transaction transfer(Transaction transaction) {
         validateTransactionFields(transaction);
 
         UUID fromId = transaction.getFromAccount().getId();
         UUID toId = transaction.getToAccount().getId();
-        double amount = transaction.getAmount();
 
         if (fromId.equals(toId)) {
             throw new IllegalArgumentException("Cannot transfer to the same account");
         }
 
-        Account from = getAccountById(fromId, "Source account not found");
-        Account to = getAccountById(toId, "Destination account not found");
-
-        if (from.getBalance() < amount) {
-            throw new IllegalArgumentException("Insufficient funds in account");
+        UUID requestedId = transaction.getId();
+        int attempt = 0;
+        while (true) {
+            try {
+                // a rolled back attempt may have assigned an id, start every attempt clean
+                transaction.setId(requestedId);
+                return transactionTemplate.execute(status -> executeTransfer(transaction, fromId, toId));
+            } catch (ConcurrencyFailureException e) {
+                operationMetrics.increment(OperationMetrics.TRANSFER_RETRIES, "lockingMode", lockingMode.name());
+                attempt++;
+                if (attempt > maxRetries) {
+                    throw new IllegalStateException("Transfer aborted after " + attempt + " concurrent update conflicts", e);
+                }
+            }
         }
+    }
+
+    private Transaction executeTransfer(Transaction transaction, UUID fromId, UUID toId) {
+        long amount = transaction.getAmount().getMinorUnits();
+
+        // Always touch the lower id first so opposite transfers cannot deadlock,
+        // this also fixes the order in which Hibernate flushes the two updates
+        boolean fromFirst = fromId.compareTo(toId) < 0;
+        Optional<Account> first = loadAccountForTransfer(fromFirst ? fromId : toId);
+        Optional<Account> second = loadAccountForTransfer(fromFirst ? toId : fromId);
+        Account from = (fromFirst ? first : second)
+                .orElseThrow(() -> new IllegalArgumentException("Source account not found"));
+        Account to = (fromFirst ? second : first)
+                .orElseThrow(() -> new IllegalArgumentException("Destination account not found"));
 
         transaction.setFromAccount(from);
         transaction.setToAccount(to);
         transaction.setDateOfExecution(LocalDateTime.now());
-        transactionRepository.save(transaction);
 
-        updateBalance(from, -amount);
-        updateBalance(to, amount);
+        // OPTIMISTIC: both updates only apply if neither account changed since this point
+        boolean optimistic = lockingMode == TransferLockingMode.OPTIMISTIC;
+        Long firstVersion = optimistic ? currentVersion(fromFirst ? fromId : toId) : null;
+        Long secondVersion = optimistic ? currentVersion(fromFirst ? toId : fromId) : null;
+
+        enforceLimits(from, amount);
+
+        // Apply both legs in the same id order the accounts were read in
+        if (fromFirst) {
+            debit(from, amount, firstVersion);
+            credit(to, amount, secondVersion);
+        } else {
+            credit(to, amount, firstVersion);
+            debit(from, amount, secondVersion);
+        }
+        transactionRepository.save(transaction);
+        outboxWriter.record(transaction);
+        accountEventBroadcaster.publishAfterCommit(fromId, toId, () -> TransactionMapper.toDTO(transaction));
 
         return transaction;
     }
 
-    public Transaction createWithdrawal(ATMDTO dto) {
-        return handleATMTransaction(dto, -dto.getAmount(), "Withdrawal amount must be greater than zero");
+    private Optional<Account> loadAccountForTransfer(UUID id) {
+        return lockingMode == TransferLockingMode.PESSIMISTIC
+                ? accountRepository.findByIdForUpdate(id)
+                : accountRepository.findById(id);
     }
 
-    public Transaction createDeposit(ATMDTO dto) {
-        return handleATMTransaction(dto, dto.getAmount(), "Deposit amount must be greater than zero");
+    // Signature shared by the paged history queries of TransactionHistoryRepository
+    private interface PageQuery {
+        List<TransactionDTO> find(UUID accountId, TransactionType type, LocalDateTime fromDate, LocalDateTime toDate,
+                                  LocalDateTime afterDate, UUID afterId, int limit);
     }
 
-    public List<Transaction> getTransactionsForAccount(UUID accountId) {
-        Account account = getAccountById(accountId, "Invalid account ID");
-        return transactionRepository.findByFromAccountOrToAccount(account, account);
-    }
-    public List<Transaction> getTransactionsByToAccount(UUID accountId) {
-        Account account = getAccountById(accountId, "Invalid account ID");
-        return transactionRepository.findByToAccount(account);
-    }
-    public List<Transaction> getTransactionsByFromAccount(UUID accountId) {
-        Account account = getAccountById(accountId, "Invalid account ID");
-        return transactionRepository.findByFromAccount(account);
-    }
+    private CursorPage<TransactionDTO> findPage(UUID accountId, TransactionHistoryQuery query, PageQuery pageQuery) {
+        if (accountId == null) {
+            throw new IllegalArgumentException("Invalid account ID");
+        }
+        TransactionCursor after = query.getAfter();
+        int limit = query.getLimit();
 
-    // Helper Methods
+        // Fetch one row more than requested, its presence means there is a next page
+        List<TransactionDTO> rows = pageQuery.find(accountId, query.getType(), query.getFromDate(), query.getToDate(),
+                after != null ? after.getDateOfExecution() : null, after != null ? after.getId() : null,
+                limit + 1);
+        if (rows.isEmpty()) {
+            // Only an empty page needs the extra lookup to tell "no history" from "no account"
+            getAccountById(accountId, "Invalid account ID");
+            return new CursorPage<>(rows, null);
+        }
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<TransactionDTO> items = rows.subList(0, limit);
+        TransactionDTO last = items.get(limit - 1);
+        return new CursorPage<>(items, new TransactionCursor(last.getDateOfExecution(), last.getId()).encode());
+    }
 
     private void validateTransactionFields(Transaction tx) {
         if (tx == null || tx.getFromAccount() == null || tx.getToAccount() == null) {
             throw new IllegalArgumentException("Missing required transaction fields");
         }
 
-        if (tx.getAmount() <= 0) {
-            throw new IllegalArgumentException(tx.getAmount() == 0
+        if (tx.getAmount() == null || tx.getAmount().signum() <= 0) {
+            throw new IllegalArgumentException(tx.getAmount() == null || tx.getAmount().isZero()
                     ? "Transaction amount must be greater than zero"
                     : "Transaction amount must be positive");
         }
@@ -96,12 +222,62 @@ public class TransactionService {
                 .orElseThrow(() -> new IllegalArgumentException("Account not found"));
     }
 
-    private void updateBalance(Account account, double delta) {
-        account.setBalance(account.getBalance() + delta);
-        accountRepository.save(account);
+    // Counted against the owner's limits, released again if the transfer rolls back
+    private void enforceLimits(Account account, long amount) {
+        User owner = account.getUser();
+        if (owner == null) {
+            return;
+        }
+        spendingLimits.reserve(owner.getId(), amount,
+                owner.getTransactionLimit() != null ? owner.getTransactionLimit().getMinorUnits() : 0,
+                owner.getDayLimit() != null ? owner.getDayLimit().getMinorUnits() : 0);
     }
 
-    private Transaction handleATMTransaction(ATMDTO dto, double amountDelta, String invalidAmountMsg) {
+    private void debit(Account account, long amount) {
+        debit(account, amount, null);
+    }
+
+    private void credit(Account account, long amount) {
+        credit(account, amount, null);
+    }
+
+    // With an expected version, a concurrent change of the account fails the attempt for a retry
+    private void debit(Account account, long amount, Long expectedVersion) {
+        int updated = expectedVersion == null
+                ? accountRepository.debitIfCovered(account.getId(), amount)
+                : accountRepository.debitIfCoveredAtVersion(account.getId(), amount, expectedVersion);
+        if (updated == 0) {
+            checkVersionUnchanged(account.getId(), expectedVersion);
+            throw new IllegalArgumentException("Insufficient funds in account");
+        }
+    }
+
+    private void credit(Account account, long amount, Long expectedVersion) {
+        int updated = expectedVersion == null
+                ? accountRepository.credit(account.getId(), amount)
+                : accountRepository.creditAtVersion(account.getId(), amount, expectedVersion);
+        if (updated == 0) {
+            checkVersionUnchanged(account.getId(), expectedVersion);
+            throw new IllegalArgumentException("Account not found");
+        }
+    }
+
+    private Long currentVersion(UUID accountId) {
+        return accountRepository.findVersionById(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found"));
+    }
+
+    private void checkVersionUnchanged(UUID accountId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return;
+        }
+        Optional<Long> version = accountRepository.findVersionById(accountId);
+        if (version.isPresent() && version.get() != expectedVersion.longValue()) {
+            throw new ObjectOptimisticLockingFailureException(Account.class, accountId);
+        }
+    }
+
+    private Transaction handleATMTransaction(ATMDTO dto, long amountDelta, String invalidAmountMsg) {
         if (dto == null || dto.getIBAN() == null) {
             throw new IllegalArgumentException("Missing required transaction fields");
         }
@@ -110,10 +286,18 @@ public class TransactionService {
             throw new IllegalArgumentException(invalidAmountMsg);
         }
 
-        Account account = getAccountByIban(dto.getIBAN());
+        return transactionTemplate.execute(status -> executeATMTransaction(dto.getIBAN(), amountDelta));
+    }
 
-        if (amountDelta < 0 && account.getBalance() < Math.abs(amountDelta)) {
-            throw new IllegalArgumentException("Insufficient funds in account");
+    private Transaction executeATMTransaction(String iban, long amountDelta) {
+        Account account = getAccountByIban(iban);
+
+        // The funds check happens inside the conditional update, not on the loaded entity
+        if (amountDelta < 0) {
+            enforceLimits(account, Math.abs(amountDelta));
+            debit(account, Math.abs(amountDelta));
+        } else {
+            credit(account, amountDelta);
         }
 
         Transaction transaction = new Transaction();
@@ -126,10 +310,12 @@ public class TransactionService {
             transaction.setTypeOfTransaction(TransactionType.WITHDRAWAL);
         }
         transaction.setDateOfExecution(LocalDateTime.now());
-        transaction.setAmount(amountDelta);
+        transaction.setAmount(Money.ofMinor(amountDelta));
 
         transactionRepository.save(transaction);
-        updateBalance(account, amountDelta);
+        outboxWriter.record(transaction);
+        accountEventBroadcaster.publishAfterCommit(account.getId(), account.getId(),
+                () -> TransactionMapper.toDTO(transaction));
 
         return transaction;
     }
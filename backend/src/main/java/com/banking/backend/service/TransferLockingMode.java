@@ -0,0 +1,16 @@
+package com.banking.backend.service;
+
+/**
+ * Concurrency strategy used by {@link TransactionService#makeTransaction}.
+ *
+ * PESSIMISTIC locks both account rows (SELECT ... FOR UPDATE) in ascending id order,
+ * so two opposite transfers can never deadlock on each other.
+ * OPTIMISTIC reads without locks and makes the debit and credit updates conditional on the
+ * {@code version} column read at the start of the attempt; an update that matches no row because
+ * the account changed in between rolls the attempt back, and the whole transfer is retried a
+ * bounded number of times.
+ */
+public enum TransferLockingMode {
+    PESSIMISTIC,
+    OPTIMISTIC
+}
@@ -0,0 +1,8 @@
+-- AccountRequest was left out of V1. Databases that ran with ddl-auto before migrations were
+-- introduced already have the table.
+CREATE TABLE IF NOT EXISTS account_request (
+    id                     BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    requested_account_type VARCHAR(255),
+    customer_email         VARCHAR(255),
+    CONSTRAINT account_request_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,48 @@
+-- Schema as it was generated by hibernate ddl-auto before migrations were introduced.
+-- Existing databases are baselined at this version and start from V2.
+
+CREATE TABLE users (
+    id                UUID         NOT NULL,
+    first_name        VARCHAR(255),
+    last_name         VARCHAR(255),
+    email             VARCHAR(255),
+    password          VARCHAR(255),
+    bsn               VARCHAR(255),
+    date_of_birth     DATE,
+    role              VARCHAR(255) CHECK (role IN ('USER', 'CUSTOMER', 'EMPLOYEE')),
+    day_limit         REAL         NOT NULL,
+    transaction_limit REAL         NOT NULL,
+    active            BOOLEAN      NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    -- Also serves as the index for login lookups by email
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE accounts (
+    id              UUID             NOT NULL,
+    iban            VARCHAR(255)     NOT NULL,
+    balance         DOUBLE PRECISION NOT NULL,
+    type_of_account VARCHAR(255)     NOT NULL CHECK (type_of_account IN ('SAVINGS', 'CURRENT')),
+    user_id         UUID,
+    date_of_opening DATE,
+    absolute_limit  DOUBLE PRECISION NOT NULL,
+    active          BOOLEAN          NOT NULL,
+    CONSTRAINT accounts_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_accounts_iban UNIQUE (iban),
+    CONSTRAINT fk_accounts_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE transactions (
+    id                  UUID             NOT NULL,
+    from_iban           UUID             NOT NULL,
+    to_iban             UUID             NOT NULL,
+    amount              DOUBLE PRECISION NOT NULL,
+    type_of_transaction VARCHAR(255)     NOT NULL CHECK (type_of_transaction IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER')),
+    date_of_execution   TIMESTAMP(6)     NOT NULL,
+    user_id             UUID,
+    description         VARCHAR(255),
+    CONSTRAINT transactions_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_from_account FOREIGN KEY (from_iban) REFERENCES accounts (id),
+    CONSTRAINT fk_transactions_to_account FOREIGN KEY (to_iban) REFERENCES accounts (id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,3 @@
+-- Optimistic lock counter used by the transfer engine. Databases that ran with
+-- ddl-auto=update may already have it.
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- Converts the double precision / real money columns into BIGINT cents,
+-- matching com.banking.backend.model.Money.
+
+ALTER TABLE accounts
+    ALTER COLUMN balance TYPE BIGINT USING ROUND(balance * 100)::BIGINT,
+    ALTER COLUMN absolute_limit TYPE BIGINT USING ROUND(COALESCE(absolute_limit, 0) * 100)::BIGINT;
+
+ALTER TABLE transactions
+    ALTER COLUMN amount TYPE BIGINT USING ROUND(amount * 100)::BIGINT;
+
+ALTER TABLE users
+    ALTER COLUMN day_limit TYPE BIGINT USING ROUND(day_limit * 100)::BIGINT,
+    ALTER COLUMN transaction_limit TYPE BIGINT USING ROUND(transaction_limit * 100)::BIGINT;
@@ -0,0 +1,9 @@
+-- Account history is read newest first per account, one range scan per side
+-- (see TransactionHistoryRepositoryImpl). The trailing id matches
+-- the keyset tie-breaker so a page is read straight off the index.
+CREATE INDEX idx_transactions_from_iban_date ON transactions (from_iban, date_of_execution DESC, id DESC);
+CREATE INDEX idx_transactions_to_iban_date ON transactions (to_iban, date_of_execution DESC, id DESC);
+
+-- Accounts are listed per owner; accounts.iban and users.email are already
+-- covered by their unique constraints.
+CREATE INDEX idx_accounts_user_id ON accounts (user_id);
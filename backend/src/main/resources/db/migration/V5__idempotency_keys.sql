@@ -0,0 +1,17 @@
+-- Idempotency-Key store for POST /transactions and the ATM endpoints
+-- (see IdempotencyService). The unique key is what serializes concurrent retries.
+CREATE TABLE idempotency_keys (
+    id UUID NOT NULL,
+    scope VARCHAR(64) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    response_body VARCHAR(4000),
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT idempotency_keys_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_idempotency_keys_scope_key UNIQUE (scope, idempotency_key)
+);
+
+-- Expiry sweep
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,3 @@
+-- The daily spend counters (see SpendingLimits) are rebuilt from today's
+-- transactions across all accounts, a range scan on the execution date.
+CREATE INDEX idx_transactions_date_of_execution ON transactions (date_of_execution);
@@ -0,0 +1,22 @@
+-- Transactional outbox of balance changes (see OutboxWriter and OutboxRelay).
+-- accounts.event_sequence is the last sequence number handed out per account, bumped by the
+-- same UPDATE that changes the balance.
+ALTER TABLE accounts ADD COLUMN event_sequence BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    account_id UUID NOT NULL,
+    account_sequence BIGINT NOT NULL,
+    transaction_id UUID NOT NULL,
+    transaction_type VARCHAR(255) NOT NULL,
+    amount BIGINT NOT NULL,
+    balance_after BIGINT NOT NULL,
+    occurred_at TIMESTAMP(6) NOT NULL,
+    published_at TIMESTAMP(6),
+    CONSTRAINT outbox_events_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_outbox_events_account_sequence UNIQUE (account_id, account_sequence)
+);
+
+-- The relay reads the oldest unpublished events, the sweep deletes old published ones
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL;
+CREATE INDEX idx_outbox_events_published_at ON outbox_events (published_at);
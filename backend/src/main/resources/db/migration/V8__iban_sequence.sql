@@ -0,0 +1,3 @@
+-- Account numbers of new IBANs (see IbanAllocator). Each nextval reserves a block of
+-- 100 numbers for one node; the increment must match banking.iban.block-size.
+CREATE SEQUENCE iban_account_number_seq START WITH 1 INCREMENT BY 100;
@@ -0,0 +1,16 @@
+-- End-of-day balances per account and day with transactions (see BalanceSnapshotService).
+-- Historical balances are read from the latest snapshot before a date plus the transactions
+-- after it, so the primary key doubles as the lookup index.
+CREATE TABLE account_balance_snapshots (
+    account_id    UUID   NOT NULL,
+    snapshot_date DATE   NOT NULL,
+    balance       BIGINT NOT NULL,
+    CONSTRAINT account_balance_snapshots_pkey PRIMARY KEY (account_id, snapshot_date)
+);
+
+-- Single row, the last day the snapshots are complete for. Absent until the first day is done.
+CREATE TABLE balance_snapshot_checkpoint (
+    id               INTEGER NOT NULL,
+    snapshot_through DATE    NOT NULL,
+    CONSTRAINT balance_snapshot_checkpoint_pkey PRIMARY KEY (id)
+);
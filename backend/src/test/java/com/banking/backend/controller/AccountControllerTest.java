@@ -1,22 +1,34 @@
 package com.banking.backend.controller;
 
+import com.banking.backend.dto.AccountSearchQuery;
+import com.banking.backend.dto.AccountSummaryDTO;
+import com.banking.backend.dto.OffsetPage;
 import com.banking.backend.model.Account;
 import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
 import com.banking.backend.model.User;
 import com.banking.backend.repository.UserRepository;
 import com.banking.backend.service.AccountService;
+import com.banking.backend.service.BalanceSnapshotService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +36,10 @@ import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +55,9 @@ class AccountControllerTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BalanceSnapshotService balanceSnapshotService;
+
     @InjectMocks
     private AccountController accountController;
 
@@ -63,7 +82,7 @@ class AccountControllerTest {
         testAccount.setId(testAccountId);
         testAccount.setUser(testUser);
         testAccount.setTypeOfAccount(AccountType.CURRENT);
-        testAccount.setBalance(1000.00);
+        testAccount.setBalance(Money.of("1000.00"));
 
         mockMvc = MockMvcBuilders.standaloneSetup(accountController).build();
         objectMapper = new ObjectMapper();
@@ -93,7 +112,7 @@ void createAccount_Success() throws Exception {
             .andExpect(jsonPath("$.typeOfAccount")
                           .value(testAccount.getTypeOfAccount().name()))
             .andExpect(jsonPath("$.balance")
-                          .value(testAccount.getBalance()));
+                          .value(testAccount.getBalance().toBigDecimal().doubleValue()));
 }
 
 
@@ -119,7 +138,7 @@ void createAccount_Success() throws Exception {
                 .andExpect(jsonPath("$.id").value(testAccount.getId().toString()))
                 .andExpect(jsonPath("$.userId").value(testUser.getId().toString()))
                 .andExpect(jsonPath("$.typeOfAccount").value(testAccount.getTypeOfAccount().name()))
-                .andExpect(jsonPath("$.balance").value(testAccount.getBalance()));
+                .andExpect(jsonPath("$.balance").value(testAccount.getBalance().toBigDecimal().doubleValue()));
     }
 
     @Test
@@ -144,7 +163,7 @@ void createAccount_Success() throws Exception {
     account2.setId(UUID.randomUUID());
     account2.setUser(testUser);
     account2.setTypeOfAccount(AccountType.SAVINGS);
-    account2.setBalance(2000.00);
+    account2.setBalance(Money.of("2000.00"));
 
     List<Account> accounts = Arrays.asList(testAccount, account2);
 
@@ -183,4 +202,116 @@ void getAccountsByUserId_EmptyList() throws Exception {
         mockMvc.perform(get("/accounts/user/{userId}", "invalid-uuid"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void updateAbsoluteLimit_Success() throws Exception {
+        UUID employeeId = UUID.randomUUID();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(employeeId, null, Collections.emptyList()));
+        testAccount.setAbsoluteLimit(Money.of("250.00"));
+        when(accountService.updateAbsoluteLimit(testAccountId, Money.of("250.00"), employeeId)).thenReturn(testAccount);
+
+        mockMvc.perform(put("/accounts/{id}/absolute-limit", testAccountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"absoluteLimit\":250.00}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.absoluteLimit").value(250.0));
+    }
+
+    @Test
+    void updateAbsoluteLimit_NotEmployee_ShouldReturnForbidden() throws Exception {
+        when(accountService.updateAbsoluteLimit(eq(testAccountId), any(), any()))
+                .thenThrow(new AccessDeniedException("Only employees can change the absolute limit"));
+
+        mockMvc.perform(put("/accounts/{id}/absolute-limit", testAccountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"absoluteLimit\":250.00}"))
+                .andExpect(status().isForbidden())
+                .andExpect(content().string("Only employees can change the absolute limit"));
+    }
+
+    @Test
+    void getBalance_WithAt_ShouldReturnHistoricalBalance() throws Exception {
+        testAccount.setIban("NL00BANK0000000001");
+        LocalDateTime at = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+        when(accountService.getAccountById(testAccountId)).thenReturn(testAccount);
+        when(balanceSnapshotService.getBalanceAt(testAccountId, at)).thenReturn(Money.of("123.45"));
+
+        mockMvc.perform(get("/accounts/{id}/balance", testAccountId).param("at", "2024-01-31T23:59:59"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.iban").value("NL00BANK0000000001"))
+                .andExpect(jsonPath("$.balance").value(123.45))
+                .andExpect(jsonPath("$.at").exists());
+    }
+
+    @Test
+    void getBalance_WithoutAt_ShouldReturnCurrentBalance() throws Exception {
+        when(accountService.getAccountById(testAccountId)).thenReturn(testAccount);
+
+        mockMvc.perform(get("/accounts/{id}/balance", testAccountId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(1000.0));
+        verifyNoInteractions(balanceSnapshotService);
+    }
+
+    @Test
+    void getBalance_UnknownAccount_ShouldReturnNotFound() throws Exception {
+        when(accountService.getAccountById(testAccountId)).thenReturn(null);
+
+        mockMvc.perform(get("/accounts/{id}/balance", testAccountId).param("at", "2024-01-31T00:00:00"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAllAccounts_ShouldReturnPageWithPagingHeaders() throws Exception {
+        UUID employeeId = UUID.randomUUID();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(employeeId, null, Collections.emptyList()));
+        AccountSummaryDTO summary = new AccountSummaryDTO(testAccountId, "NL00BANK0000000001", Money.of("1000.00"),
+                "CURRENT", testUserId, null, Money.ZERO, true, "Test", "User", "testuser@example.com");
+        when(accountService.searchAccounts(any(AccountSearchQuery.class), eq(employeeId)))
+                .thenReturn(new OffsetPage<>(List.of(summary), 2, true, 151L));
+
+        mockMvc.perform(get("/accounts")
+                        .param("page", "2").param("size", "50").param("sort", "balance,desc")
+                        .param("type", "CURRENT").param("owner", "user").param("minBalance", "10.50"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Page", "3"))
+                .andExpect(header().string("X-Total-Count", "151"))
+                .andExpect(jsonPath("$[0].iban").value("NL00BANK0000000001"))
+                .andExpect(jsonPath("$[0].ownerEmail").value("testuser@example.com"));
+
+        ArgumentCaptor<AccountSearchQuery> query = ArgumentCaptor.forClass(AccountSearchQuery.class);
+        verify(accountService).searchAccounts(query.capture(), eq(employeeId));
+        assertEquals(100, query.getValue().getOffset());
+        assertEquals(AccountSearchQuery.SortField.BALANCE, query.getValue().getSortField());
+        assertTrue(query.getValue().isDescending());
+        assertEquals(AccountType.CURRENT, query.getValue().getType());
+        assertEquals(Money.of("10.50"), query.getValue().getMinBalance());
+    }
+
+    @Test
+    void getAllAccounts_LastPageWithoutTotal_ShouldOmitPagingHeaders() throws Exception {
+        when(accountService.searchAccounts(any(AccountSearchQuery.class), any()))
+                .thenReturn(new OffsetPage<>(List.of(), 0, false, null));
+
+        mockMvc.perform(get("/accounts").param("total", "false"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Page"))
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void getAllAccounts_InvalidSort_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/accounts").param("sort", "password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Cannot sort by: password"));
+        verifyNoInteractions(accountService);
+    }
+}
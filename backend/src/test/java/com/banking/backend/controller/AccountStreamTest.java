@@ -0,0 +1,173 @@
+package com.banking.backend.controller;
+
+import com.banking.backend.model.Account;
+import com.banking.backend.model.Transaction;
+import com.banking.backend.model.User;
+import com.banking.backend.model.UserType;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.OutboxEventRepository;
+import com.banking.backend.repository.TransactionRepository;
+import com.banking.backend.repository.UserRepository;
+import com.banking.backend.security.JwtUtil;
+import com.banking.backend.service.AccountEventBroadcaster;
+import com.banking.backend.service.OutboxRelay;
+import com.banking.backend.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createTransfer;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads GET /accounts/{id}/stream over a real connection, authenticated the way a browser's
+ * EventSource is, while transactions commit and the outbox relay runs.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class AccountStreamTest {
+
+    private static final String SAVER = "NL00STRM0000000001";
+    private static final String SPENDER = "NL00STRM0000000002";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private AccountEventBroadcaster accountEventBroadcaster;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private User owner;
+    private Account saver;
+    private Account spender;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setEmail("stream@example.com");
+        owner.setRole(UserType.CUSTOMER);
+        owner = userRepository.save(owner);
+        Account saverAccount = createAccount(SAVER, "0.00");
+        saverAccount.setUser(owner);
+        saver = accountRepository.save(saverAccount);
+        spender = accountRepository.save(createAccount(SPENDER, "20.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRelay.relay();
+        outboxEventRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void stream_ShouldPushCommittedTransactionsAndBalanceChanges() throws Exception {
+        String token = jwtUtil.generateToken(owner.getId());
+        HttpResponse<Stream<String>> response = client.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/accounts/" + saver.getId() + "/stream?access_token=" + token))
+                .GET().build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/event-stream"));
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> response.body().forEach(lines::add));
+        reader.setDaemon(true);
+        reader.start();
+        waitForSubscriber();
+
+        // Rolled back, must not show up on the stream
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.makeTransaction(createTransfer(spender, saver, "25.00")));
+        Transaction committed = transactionService.makeTransaction(createTransfer(spender, saver, "15.00"));
+
+        assertEquals("event:transaction", nextEvent(lines));
+        String transaction = lines.poll(5, TimeUnit.SECONDS);
+        assertTrue(transaction.contains("\"id\":\"" + committed.getId() + "\""), transaction);
+        assertTrue(transaction.contains("\"amount\":15.00"), transaction);
+
+        outboxRelay.relay();
+
+        assertEquals("event:balance", nextEvent(lines));
+        assertEquals("id:1", lines.poll(5, TimeUnit.SECONDS));
+        String balance = lines.poll(5, TimeUnit.SECONDS);
+        assertTrue(balance.contains("\"balanceAfter\":15.00"), balance);
+    }
+
+    @Test
+    void stream_ForUnknownAccount_ShouldReturnNotFound() throws Exception {
+        String token = jwtUtil.generateToken(UUID.randomUUID());
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/accounts/" + UUID.randomUUID() + "/stream?access_token=" + token))
+                .GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(404, response.statusCode());
+    }
+
+    @Test
+    void stream_ForAccountOfAnotherCustomer_ShouldReturnForbidden() throws Exception {
+        String token = jwtUtil.generateToken(UUID.randomUUID());
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/accounts/" + saver.getId() + "/stream?access_token=" + token))
+                .GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(403, response.statusCode());
+        assertEquals(0, accountEventBroadcaster.subscriberCount(saver.getId()));
+    }
+
+    // Skips comments (heartbeats) and blank separator lines
+    private String nextEvent(BlockingQueue<String> lines) throws InterruptedException {
+        while (true) {
+            String line = lines.poll(5, TimeUnit.SECONDS);
+            assertNotNull(line, "No event received");
+            if (!line.isEmpty() && !line.startsWith(":")) {
+                return line;
+            }
+        }
+    }
+
+    private void waitForSubscriber() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (accountEventBroadcaster.subscriberCount(saver.getId()) == 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Stream was not subscribed");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.banking.backend.controller;
+
+import com.banking.backend.security.JwtUtil;
+import com.banking.backend.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scrapes /actuator/prometheus on the management port after some traffic and checks the
+ * banking timers, repository timers, Hikari pool and Hibernate statistics are all there.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "management.server.port=0",
+                "management.endpoints.web.exposure.include=health,prometheus"
+        })
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void prometheusEndpoint_ShouldExposeHotPathMeters() throws Exception {
+        String token = jwtUtil.generateToken(UUID.randomUUID());
+        // Authenticated, but GET /accounts is for employees only
+        HttpResponse<String> account = get(port, "/accounts/" + UUID.randomUUID(), token);
+        assertEquals(404, account.statusCode());
+        assertThrows(CompletionException.class, () -> authService.login("nobody@example.com", "secret").join());
+
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus", null);
+
+        assertEquals(200, scrape.statusCode());
+        String body = scrape.body();
+        assertTrue(body.contains("banking_auth_token_check_seconds_count{application=\"banking-backend\",exception=\"none\",outcome=\"success\"}"));
+        assertTrue(body.contains("banking_auth_login_seconds_count{application=\"banking-backend\",exception=\"RuntimeException\",outcome=\"failure\"}"));
+        assertTrue(body.contains("banking_auth_login_seconds_bucket"));
+        assertTrue(body.contains("spring_data_repository_invocations_seconds_count"));
+        assertTrue(body.contains("method=\"findByEmail\""));
+        assertTrue(body.contains("hikaricp_connections_active"));
+        assertTrue(body.contains("hibernate_statements_total"));
+    }
+
+    @Test
+    void publicPort_ShouldNotServeActuator() throws Exception {
+        String token = jwtUtil.generateToken(UUID.randomUUID());
+
+        HttpResponse<String> response = get(port, "/actuator/prometheus", token);
+
+        assertNotEquals(200, response.statusCode());
+        assertFalse(response.body().contains("banking_"));
+    }
+
+    // Helper Methods
+
+    private HttpResponse<String> get(int targetPort, String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + targetPort + path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
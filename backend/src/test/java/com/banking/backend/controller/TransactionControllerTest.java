@@ -1,29 +1,50 @@
 package com.banking.backend.controller;
 
+import com.banking.backend.config.ExportTaskExecutor;
 import com.banking.backend.dto.ATMDTO;
+import com.banking.backend.dto.BatchTransferItemDTO;
+import com.banking.backend.dto.BatchTransferResultDTO;
+import com.banking.backend.dto.CursorPage;
+import com.banking.backend.dto.TransactionCursor;
+import com.banking.backend.dto.TransactionHistoryQuery;
+import com.banking.backend.mapper.TransactionMapper;
 import com.banking.backend.model.Account;
+import com.banking.backend.model.AccountMetadata;
 import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
 import com.banking.backend.model.Transaction;
 import com.banking.backend.model.TransactionType;
 import com.banking.backend.model.User;
 import com.banking.backend.service.AccountService;
+import com.banking.backend.service.BatchTransferMode;
+import com.banking.backend.service.BatchTransferService;
+import com.banking.backend.service.IdempotencyKeyInProgressException;
+import com.banking.backend.service.IdempotencyService;
+import com.banking.backend.service.TransactionExportFormat;
+import com.banking.backend.service.TransactionExportService;
 import com.banking.backend.service.TransactionService;
 import com.banking.backend.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -32,10 +53,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executors;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,6 +75,11 @@ class TransactionControllerTest {
     @Mock private TransactionService transactionService;
     @Mock private AccountService accountService;
     @Mock private UserService userService;
+    @Mock private IdempotencyService idempotencyService;
+    @Mock private BatchTransferService batchTransferService;
+    @Mock private TransactionExportService transactionExportService;
+    @Spy private ExportTaskExecutor exportTaskExecutor =
+            new ExportTaskExecutor(Executors.newSingleThreadExecutor(), Duration.ofSeconds(5));
 
     @InjectMocks private TransactionController transactionController;
 
@@ -83,10 +115,10 @@ class TransactionControllerTest {
         fromAccount.setId(testFromAccountId);
         fromAccount.setIban("NL00TEST0123456789");
         fromAccount.setUser(testUser);
-        fromAccount.setBalance(1000.0);
+        fromAccount.setBalance(Money.of("1000.0"));
         fromAccount.setTypeOfAccount(AccountType.CURRENT);
         fromAccount.setDateOfOpening(LocalDate.now());
-        fromAccount.setAbsoluteLimit(0.0);
+        fromAccount.setAbsoluteLimit(Money.ZERO);
         fromAccount.setActive(true);
 
         // 4) Create the “to” Account
@@ -94,10 +126,10 @@ class TransactionControllerTest {
         toAccount.setId(testToAccountId);
         toAccount.setIban("NL00TEST9876543210");
         toAccount.setUser(testUser);
-        toAccount.setBalance(500.0);
+        toAccount.setBalance(Money.of("500.0"));
         toAccount.setTypeOfAccount(AccountType.SAVINGS);
         toAccount.setDateOfOpening(LocalDate.now());
-        toAccount.setAbsoluteLimit(0.0);
+        toAccount.setAbsoluteLimit(Money.ZERO);
         toAccount.setActive(true);
 
         // 5) Build a “successful” Transaction entity
@@ -105,7 +137,7 @@ class TransactionControllerTest {
         testTransaction.setId(testTransactionId);
         testTransaction.setFromAccount(fromAccount);
         testTransaction.setToAccount(toAccount);
-        testTransaction.setAmount(500.00);
+        testTransaction.setAmount(Money.of("500.00"));
         testTransaction.setTypeOfTransaction(TransactionType.TRANSFER);
         testTransaction.setDateOfExecution(testTimestamp);
         testTransaction.setPerformingUser(testUser);
@@ -129,6 +161,11 @@ class TransactionControllerTest {
                      .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        exportTaskExecutor.shutdown();
+    }
+
     @Test
     void createTransaction_Success() throws Exception {
         // Build JSON‐like request body matching TransactionDTO
@@ -141,11 +178,11 @@ class TransactionControllerTest {
         requestBody.put("performingUserId",    testTransaction.getPerformingUser().getId().toString());
         requestBody.put("description",         testTransaction.getDescription());
 
-        // 1) Mock accountService.getAccountByIban(...) for both accounts
-        when(accountService.getAccountByIban(eq(fromAccount.getIban())))
-            .thenReturn(Optional.of(fromAccount));
-        when(accountService.getAccountByIban(eq(toAccount.getIban())))
-            .thenReturn(Optional.of(toAccount));
+        // 1) Mock accountService.getAccountMetadataByIban(...) for both accounts
+        when(accountService.getAccountMetadataByIban(eq(fromAccount.getIban())))
+            .thenReturn(Optional.of(AccountMetadata.of(fromAccount)));
+        when(accountService.getAccountMetadataByIban(eq(toAccount.getIban())))
+            .thenReturn(Optional.of(AccountMetadata.of(toAccount)));
 
         // 2) Mock userService.getUserById(...) for performing user
         when(userService.getUserById(eq(testTransaction.getPerformingUser().getId().toString())))
@@ -164,7 +201,7 @@ class TransactionControllerTest {
                .andExpect(jsonPath("$.id").value(testTransaction.getId().toString()))
                .andExpect(jsonPath("$.fromIban").value(fromAccount.getIban()))
                .andExpect(jsonPath("$.toIban").value(toAccount.getIban()))
-               .andExpect(jsonPath("$.amount").value(testTransaction.getAmount()))
+               .andExpect(jsonPath("$.amount").value(testTransaction.getAmount().toBigDecimal().doubleValue()))
                .andExpect(jsonPath("$.typeOfTransaction")
                               .value(testTransaction.getTypeOfTransaction().name()))
                .andExpect(jsonPath("$.dateOfExecution")
@@ -225,10 +262,10 @@ void createTransaction_InsufficientFunds() throws Exception {
     requestBody.put("description",         "Should fail because insufficient funds");
 
     // Stub both accounts so controller can look them up before checking balance
-    when(accountService.getAccountByIban(eq(fromAccount.getIban())))
-        .thenReturn(Optional.of(fromAccount));
-    when(accountService.getAccountByIban(eq(toAccount.getIban())))
-        .thenReturn(Optional.of(toAccount));
+    when(accountService.getAccountMetadataByIban(eq(fromAccount.getIban())))
+        .thenReturn(Optional.of(AccountMetadata.of(fromAccount)));
+    when(accountService.getAccountMetadataByIban(eq(toAccount.getIban())))
+        .thenReturn(Optional.of(AccountMetadata.of(toAccount)));
     // Stub the performing user lookup
     when(userService.getUserById(eq(testUser.getId().toString())))
         .thenReturn(testUser);
@@ -304,6 +341,43 @@ void createTransaction_InsufficientFunds() throws Exception {
                .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createTransactionBatch_BestEffort_ShouldReturnCreatedWithPerItemResults() throws Exception {
+        List<BatchTransferItemDTO> items = List.of(
+                new BatchTransferItemDTO(0, BatchTransferItemDTO.CREATED, TransactionMapper.toDTO(testTransaction), null),
+                new BatchTransferItemDTO(1, BatchTransferItemDTO.REJECTED, null, "Insufficient funds in account"));
+        when(batchTransferService.makeTransactions(any(), eq(BatchTransferMode.BEST_EFFORT)))
+                .thenReturn(new BatchTransferResultDTO("BEST_EFFORT", 1, 1, items));
+
+        mockMvc.perform(post("/transactions/batch")
+                        .param("mode", "BEST_EFFORT")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"fromIban\":\"NL00TEST0123456789\",\"toIban\":\"NL00TEST9876543210\",\"amount\":500.00}," +
+                                 "{\"fromIban\":\"NL00TEST0123456789\",\"toIban\":\"NL00TEST9876543210\",\"amount\":9000.00}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].transaction.id").value(testTransactionId.toString()))
+                .andExpect(jsonPath("$.items[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.items[1].error").value("Insufficient funds in account"));
+    }
+
+    @Test
+    void createTransactionBatch_NothingCreated_ShouldReturnBadRequest() throws Exception {
+        List<BatchTransferItemDTO> items = List.of(
+                new BatchTransferItemDTO(0, BatchTransferItemDTO.NOT_EXECUTED, null, null),
+                new BatchTransferItemDTO(1, BatchTransferItemDTO.REJECTED, null, "Destination account not found"));
+        when(batchTransferService.makeTransactions(any(), eq(BatchTransferMode.ALL_OR_NOTHING)))
+                .thenReturn(new BatchTransferResultDTO("ALL_OR_NOTHING", 0, 1, items));
+
+        mockMvc.perform(post("/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"fromIban\":\"NL00TEST0123456789\",\"toIban\":\"NL00TEST9876543210\",\"amount\":5.00}," +
+                                 "{\"fromIban\":\"NL00TEST0123456789\",\"toIban\":\"NL00NOPE0000000000\",\"amount\":5.00}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.items[0].status").value("NOT_EXECUTED"))
+                .andExpect(jsonPath("$.rejected").value(1));
+    }
+
     @Test
     void getAccountTransactions_Success() throws Exception {
         // Prepare two extra transactions
@@ -315,7 +389,7 @@ void createTransaction_InsufficientFunds() throws Exception {
         transaction2.setId(UUID.randomUUID());
         transaction2.setFromAccount(fromAccount);
         transaction2.setToAccount(otherAccount);
-        transaction2.setAmount(200.00);
+        transaction2.setAmount(Money.of("200.00"));
         transaction2.setTypeOfTransaction(TransactionType.TRANSFER);
         transaction2.setDateOfExecution(LocalDateTime.now().minusHours(1));
         transaction2.setPerformingUser(testUser);
@@ -324,14 +398,14 @@ void createTransaction_InsufficientFunds() throws Exception {
         transaction3.setId(UUID.randomUUID());
         transaction3.setFromAccount(otherAccount);
         transaction3.setToAccount(fromAccount);
-        transaction3.setAmount(300.00);
+        transaction3.setAmount(Money.of("300.00"));
         transaction3.setTypeOfTransaction(TransactionType.TRANSFER);
         transaction3.setDateOfExecution(LocalDateTime.now().minusHours(2));
         transaction3.setPerformingUser(testUser);
 
         List<Transaction> transactions = Arrays.asList(testTransaction, transaction2, transaction3);
-        when(transactionService.getTransactionsForAccount(eq(fromAccount.getId())))
-            .thenReturn(transactions);
+        when(transactionService.getTransactionsForAccount(eq(fromAccount.getId()), any(TransactionHistoryQuery.class)))
+            .thenReturn(new CursorPage<>(transactions, null).map(TransactionMapper::toDTO));
 
         // GET /accounts/{accountId}/transactions
         mockMvc.perform(get("/accounts/{accountId}/transactions", fromAccount.getId()))
@@ -341,19 +415,19 @@ void createTransaction_InsufficientFunds() throws Exception {
                .andExpect(jsonPath("$[0].id").value(testTransaction.getId().toString()))
                .andExpect(jsonPath("$[0].fromIban").value(fromAccount.getIban()))
                .andExpect(jsonPath("$[0].toIban").value(toAccount.getIban()))
-               .andExpect(jsonPath("$[0].amount").value(testTransaction.getAmount()))
+               .andExpect(jsonPath("$[0].amount").value(testTransaction.getAmount().toBigDecimal().doubleValue()))
                .andExpect(jsonPath("$[1].id").value(transaction2.getId().toString()))
                .andExpect(jsonPath("$[1].fromIban").value(fromAccount.getIban()))
-               .andExpect(jsonPath("$[1].amount").value(transaction2.getAmount()))
+               .andExpect(jsonPath("$[1].amount").value(transaction2.getAmount().toBigDecimal().doubleValue()))
                .andExpect(jsonPath("$[2].id").value(transaction3.getId().toString()))
                .andExpect(jsonPath("$[2].toIban").value(fromAccount.getIban()))
-               .andExpect(jsonPath("$[2].amount").value(transaction3.getAmount()));
+               .andExpect(jsonPath("$[2].amount").value(transaction3.getAmount().toBigDecimal().doubleValue()));
     }
 
     @Test
     void getAccountTransactions_EmptyList() throws Exception {
-        when(transactionService.getTransactionsForAccount(eq(fromAccount.getId())))
-            .thenReturn(Arrays.asList());
+        when(transactionService.getTransactionsForAccount(eq(fromAccount.getId()), any(TransactionHistoryQuery.class)))
+            .thenReturn(new CursorPage<>(Arrays.asList(), null));
 
         mockMvc.perform(get("/accounts/{accountId}/transactions", fromAccount.getId()))
                .andExpect(status().isOk())
@@ -364,8 +438,8 @@ void createTransaction_InsufficientFunds() throws Exception {
     @Test
     void getAccountTransactions_SingleTransaction() throws Exception {
         List<Transaction> singleTransaction = Arrays.asList(testTransaction);
-        when(transactionService.getTransactionsForAccount(eq(fromAccount.getId())))
-            .thenReturn(singleTransaction);
+        when(transactionService.getTransactionsForAccount(eq(fromAccount.getId()), any(TransactionHistoryQuery.class)))
+            .thenReturn(new CursorPage<>(singleTransaction, null).map(TransactionMapper::toDTO));
 
         mockMvc.perform(get("/accounts/{accountId}/transactions", fromAccount.getId()))
                .andExpect(status().isOk())
@@ -374,7 +448,59 @@ void createTransaction_InsufficientFunds() throws Exception {
                .andExpect(jsonPath("$[0].id").value(testTransaction.getId().toString()))
                .andExpect(jsonPath("$[0].fromIban").value(fromAccount.getIban()))
                .andExpect(jsonPath("$[0].toIban").value(toAccount.getIban()))
-               .andExpect(jsonPath("$[0].amount").value(testTransaction.getAmount()));
+               .andExpect(jsonPath("$[0].amount").value(testTransaction.getAmount().toBigDecimal().doubleValue()));
+    }
+
+    @Test
+    void getAccountTransactions_WithMoreRows_ShouldReturnNextCursorHeader() throws Exception {
+        String nextCursor = new TransactionCursor(testTimestamp, testTransactionId).encode();
+        when(transactionService.getTransactionsForAccount(eq(fromAccount.getId()), any(TransactionHistoryQuery.class)))
+            .thenReturn(new CursorPage<>(List.of(testTransaction), nextCursor).map(TransactionMapper::toDTO));
+
+        mockMvc.perform(get("/accounts/{accountId}/transactions", fromAccount.getId())
+                        .param("limit", "1")
+                        .param("type", "TRANSFER"))
+               .andExpect(status().isOk())
+               .andExpect(header().string("X-Next-Cursor", nextCursor))
+               .andExpect(jsonPath("$.length()").value(1));
+
+        ArgumentCaptor<TransactionHistoryQuery> query = ArgumentCaptor.forClass(TransactionHistoryQuery.class);
+        verify(transactionService).getTransactionsForAccount(eq(fromAccount.getId()), query.capture());
+        assertEquals(1, query.getValue().getLimit());
+        assertEquals(TransactionType.TRANSFER, query.getValue().getType());
+    }
+
+    @Test
+    void getAccountTransactions_LastPage_ShouldOmitNextCursorHeader() throws Exception {
+        String after = new TransactionCursor(testTimestamp, testTransactionId).encode();
+        when(transactionService.getTransactionsForAccount(eq(fromAccount.getId()), any(TransactionHistoryQuery.class)))
+            .thenReturn(new CursorPage<>(List.of(), null));
+
+        mockMvc.perform(get("/accounts/{accountId}/transactions", fromAccount.getId())
+                        .param("after", after))
+               .andExpect(status().isOk())
+               .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        ArgumentCaptor<TransactionHistoryQuery> query = ArgumentCaptor.forClass(TransactionHistoryQuery.class);
+        verify(transactionService).getTransactionsForAccount(eq(fromAccount.getId()), query.capture());
+        assertEquals(testTransactionId, query.getValue().getAfter().getId());
+        assertEquals(TransactionHistoryQuery.DEFAULT_LIMIT, query.getValue().getLimit());
+    }
+
+    @Test
+    void getAccountTransactions_InvalidLimit() throws Exception {
+        mockMvc.perform(get("/accounts/{accountId}/transactions", fromAccount.getId())
+                        .param("limit", "0"))
+               .andExpect(status().isBadRequest())
+               .andExpect(content().string("limit must be between 1 and 500"));
+    }
+
+    @Test
+    void getAccountTransactions_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/accounts/{accountId}/transactions", fromAccount.getId())
+                        .param("after", "not-a-cursor"))
+               .andExpect(status().isBadRequest())
+               .andExpect(content().string("Invalid cursor"));
     }
 
     @Test
@@ -386,8 +512,8 @@ void createTransaction_InsufficientFunds() throws Exception {
     @Test
     void getAccountTransactions_NonExistentAccount() throws Exception {
         UUID nonExistentAccountId = UUID.randomUUID();
-        when(transactionService.getTransactionsForAccount(eq(nonExistentAccountId)))
-            .thenReturn(Arrays.asList());
+        when(transactionService.getTransactionsForAccount(eq(nonExistentAccountId), any(TransactionHistoryQuery.class)))
+            .thenReturn(new CursorPage<>(Arrays.asList(), null));
 
         mockMvc.perform(get("/accounts/{accountId}/transactions", nonExistentAccountId))
                .andExpect(status().isOk())
@@ -398,10 +524,10 @@ void createTransaction_InsufficientFunds() throws Exception {
     void deposit_Success() throws Exception {
         ATMDTO dto = new ATMDTO();
         dto.setIBAN("NL01BANK0123456789");
-        dto.setAmount(200.0);
+        dto.setAmount(Money.of("200.0"));
 
         Transaction mockTx = new Transaction();
-        mockTx.setAmount(200.0);
+        mockTx.setAmount(Money.of("200.0"));
 
         when(transactionService.createDeposit(any(ATMDTO.class))).thenReturn(mockTx);
 
@@ -416,7 +542,7 @@ void createTransaction_InsufficientFunds() throws Exception {
     void deposit_InvalidAmount_ShouldReturnBadRequest() throws Exception {
         ATMDTO dto = new ATMDTO();
         dto.setIBAN("NL01BANK0123456789");
-        dto.setAmount(0.0);
+        dto.setAmount(Money.ZERO);
 
         when(transactionService.createDeposit(any(ATMDTO.class)))
                 .thenThrow(new IllegalArgumentException("Deposit amount must be greater than zero"));
@@ -432,10 +558,10 @@ void createTransaction_InsufficientFunds() throws Exception {
     void withdraw_Success() throws Exception {
         ATMDTO dto = new ATMDTO();
         dto.setIBAN("NL01BANK0123456789");
-        dto.setAmount(150.0);
+        dto.setAmount(Money.of("150.0"));
 
         Transaction mockTx = new Transaction();
-        mockTx.setAmount(150.0);
+        mockTx.setAmount(Money.of("150.0"));
 
         when(transactionService.createWithdrawal(any(ATMDTO.class))).thenReturn(mockTx);
 
@@ -446,11 +572,53 @@ void createTransaction_InsufficientFunds() throws Exception {
                 .andExpect(jsonPath("$.amount").value(150.0));
     }
 
+    @Test
+    void withdraw_WithIdempotencyKey_ShouldReturnReplayedResponse() throws Exception {
+        ATMDTO dto = new ATMDTO();
+        dto.setIBAN("NL01BANK0123456789");
+        dto.setAmount(Money.of("150.0"));
+
+        Transaction stored = new Transaction();
+        stored.setAmount(Money.of("150.0"));
+        IdempotencyService.Outcome replay = mock(IdempotencyService.Outcome.class);
+        when(replay.getResponse()).thenReturn(TransactionMapper.toDTO(stored));
+        when(replay.isReplayed()).thenReturn(true);
+        when(idempotencyService.execute(eq("atm-42"), eq("POST /atm/withdraw"), any(ATMDTO.class), any()))
+                .thenReturn(replay);
+
+        mockMvc.perform(post("/atm/withdraw")
+                        .header("Idempotency-Key", "atm-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.amount").value(150.0));
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void withdraw_IdempotencyKeyInProgress_ShouldReturnConflict() throws Exception {
+        ATMDTO dto = new ATMDTO();
+        dto.setIBAN("NL01BANK0123456789");
+        dto.setAmount(Money.of("150.0"));
+
+        when(idempotencyService.execute(eq("atm-42"), eq("POST /atm/withdraw"), any(ATMDTO.class), any()))
+                .thenThrow(new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still being processed"));
+
+        mockMvc.perform(post("/atm/withdraw")
+                        .header("Idempotency-Key", "atm-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("A request with this Idempotency-Key is still being processed"));
+    }
+
     @Test
     void withdraw_InsufficientFunds_ShouldReturnBadRequest() throws Exception {
         ATMDTO dto = new ATMDTO();
         dto.setIBAN("NL01BANK0123456789");
-        dto.setAmount(5000.0);
+        dto.setAmount(Money.of("5000.0"));
 
         when(transactionService.createWithdrawal(any(ATMDTO.class)))
                 .thenThrow(new IllegalArgumentException("Insufficient funds in account"));
@@ -465,12 +633,12 @@ void createTransaction_InsufficientFunds() throws Exception {
     void getTransactionsReceivedByAccount_Success() throws Exception {
         Transaction tx = new Transaction();
         tx.setId(UUID.randomUUID());
-        tx.setAmount(100.0);
+        tx.setAmount(Money.of("100.0"));
         tx.setFromAccount(fromAccount);
         tx.setToAccount(toAccount);
 
-        when(transactionService.getTransactionsByToAccount(toAccount.getId()))
-                .thenReturn(List.of(tx));
+        when(transactionService.getTransactionsByToAccount(eq(toAccount.getId()), any(TransactionHistoryQuery.class)))
+                .thenReturn(new CursorPage<>(List.of(tx), null).map(TransactionMapper::toDTO));
 
         mockMvc.perform(get("/accounts/{accountId}/received", toAccount.getId()))
                 .andExpect(status().isOk())
@@ -481,7 +649,7 @@ void createTransaction_InsufficientFunds() throws Exception {
     @Test
     void getTransactionsReceivedByAccount_InvalidId_ShouldReturnBadRequest() throws Exception {
         UUID invalidId = UUID.randomUUID();
-        when(transactionService.getTransactionsByToAccount(invalidId))
+        when(transactionService.getTransactionsByToAccount(eq(invalidId), any(TransactionHistoryQuery.class)))
                 .thenThrow(new IllegalArgumentException("Invalid account ID"));
 
         mockMvc.perform(get("/accounts/{accountId}/received", invalidId))
@@ -491,4 +659,44 @@ void createTransaction_InsufficientFunds() throws Exception {
 
 
 
+
+    @Test
+    void exportAccountTransactions_Csv_ShouldStreamTheExport() throws Exception {
+        when(accountService.accountExists(testFromAccountId)).thenReturn(true);
+        when(transactionExportService.export(eq(testFromAccountId), any(), any(), any(),
+                eq(TransactionExportFormat.CSV), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(5);
+            out.write("id,fromIban\n".getBytes());
+            return 0L;
+        });
+
+        MvcResult started = mockMvc.perform(get("/accounts/{accountId}/transactions/export", testFromAccountId)
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"account-" + testFromAccountId + "-transactions.csv\""))
+                .andExpect(content().string("id,fromIban\n"));
+    }
+
+    @Test
+    void exportAccountTransactions_UnknownAccount_ShouldReturnNotFound() throws Exception {
+        when(accountService.accountExists(testFromAccountId)).thenReturn(false);
+
+        mockMvc.perform(get("/accounts/{accountId}/transactions/export", testFromAccountId))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(transactionExportService);
+    }
+
+    @Test
+    void exportAccountTransactions_InvalidFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/accounts/{accountId}/transactions/export", testFromAccountId)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid export format"));
+    }
 }
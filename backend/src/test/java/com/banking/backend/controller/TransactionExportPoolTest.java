@@ -0,0 +1,131 @@
+package com.banking.backend.controller;
+
+import com.banking.backend.config.ExportTaskExecutor;
+import com.banking.backend.model.Account;
+import com.banking.backend.model.User;
+import com.banking.backend.model.UserType;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.UserRepository;
+import com.banking.backend.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fills the export pool (one thread, one queued export) and checks over a real connection that
+ * a further export is turned away with 503 while account streams still open.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "banking.export.threads=1",
+                "banking.export.queue-capacity=1"
+        })
+@ActiveProfiles("test")
+class TransactionExportPoolTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ExportTaskExecutor exportTaskExecutor;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Account account;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setEmail("export@example.com");
+        owner.setRole(UserType.CUSTOMER);
+        owner = userRepository.save(owner);
+        account = accountRepository.save(createAccount("NL00EXPO0000000001", "0.00", owner));
+        token = jwtUtil.generateToken(owner.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        accountRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void export_PoolFull_ShouldReturnServiceUnavailableAndLeaveStreamsAlone() throws Exception {
+        // Two long exports: one running, one waiting in the queue
+        AsyncTaskExecutor pool = exportTaskExecutor.task(() -> null).getExecutor();
+        CountDownLatch running = new CountDownLatch(1);
+        pool.submit(() -> {
+            running.countDown();
+            await(release);
+        });
+        pool.submit(() -> await(release));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        HttpResponse<String> rejected = get("/accounts/" + account.getId() + "/transactions/export");
+
+        assertEquals(503, rejected.statusCode());
+        assertTrue(rejected.headers().firstValue("Retry-After").isPresent());
+        assertFalse(rejected.headers().firstValue("Content-Disposition").isPresent());
+        assertEquals("Too many exports in progress, try again shortly", rejected.body());
+
+        HttpResponse<Stream<String>> stream = client.send(HttpRequest.newBuilder(
+                        URI.create(url("/accounts/" + account.getId() + "/stream?access_token=" + token)))
+                .GET().build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, stream.statusCode());
+        Iterator<String> lines = stream.body().iterator();
+        assertEquals(":subscribed", lines.next());
+        stream.body().close();
+
+        release.countDown();
+        HttpResponse<String> export = get("/accounts/" + account.getId() + "/transactions/export");
+        assertEquals(200, export.statusCode());
+    }
+
+    // Helper Methods
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url(path)))
+                .header("Authorization", "Bearer " + token)
+                .GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package com.banking.backend.cucumber.helpers;
 
 import com.banking.backend.dto.*;
+import com.banking.backend.model.Account;
+import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.Transaction;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.model.User;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public class TestDataBuilder {
@@ -33,13 +42,61 @@ public class TestDataBuilder {
         TransactionDTO dto = new TransactionDTO();
         dto.setFromIban(fromIban);
         dto.setToIban(toIban);
-        dto.setAmount(amount);
+        dto.setAmount(Money.of(BigDecimal.valueOf(amount)));
         dto.setPerformingUserId(performingUserId);
         dto.setDescription(description);
         dto.setTypeOfTransaction("TRANSFER");
         return dto;
     }
 
+    // Active current account opened today, without an owner
+    public static Account createAccount(String iban, String balance) {
+        return createAccount(iban, balance, null);
+    }
+
+    public static Account createAccount(String iban, String balance, User owner) {
+        Account account = new Account();
+        account.setIban(iban);
+        account.setBalance(Money.of(balance));
+        account.setTypeOfAccount(AccountType.CURRENT);
+        account.setDateOfOpening(LocalDate.now());
+        account.setActive(true);
+        account.setUser(owner);
+        return account;
+    }
+
+    // Transfer as TransactionService.makeTransaction takes it, executed now
+    public static Transaction createTransfer(Account from, Account to, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(from);
+        transaction.setToAccount(to);
+        transaction.setAmount(Money.of(amount));
+        transaction.setTypeOfTransaction(TransactionType.TRANSFER);
+        return transaction;
+    }
+
+    // Already executed transaction, to be saved straight to the repository
+    public static Transaction createTransaction(Account from, Account to, long cents, TransactionType type,
+                                                LocalDateTime dateOfExecution) {
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(from);
+        transaction.setToAccount(to);
+        transaction.setAmount(Money.ofMinor(cents));
+        transaction.setTypeOfTransaction(type);
+        transaction.setDateOfExecution(dateOfExecution);
+        return transaction;
+    }
+
+    // Entry of a POST /transactions/batch request
+    public static TransactionDTO createTransferEntry(String fromIban, String toIban, String amount) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setFromIban(fromIban);
+        dto.setToIban(toIban);
+        dto.setAmount(Money.of(amount));
+        dto.setTypeOfTransaction("TRANSFER");
+        return dto;
+    }
+
     public static String generateTestIban(String suffix) {
         return "NL" + String.format("%02d", suffix.hashCode() % 100) + "BANK" + String.format("%010d", Math.abs(suffix.hashCode()));
     }
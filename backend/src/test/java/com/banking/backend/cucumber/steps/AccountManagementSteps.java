@@ -8,6 +8,7 @@ import com.banking.backend.dto.RegisterDTO;
 import com.banking.backend.mapper.UserMapper;
 import com.banking.backend.model.Account;
 import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
 import com.banking.backend.model.User;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.Given;
@@ -21,6 +22,7 @@ import org.springframework.http.*;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -51,10 +53,10 @@ public class AccountManagementSteps {
         for (int i = 0; i < count; i++) {
             Account account = new Account();
             account.setIban(TestDataBuilder.generateTestIban("test" + i));
-            account.setBalance(1000.0 + (i * 100));
+            account.setBalance(Money.of(BigDecimal.valueOf(1000 + (i * 100))));
             account.setTypeOfAccount(i % 2 == 0 ? AccountType.SAVINGS : AccountType.CURRENT);
             account.setDateOfOpening(LocalDate.now());
-            account.setAbsoluteLimit(0.0);
+            account.setAbsoluteLimit(Money.ZERO);
             account.setActive(true);
 
             User user = testContext.userRepository.findByEmail(testEmail).orElse(null);
@@ -71,10 +73,10 @@ public class AccountManagementSteps {
         Account account = new Account();
         // Remove: account.setId(uuid);
         account.setIban(TestDataBuilder.generateTestIban(accountId));
-        account.setBalance(1500.0);
+        account.setBalance(Money.of("1500.0"));
         account.setTypeOfAccount(AccountType.SAVINGS);
         account.setDateOfOpening(LocalDate.now());
-        account.setAbsoluteLimit(0.0);
+        account.setAbsoluteLimit(Money.ZERO);
         account.setActive(true);
 
         String testEmail = "test.user@example.com";
@@ -110,10 +112,10 @@ public class AccountManagementSteps {
         for (int i = 0; i < accountCount; i++) {
             Account account = new Account();
             account.setIban(TestDataBuilder.generateTestIban("user" + user.getId() + "acc" + i));
-            account.setBalance(500.0 + (i * 200));
+            account.setBalance(Money.of(BigDecimal.valueOf(500 + (i * 200))));
             account.setTypeOfAccount(AccountType.SAVINGS);
             account.setDateOfOpening(LocalDate.now());
-            account.setAbsoluteLimit(0.0);
+            account.setAbsoluteLimit(Money.ZERO);
             account.setActive(true);
             account.setUser(user);
             testContext.accountRepository.saveAndFlush(account);
@@ -201,7 +203,7 @@ public class AccountManagementSteps {
     @Then("the account should have zero balance initially")
     public void the_account_should_have_zero_balance_initially() {
         assertNotNull(createdAccount);
-        assertEquals(0.0, createdAccount.getBalance(), 0.01);
+        assertEquals(Money.ZERO, createdAccount.getBalance());
     }
 
     @Then("I should receive a list of {int} accounts")
@@ -219,7 +221,7 @@ public class AccountManagementSteps {
             assertNotNull(account.getId());
             assertNotNull(account.getIban());
             assertNotNull(account.getTypeOfAccount());
-            assertTrue(account.getBalance() >= 0);
+            assertTrue(account.getBalance().signum() >= 0);
         }
     }
 
@@ -5,6 +5,7 @@ import com.banking.backend.cucumber.helpers.TestDataBuilder;
 import com.banking.backend.dto.TransactionDTO;
 import com.banking.backend.model.Account;
 import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
 import com.banking.backend.model.Transaction;
 import com.banking.backend.model.User;
 import com.banking.backend.repository.TransactionRepository;
@@ -19,6 +20,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -43,10 +45,10 @@ public class TransactionSteps {
     public void an_account_exists_with_iban_and_balance(String iban, double balance) {
         Account account = new Account();
         account.setIban(iban);
-        account.setBalance(balance);
+        account.setBalance(Money.of(BigDecimal.valueOf(balance)));
         account.setTypeOfAccount(AccountType.CURRENT);
         account.setDateOfOpening(LocalDate.now());
-        account.setAbsoluteLimit(0.0);
+        account.setAbsoluteLimit(Money.ZERO);
         account.setActive(true);
 
         String testEmail = "test.user@example.com";
@@ -68,7 +70,7 @@ public class TransactionSteps {
                 Transaction transaction = new Transaction();
                 transaction.setFromAccount(account);
                 transaction.setToAccount(account);
-                transaction.setAmount(10.0 + i);
+                transaction.setAmount(Money.of(BigDecimal.valueOf(10 + i)));
                 transactionRepository.save(transaction);
             }
         }
@@ -149,7 +151,7 @@ public class TransactionSteps {
         assertNotNull(createdTransaction);
         assertEquals(transactionRequest.getFromIban(), createdTransaction.getFromIban());
         assertEquals(transactionRequest.getToIban(), createdTransaction.getToIban());
-        assertEquals(transactionRequest.getAmount(), createdTransaction.getAmount(), 0.01);
+        assertEquals(transactionRequest.getAmount(), createdTransaction.getAmount());
         assertNotNull(createdTransaction.getDateOfExecution());
     }
 
@@ -180,7 +182,7 @@ public class TransactionSteps {
             assertNotNull(transaction.getId());
             assertNotNull(transaction.getFromIban());
             assertNotNull(transaction.getToIban());
-            assertTrue(transaction.getAmount() > 0);
+            assertTrue(transaction.getAmount().isPositive());
             assertNotNull(transaction.getDateOfExecution());
         }
     }
@@ -190,7 +192,7 @@ public class TransactionSteps {
         for (TransactionDTO transaction : transactionList) {
             assertTrue(transaction.getFromIban().matches("NL\\d{2}[A-Z]{4}\\d{10}"));
             assertTrue(transaction.getToIban().matches("NL\\d{2}[A-Z]{4}\\d{10}"));
-            assertTrue(transaction.getAmount() > 0);
+            assertTrue(transaction.getAmount().isPositive());
         }
     }
 
@@ -0,0 +1,68 @@
+package com.banking.backend.model;
+
+import com.banking.backend.dto.TransactionDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void of_ShouldStoreExactCents() {
+        assertEquals(1234L, Money.of("12.34").getMinorUnits());
+        assertEquals(1230L, Money.of(new BigDecimal("12.3")).getMinorUnits());
+        assertEquals(-500L, Money.of("-5").getMinorUnits());
+    }
+
+    @Test
+    void of_WithMoreThanTwoDecimals_ShouldThrowException() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> Money.of("0.001"));
+        assertEquals("Invalid amount: 0.001", ex.getMessage());
+    }
+
+    @Test
+    void arithmetic_ShouldNotDrift() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < 10; i++) {
+            total = total.plus(Money.of("0.10"));
+        }
+        assertEquals(Money.of("1.00"), total);
+        assertEquals("0.00", total.minus(Money.of("1")).toString());
+        assertTrue(Money.of("-1").abs().isPositive());
+    }
+
+    @Test
+    void converter_ShouldRoundTripCents() {
+        MoneyConverter converter = new MoneyConverter();
+        assertEquals(99L, converter.convertToDatabaseColumn(Money.of("0.99")));
+        assertEquals(Money.of("0.99"), converter.convertToEntityAttribute(99L));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void json_ShouldSerializeAsNumberWithTwoDecimals() throws Exception {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setAmount(Money.of("12.5"));
+
+        String json = objectMapper.writeValueAsString(dto);
+
+        assertTrue(json.contains("\"amount\":12.50"));
+    }
+
+    @Test
+    void json_ShouldDeserializeNumbersAndStrings() throws Exception {
+        assertEquals(Money.of("0.30"),
+                objectMapper.readValue("{\"amount\":0.30}", TransactionDTO.class).getAmount());
+        assertEquals(Money.of("7"),
+                objectMapper.readValue("{\"amount\":\"7\"}", TransactionDTO.class).getAmount());
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"amount\":1.005}", TransactionDTO.class));
+    }
+}
@@ -0,0 +1,141 @@
+package com.banking.backend.model;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.ResourceProvider;
+import org.flywaydb.core.api.resource.LoadableResource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the schema with the Flyway migrations instead of ddl-auto and lets Hibernate validate the
+ * entities against it, so a mapping that drifts from the migrations fails here and not on the first
+ * production start. Runs on its own H2 database in PostgreSQL mode. The few migrations H2 cannot
+ * parse are replaced by the same-named scripts under src/test/resources/db/h2. No other test shares
+ * this context, so it is closed afterwards instead of keeping its schedulers running in the cache.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+@DirtiesContext
+class SchemaMigrationTest {
+
+    private static final String MIGRATIONS = "db/migration/";
+    private static final String H2_MIGRATIONS = "db/h2/";
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void migrations_ShouldMatchTheEntityMappings() {
+        // The context only starts once Hibernate validated every entity against the migrated schema
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals(lastMigrationVersion(), flyway.info().current().getVersion().getVersion());
+    }
+
+    @TestConfiguration
+    static class H2Migrations {
+
+        @Bean
+        FlywayConfigurationCustomizer h2MigrationResources() {
+            return configuration -> configuration.resourceProvider(new MigrationResources());
+        }
+    }
+
+    // Helper Methods
+
+    private static String lastMigrationVersion() {
+        return migrationScripts().stream()
+                .map(script -> script.getFilename().substring(1, script.getFilename().indexOf("__")))
+                .max((a, b) -> Integer.compare(Integer.parseInt(a), Integer.parseInt(b)))
+                .orElseThrow();
+    }
+
+    private static List<Resource> migrationScripts() {
+        try {
+            return Arrays.asList(new PathMatchingResourcePatternResolver().getResources("classpath:" + MIGRATIONS + "*.sql"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // The main migrations, each served from db/h2 instead when a script of the same name is there
+    private static final class MigrationResources implements ResourceProvider {
+
+        @Override
+        public LoadableResource getResource(String name) {
+            ClassPathResource resource = new ClassPathResource(MIGRATIONS + name);
+            return resource.exists() ? script(resource.getFilename()) : null;
+        }
+
+        @Override
+        public Collection<LoadableResource> getResources(String prefix, String[] suffixes) {
+            List<LoadableResource> scripts = new ArrayList<>();
+            for (Resource resource : migrationScripts()) {
+                String filename = resource.getFilename();
+                if (filename.startsWith(prefix) && Arrays.stream(suffixes).anyMatch(filename::endsWith)) {
+                    scripts.add(script(filename));
+                }
+            }
+            return scripts;
+        }
+
+        private LoadableResource script(String filename) {
+            ClassPathResource h2 = new ClassPathResource(H2_MIGRATIONS + filename);
+            ClassPathResource resource = h2.exists() ? h2 : new ClassPathResource(MIGRATIONS + filename);
+            return new LoadableResource() {
+                @Override
+                public Reader read() {
+                    try {
+                        return new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public String getAbsolutePath() {
+                    return resource.getPath();
+                }
+
+                @Override
+                public String getAbsolutePathOnDisk() {
+                    return resource.getPath();
+                }
+
+                @Override
+                public String getFilename() {
+                    return filename;
+                }
+
+                @Override
+                public String getRelativePath() {
+                    return filename;
+                }
+            };
+        }
+    }
+}
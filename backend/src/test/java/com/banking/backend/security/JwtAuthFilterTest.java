@@ -1,14 +1,20 @@
 package com.banking.backend.security;
 
+import com.banking.backend.config.OperationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import jakarta.servlet.ServletException;
 import java.io.IOException;
+import java.util.UUID;
 
 import static org.mockito.Mockito.*;
 
@@ -16,13 +22,18 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class JwtAuthFilterTest {
 
-    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
     private JwtAuthFilter jwtAuthFilter;
 
     @BeforeEach
     void setup() {
-        jwtUtil = mock(JwtUtil.class);
-        jwtAuthFilter = new JwtAuthFilter(jwtUtil);  // inject mock here
+        verifiedTokenCache = mock(VerifiedTokenCache.class);
+        jwtAuthFilter = new JwtAuthFilter(verifiedTokenCache, new OperationMetrics(new SimpleMeterRegistry()));  // inject mock here
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -34,15 +45,17 @@ class JwtAuthFilterTest {
         // Set valid Authorization header
         request.addHeader("Authorization", "Bearer valid.jwt.token");
 
-        // Mock JwtUtil behavior for valid token
-        when(jwtUtil.validateToken("valid.jwt.token")).thenReturn(true);
+        // Mock token verification for valid token
+        UUID userId = UUID.randomUUID();
+        when(verifiedTokenCache.verify("valid.jwt.token")).thenReturn(userId);
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
-        // Verify the filter chain proceeds
+        // Verify the filter chain proceeds as the token's user
         verify(filterChain).doFilter(request, response);
 
         assertEquals(200, response.getStatus());
+        assertEquals(userId, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
     }
 
     @Test
@@ -54,8 +67,8 @@ class JwtAuthFilterTest {
         // Set invalid Authorization header
         request.addHeader("Authorization", "Bearer invalid.jwt.token");
 
-        // Mock JwtUtil behavior for invalid token
-        when(jwtUtil.validateToken("invalid.jwt.token")).thenReturn(false);
+        // Mock token verification for invalid token
+        when(verifiedTokenCache.verify("invalid.jwt.token")).thenReturn(null);
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
@@ -64,4 +77,34 @@ class JwtAuthFilterTest {
 
         assertEquals(401, response.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void doFilter_internal_accessTokenParameter_authenticatesEventStream() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts/" + UUID.randomUUID() + "/stream");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = mock(MockFilterChain.class);
+        request.setParameter("access_token", "valid.jwt.token");
+
+        UUID userId = UUID.randomUUID();
+        when(verifiedTokenCache.verify("valid.jwt.token")).thenReturn(userId);
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertEquals(userId, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void doFilter_internal_accessTokenParameter_ignoredOutsideEventStreams() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = mock(MockFilterChain.class);
+        request.setParameter("access_token", "valid.jwt.token");
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(verifiedTokenCache);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
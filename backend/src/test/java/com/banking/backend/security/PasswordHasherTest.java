@@ -0,0 +1,63 @@
+package com.banking.backend.security;
+
+import com.banking.backend.config.OperationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHasherTest {
+
+    private final OperationMetrics operationMetrics = new OperationMetrics(new SimpleMeterRegistry());
+
+    @Test
+    void check_hashOfOtherScheme_matchesAndIsUpgraded() {
+        PasswordEncoder encoder = SecurityConfig.createPasswordEncoder(SecurityConfig.BCRYPT, 4);
+        String pbkdf2Hash = "{pbkdf2}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("secret");
+        ThreadPoolExecutor executor = newPool(1);
+        PasswordHasher hasher = new PasswordHasher(encoder, operationMetrics, executor);
+
+        PasswordHasher.PasswordCheck check = hasher.check("secret", pbkdf2Hash).join();
+
+        assertTrue(check.matches());
+        assertTrue(check.getUpgradedHash().startsWith("{bcrypt}$2a$04$"));
+        assertFalse(encoder.upgradeEncoding(check.getUpgradedHash()));
+        executor.shutdown();
+    }
+
+    @Test
+    void check_queueFull_failsRightAway() throws Exception {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        CountDownLatch release = new CountDownLatch(1);
+        when(encoder.matches(anyString(), anyString())).thenAnswer(i -> release.await(5, TimeUnit.SECONDS));
+        ThreadPoolExecutor executor = newPool(1);
+        PasswordHasher hasher = new PasswordHasher(encoder, operationMetrics, executor);
+
+        CompletableFuture<PasswordHasher.PasswordCheck> running = hasher.check("a", "hash");
+        CompletableFuture<PasswordHasher.PasswordCheck> queued = hasher.check("b", "hash");
+        CompletableFuture<PasswordHasher.PasswordCheck> rejected = hasher.check("c", "hash");
+
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        release.countDown();
+        assertTrue(running.join().matches());
+        assertTrue(queued.join().matches());
+        executor.shutdown();
+    }
+
+    // One thread and room for one waiting check
+    private static ThreadPoolExecutor newPool(int queueCapacity) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity));
+    }
+}
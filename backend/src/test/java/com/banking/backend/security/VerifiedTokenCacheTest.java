@@ -0,0 +1,80 @@
+package com.banking.backend.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    private JwtUtil jwtUtil;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setup() {
+        jwtUtil = spy(new JwtUtil());
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(jwtUtil, meterRegistry, 100);
+    }
+
+    @Test
+    void verify_validToken_parsesOnceAndServesRepeatsFromCache() {
+        UUID userId = UUID.randomUUID();
+        String token = jwtUtil.generateToken(userId);
+
+        assertEquals(userId, verifiedTokenCache.verify(token));
+        assertEquals(userId, verifiedTokenCache.verify(token));
+        assertEquals(userId, verifiedTokenCache.verify(token));
+
+        verify(jwtUtil, times(1)).parseVerifiedClaims(token);
+        assertEquals(2.0, meterRegistry.get("cache.gets")
+                .tags("cache", "verifiedTokens", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", "verifiedTokens", "result", "miss").functionCounter().count());
+        assertNotNull(meterRegistry.get("cache.evictions").tags("cache", "verifiedTokens").functionCounter());
+    }
+
+    @Test
+    void verify_forgedToken_returnsNullAndIsNotCached() {
+        String forged = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("another-256-bit-secret-another-256-bit".getBytes()),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        assertNull(verifiedTokenCache.verify(forged));
+        assertNull(verifiedTokenCache.verify(forged));
+
+        verify(jwtUtil, times(2)).parseVerifiedClaims(forged);
+    }
+
+    @Test
+    void verify_tamperedPayload_isRejectedEvenAfterOriginalWasCached() {
+        String token = jwtUtil.generateToken(UUID.randomUUID());
+        assertNotNull(verifiedTokenCache.verify(token));
+
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "x." + parts[2];
+
+        assertNull(verifiedTokenCache.verify(tampered));
+    }
+
+    @Test
+    void verify_missingToken_returnsNullWithoutParsing() {
+        assertNull(verifiedTokenCache.verify(null));
+        assertNull(verifiedTokenCache.verify(""));
+
+        verify(jwtUtil, never()).parseVerifiedClaims(anyString());
+    }
+}
@@ -0,0 +1,91 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.ATMDTO;
+import com.banking.backend.model.Account;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.User;
+import com.banking.backend.model.UserType;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.TransactionRepository;
+import com.banking.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * An employee raises an account's absolute limit and the debit statement admits
+ * withdrawals into the overdraft up to it, with the cached metadata following.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class AbsoluteLimitTest {
+
+    private static final String IBAN = "NL00OVER0000000001";
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = new User();
+        employee.setEmail("employee@example.com");
+        employee.setRole(UserType.EMPLOYEE);
+        employee = userRepository.save(employee);
+
+        accountRepository.save(createAccount(IBAN, "50.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void withdrawals_ShouldBeAdmittedDownToMinusTheAbsoluteLimit() {
+        // Warm the metadata cache so the update has something to evict
+        assertEquals(Money.ZERO, accountService.getAccountMetadataByIban(IBAN).orElseThrow().getAbsoluteLimit());
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createWithdrawal(withdrawal("80.00")));
+
+        Account account = accountRepository.findByIban(IBAN).orElseThrow();
+        accountService.updateAbsoluteLimit(account.getId(), Money.of("100.00"), employee.getId());
+
+        assertEquals(Money.of("100.00"), accountService.getAccountMetadataByIban(IBAN).orElseThrow().getAbsoluteLimit());
+        transactionService.createWithdrawal(withdrawal("140.00"));
+        assertEquals(Money.of("-90.00"), accountRepository.findByIban(IBAN).orElseThrow().getBalance());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> transactionService.createWithdrawal(withdrawal("10.01")));
+        assertEquals("Insufficient funds in account", exception.getMessage());
+        transactionService.createWithdrawal(withdrawal("10.00"));
+        assertEquals(Money.of("-100.00"), accountRepository.findByIban(IBAN).orElseThrow().getBalance());
+    }
+
+    private ATMDTO withdrawal(String amount) {
+        ATMDTO dto = new ATMDTO();
+        dto.setIBAN(IBAN);
+        dto.setAmount(Money.of(amount));
+        return dto;
+    }
+}
@@ -0,0 +1,65 @@
+package com.banking.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountEventBroadcasterTest {
+
+    private final List<Runnable> pendingDrains = new ArrayList<>();
+
+    // Drain tasks are collected and never run, as if the client stopped reading
+    private final Executor stalledExecutor = pendingDrains::add;
+
+    @Test
+    void subscriber_ThatFallsBehind_ShouldBeDropped() {
+        AccountEventBroadcaster broadcaster = new AccountEventBroadcaster(stalledExecutor, 3, Duration.ofMinutes(1));
+        UUID accountId = UUID.randomUUID();
+        broadcaster.subscribe(accountId);
+        UUID otherAccountId = UUID.randomUUID();
+        broadcaster.subscribe(otherAccountId);
+
+        // The subscribe comment and two heartbeats fill the buffers
+        broadcaster.heartbeat();
+        broadcaster.heartbeat();
+        assertEquals(1, broadcaster.subscriberCount(accountId));
+
+        broadcaster.heartbeat();
+
+        assertEquals(0, broadcaster.subscriberCount(accountId));
+        assertEquals(0, broadcaster.subscriberCount(otherAccountId));
+        // Publishing only ever scheduled one drain per subscriber
+        assertEquals(2, pendingDrains.size());
+    }
+
+    @Test
+    void subscriber_WhenDrainPoolIsFull_ShouldBeDropped() {
+        Executor fullExecutor = task -> {
+            throw new RejectedExecutionException("Queue full");
+        };
+        AccountEventBroadcaster broadcaster = new AccountEventBroadcaster(fullExecutor, 3, Duration.ofMinutes(1));
+        UUID accountId = UUID.randomUUID();
+
+        broadcaster.subscribe(accountId);
+
+        assertEquals(0, broadcaster.subscriberCount(accountId));
+        broadcaster.heartbeat();
+    }
+
+    @Test
+    void publishAfterCommit_WithoutSubscribers_ShouldNotBuildTheTransaction() {
+        AccountEventBroadcaster broadcaster = new AccountEventBroadcaster(stalledExecutor, 3, Duration.ofMinutes(1));
+        broadcaster.subscribe(UUID.randomUUID());
+
+        broadcaster.publishAfterCommit(UUID.randomUUID(), UUID.randomUUID(), () -> {
+            throw new AssertionError("Transaction built for an unwatched account");
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.banking.backend.service;
+
+import com.banking.backend.model.Account;
+import com.banking.backend.model.AccountMetadata;
+import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.User;
+import com.banking.backend.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountMetadataCacheTest {
+
+    private static final String IBAN = "NL01BANK0123456789";
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountMetadataCache cache;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AccountMetadataCache(accountRepository, meterRegistry, 100, Duration.ofMinutes(10));
+
+        User owner = new User();
+        owner.setId(UUID.randomUUID());
+        account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setIban(IBAN);
+        account.setUser(owner);
+        account.setTypeOfAccount(AccountType.CURRENT);
+        account.setAbsoluteLimit(Money.of("-100.00"));
+        account.setActive(true);
+        account.setBalance(Money.of("250.00"));
+    }
+
+    @Test
+    void findByIban_ShouldLoadOnceAndServeRepeatsFromCache() {
+        // Given
+        when(accountRepository.findByIban(IBAN)).thenReturn(Optional.of(account));
+
+        // When
+        AccountMetadata first = cache.findByIban(IBAN).orElseThrow();
+        AccountMetadata second = cache.findByIban(IBAN).orElseThrow();
+
+        // Then
+        assertSame(first, second);
+        assertEquals(account.getId(), first.getId());
+        assertEquals(account.getUser().getId(), first.getOwnerId());
+        assertEquals(AccountType.CURRENT, first.getTypeOfAccount());
+        assertEquals(Money.of("-100.00"), first.getAbsoluteLimit());
+        assertTrue(first.isActive());
+        verify(accountRepository, times(1)).findByIban(IBAN);
+    }
+
+    @Test
+    void findById_ShouldHitEntryLoadedByIban() {
+        // Given
+        when(accountRepository.findByIban(IBAN)).thenReturn(Optional.of(account));
+        cache.findByIban(IBAN);
+
+        // When
+        Optional<AccountMetadata> result = cache.findById(account.getId());
+
+        // Then
+        assertTrue(result.isPresent());
+        verify(accountRepository, never()).findById(any());
+    }
+
+    @Test
+    void findByIban_WhenUnknown_ShouldNotCacheAbsence() {
+        // Given
+        when(accountRepository.findByIban(IBAN)).thenReturn(Optional.empty(), Optional.of(account));
+
+        // When & Then
+        assertTrue(cache.findByIban(IBAN).isEmpty());
+        assertTrue(cache.findByIban(IBAN).isPresent());
+        verify(accountRepository, times(2)).findByIban(IBAN);
+    }
+
+    @Test
+    void evict_ShouldReloadChangedAccount() {
+        // Given
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        assertTrue(cache.findById(account.getId()).orElseThrow().isActive());
+
+        // When
+        account.setActive(false);
+        cache.evict(account);
+
+        // Then
+        assertFalse(cache.findById(account.getId()).orElseThrow().isActive());
+        verify(accountRepository, times(2)).findById(account.getId());
+    }
+
+    @Test
+    void lookups_ShouldBeExportedAsCacheMetrics() {
+        // Given
+        when(accountRepository.findByIban(IBAN)).thenReturn(Optional.of(account));
+
+        // When
+        cache.findByIban(IBAN);
+        cache.findByIban(IBAN);
+        cache.findByIban(IBAN);
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("cache.gets")
+                .tags("cache", "accountsByIban", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", "accountsByIban", "result", "miss").functionCounter().count());
+        assertNotNull(meterRegistry.get("cache.evictions").tags("cache", "accountsByIban").functionCounter());
+    }
+}
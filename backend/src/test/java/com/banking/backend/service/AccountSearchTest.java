@@ -0,0 +1,196 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.AccountSearchQuery;
+import com.banking.backend.dto.AccountSummaryDTO;
+import com.banking.backend.dto.OffsetPage;
+import com.banking.backend.model.Account;
+import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.User;
+import com.banking.backend.model.UserType;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lists accounts against the real database. Every query filters on the owner so rows left
+ * behind by other tests never show up.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class AccountSearchTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User employee;
+    private final List<User> owners = new ArrayList<>();
+    private final List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        employee = userRepository.save(newUser("Erin", "Employee", "erin@bank.example", UserType.EMPLOYEE));
+        User ann = userRepository.save(newUser("Ann", "Searchtest-Zed", "ann@searchtest.example", UserType.CUSTOMER));
+        User bob = userRepository.save(newUser("Bob", "Searchtest-Ash", "bob@searchtest.example", UserType.CUSTOMER));
+        User cy = userRepository.save(newUser("Cy", "Other", "cy_searchtest@example.com", UserType.CUSTOMER));
+        owners.addAll(List.of(employee, ann, bob, cy));
+
+        accounts.add(accountRepository.save(newAccount("NL00SRCH0000000001", ann, AccountType.CURRENT, "10.00", true)));
+        accounts.add(accountRepository.save(newAccount("NL00SRCH0000000002", ann, AccountType.SAVINGS, "2500.00", true)));
+        accounts.add(accountRepository.save(newAccount("NL00SRCH0000000003", bob, AccountType.CURRENT, "-40.00", true)));
+        accounts.add(accountRepository.save(newAccount("NL00SRCH0000000004", bob, AccountType.SAVINGS, "700.00", false)));
+        accounts.add(accountRepository.save(newAccount("NL00SRCH0000000005", bob, AccountType.SAVINGS, "900.00", true)));
+        accounts.add(accountRepository.save(newAccount("NL00SRCH0000000006", cy, AccountType.CURRENT, "55.55", true)));
+        accounts.add(accountRepository.save(newAccount("NL00SRCH0000000007", cy, AccountType.SAVINGS, "0.00", true)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll(accounts);
+        userRepository.deleteAll(owners);
+        accounts.clear();
+        owners.clear();
+    }
+
+    @Test
+    void searchAccounts_ShouldVisitEveryRowOnceInOrder() {
+        List<String> seen = new ArrayList<>();
+        int page = 0;
+        OffsetPage<AccountSummaryDTO> result;
+        do {
+            result = accountService.searchAccounts(query(page, 3, "balance,desc", null, null, "searchtest", null, null, true),
+                    employee.getId());
+            assertEquals(7L, result.getTotal());
+            result.getItems().forEach(account -> seen.add(account.getIban()));
+            page++;
+        } while (result.hasNext());
+
+        assertEquals(3, page);
+        List<String> expected = accounts.stream()
+                .sorted(Comparator.comparing((Account account) -> account.getBalance().getMinorUnits()).reversed())
+                .map(Account::getIban)
+                .toList();
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void searchAccounts_ShouldCountOnlyWhenPageCannotTell() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        accountService.searchAccounts(query(0, 3, null, null, null, "searchtest", null, null, true), employee.getId());
+        // Employee lookup, page and count
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        OffsetPage<AccountSummaryDTO> last = accountService.searchAccounts(
+                query(2, 3, null, null, null, "searchtest", null, null, true), employee.getId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(7L, last.getTotal());
+
+        statistics.clear();
+        OffsetPage<AccountSummaryDTO> uncounted = accountService.searchAccounts(
+                query(0, 3, null, null, null, "searchtest", null, null, false), employee.getId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertNull(uncounted.getTotal());
+        assertTrue(uncounted.hasNext());
+    }
+
+    @Test
+    void searchAccounts_WithFilters_ShouldReturnMatchingAccounts() {
+        assertEquals(List.of("NL00SRCH0000000002", "NL00SRCH0000000005"),
+                ibans(query(0, 50, null, AccountType.SAVINGS, true, "searchtest", Money.of("100.00"), Money.of("2500.00"), true)));
+        assertEquals(List.of("NL00SRCH0000000003", "NL00SRCH0000000004", "NL00SRCH0000000005"),
+                ibans(query(0, 50, null, null, null, "BOB SEARCHTEST", null, null, true)));
+        assertEquals(List.of("NL00SRCH0000000006", "NL00SRCH0000000007"),
+                ibans(query(0, 50, null, null, null, "cy_search", null, null, true)));
+        // Wildcards in the owner are matched literally: "_" would otherwise match the "@" in ann@searchtest
+        assertEquals(List.of(), ibans(query(0, 50, null, null, null, "n_searchtest", null, null, true)));
+    }
+
+    @Test
+    void searchAccounts_SortedByOwner_ShouldIncludeOwnerDetails() {
+        OffsetPage<AccountSummaryDTO> result = accountService.searchAccounts(
+                query(0, 50, "owner", AccountType.CURRENT, null, "searchtest", null, null, true), employee.getId());
+
+        assertEquals(List.of("Other", "Searchtest-Ash", "Searchtest-Zed"),
+                result.getItems().stream().map(AccountSummaryDTO::getOwnerLastName).toList());
+        AccountSummaryDTO first = result.getItems().get(0);
+        assertEquals("Cy", first.getOwnerFirstName());
+        assertEquals("cy_searchtest@example.com", first.getOwnerEmail());
+        assertEquals(Money.of("55.55"), first.getBalance());
+        assertEquals("CURRENT", first.getTypeOfAccount());
+    }
+
+    @Test
+    void searchAccounts_NotEmployee_ShouldThrowAccessDenied() {
+        assertThrows(AccessDeniedException.class,
+                () -> accountService.searchAccounts(AccountSearchQuery.firstPage(), owners.get(1).getId()));
+    }
+
+    @Test
+    void accountSearchQuery_WithInvalidArguments_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> query(-1, 50, null, null, null, null, null, null, true));
+        assertThrows(IllegalArgumentException.class, () -> query(0, 501, null, null, null, null, null, null, true));
+        assertThrows(IllegalArgumentException.class, () -> query(0, 50, "balance,sideways", null, null, null, null, null, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> query(0, 50, null, null, null, null, Money.of("10.00"), Money.of("5.00"), true));
+    }
+
+    // Helper Methods
+
+    private AccountSearchQuery query(int page, int size, String sort, AccountType type, Boolean active, String owner,
+                                     Money minBalance, Money maxBalance, boolean includeTotal) {
+        return new AccountSearchQuery(page, size, sort, type, active, owner, minBalance, maxBalance, includeTotal);
+    }
+
+    private List<String> ibans(AccountSearchQuery query) {
+        return accountService.searchAccounts(query, employee.getId()).getItems().stream()
+                .map(AccountSummaryDTO::getIban)
+                .toList();
+    }
+
+    private User newUser(String firstName, String lastName, String email, UserType role) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        user.setRole(role);
+        return user;
+    }
+
+    private Account newAccount(String iban, User owner, AccountType type, String balance, boolean active) {
+        Account account = createAccount(iban, balance, owner);
+        account.setTypeOfAccount(type);
+        account.setDateOfOpening(LocalDate.of(2024, 1, 1));
+        account.setActive(active);
+        return account;
+    }
+}
@@ -1,16 +1,22 @@
 package com.banking.backend.service;
 
 import com.banking.backend.model.Account;
+import com.banking.backend.model.AccountMetadata;
+import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
 import com.banking.backend.model.User;
+import com.banking.backend.model.UserType;
 import com.banking.backend.repository.AccountRepository;
 import com.banking.backend.repository.UserRepository;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
 
 import java.util.Arrays;
 import java.util.List;
@@ -19,6 +25,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -31,6 +38,12 @@ class AccountServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AccountMetadataCache accountMetadataCache;
+
+    @Mock
+    private IbanAllocator ibanAllocator;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -53,7 +66,7 @@ class AccountServiceTest {
         testAccount = new Account();
         testAccount.setId(testAccountId);
         testAccount.setUser(testUser);
-        testAccount.setBalance(1000.0);
+        testAccount.setBalance(Money.of("1000.0"));
     }
 
     @Test
@@ -70,6 +83,7 @@ class AccountServiceTest {
         assertEquals(testAccount.getUser().getId(), result.getUser().getId());
         assertEquals(testAccount.getBalance(), result.getBalance());
         verify(accountRepository, times(1)).save(testAccount);
+        verify(accountMetadataCache).evict(testAccount);
     }
 
     @Test
@@ -90,7 +104,7 @@ void getAccountsByUserId_WhenUserHasAccounts_ShouldReturnAccountList() {
     Account secondAccount = new Account();
     secondAccount.setId(UUID.randomUUID());
     secondAccount.setUser(testUser);
-    secondAccount.setBalance(500.0);
+    secondAccount.setBalance(Money.of("500.0"));
 
     List<Account> userAccounts = Arrays.asList(testAccount, secondAccount);
     when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
@@ -165,4 +179,135 @@ void getAccountsByUser_WhenUserHasNoAccounts_ShouldReturnEmptyList() {
         assertNull(result);
         verify(accountRepository, times(1)).findById(null);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deactivateAccount_ShouldEvictCachedMetadata() {
+        // Given
+        when(accountRepository.deactivate(testAccountId)).thenReturn(1);
+        when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
+
+        // When
+        accountService.deactivateAccount(testAccountId);
+
+        // Then
+        InOrder inOrder = inOrder(accountRepository, accountMetadataCache);
+        inOrder.verify(accountRepository).deactivate(testAccountId);
+        inOrder.verify(accountMetadataCache).evict(testAccount);
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    void deactivateAccount_WhenUnknown_ShouldThrowException() {
+        // Given
+        when(accountRepository.deactivate(testAccountId)).thenReturn(0);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> accountService.deactivateAccount(testAccountId));
+        assertEquals("Account not found", exception.getMessage());
+        verifyNoInteractions(accountMetadataCache);
+    }
+
+    @Test
+    void getUserIdByIban_ShouldResolveOwnerFromCache() {
+        // Given
+        testAccount.setIban("NL01BANK0123456789");
+        when(accountMetadataCache.findByIban("NL01BANK0123456789"))
+                .thenReturn(Optional.of(AccountMetadata.of(testAccount)));
+
+        // When
+        UUID result = accountService.getUserIdByIban("NL01BANK0123456789");
+
+        // Then
+        assertEquals(testUserId, result);
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void getUserIdByIban_WhenUnknown_ShouldThrowException() {
+        // Given
+        when(accountMetadataCache.findByIban("NL00UNKNOWN")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> accountService.getUserIdByIban("NL00UNKNOWN"));
+    }
+
+    @Test
+    void updateAbsoluteLimit_ByEmployee_ShouldUpdateInOneStatementAndEvictMetadata() {
+        // Given
+        User employee = new User();
+        employee.setId(UUID.randomUUID());
+        employee.setRole(UserType.EMPLOYEE);
+        when(userRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
+        when(accountRepository.updateAbsoluteLimit(testAccountId, 25000L)).thenReturn(1);
+        testAccount.setAbsoluteLimit(Money.of("250.00"));
+        when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
+
+        // When
+        Account result = accountService.updateAbsoluteLimit(testAccountId, Money.of("250.00"), employee.getId());
+
+        // Then
+        assertEquals(Money.of("250.00"), result.getAbsoluteLimit());
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountMetadataCache).evict(testAccount);
+    }
+
+    @Test
+    void updateAbsoluteLimit_ByCustomer_ShouldThrowAccessDenied() {
+        // Given
+        testUser.setRole(UserType.CUSTOMER);
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+
+        // When & Then
+        assertThrows(AccessDeniedException.class,
+                () -> accountService.updateAbsoluteLimit(testAccountId, Money.of("250.00"), testUserId));
+        verify(accountRepository, never()).updateAbsoluteLimit(any(), anyLong());
+        verifyNoInteractions(accountMetadataCache);
+    }
+
+    @Test
+    void updateAbsoluteLimit_WithNegativeLimit_ShouldThrowException() {
+        // Given
+        User employee = new User();
+        employee.setId(UUID.randomUUID());
+        employee.setRole(UserType.EMPLOYEE);
+        when(userRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> accountService.updateAbsoluteLimit(testAccountId, Money.of("-1.00"), employee.getId()));
+        assertEquals("Absolute limit must not be negative", exception.getMessage());
+    }
+
+    @Test
+    void updateAbsoluteLimit_WhenAccountDoesNotExist_ShouldThrowException() {
+        // Given
+        User employee = new User();
+        employee.setId(UUID.randomUUID());
+        employee.setRole(UserType.EMPLOYEE);
+        when(userRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
+        when(accountRepository.updateAbsoluteLimit(testAccountId, 0L)).thenReturn(0);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> accountService.updateAbsoluteLimit(testAccountId, Money.ZERO, employee.getId()));
+        assertEquals("Account not found", exception.getMessage());
+        verifyNoInteractions(accountMetadataCache);
+    }
+
+    @Test
+    void createAccountByRequest_ShouldUseAllocatedIban() {
+        when(userRepository.findByEmail("testuser@example.com")).thenReturn(Optional.of(testUser));
+        when(ibanAllocator.nextIban()).thenReturn("NL06BANK0000000001");
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Account account = new Account();
+        account.setTypeOfAccount(AccountType.SAVINGS);
+        Account created = accountService.createAccountByRequest(account, "testuser@example.com");
+
+        assertEquals("NL06BANK0000000001", created.getIban());
+        assertEquals(testUser, created.getUser());
+        assertTrue(created.isActive());
+        verify(accountMetadataCache).evict(created);
+    }
+}
@@ -1,18 +1,30 @@
 package com.banking.backend.service;
 
+import com.banking.backend.config.OperationMetrics;
 import com.banking.backend.model.User;
 import com.banking.backend.repository.UserRepository;
 import com.banking.backend.security.JwtUtil;
+import com.banking.backend.security.PasswordHasher;
+import com.banking.backend.security.SecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class AuthServiceTest {
@@ -20,14 +32,29 @@ class AuthServiceTest {
     private UserRepository userRepository;
     private PasswordEncoder passwordEncoder;
     private JwtUtil jwtUtil;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService hashingExecutor;
+    private ExecutorService taskExecutor;
     private AuthService authService;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
-        passwordEncoder = new BCryptPasswordEncoder();
+        passwordEncoder = SecurityConfig.createPasswordEncoder(SecurityConfig.BCRYPT, 10);
         jwtUtil = mock(JwtUtil.class);
-        authService = new AuthService(userRepository, passwordEncoder, jwtUtil);
+        meterRegistry = new SimpleMeterRegistry();
+        hashingExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "password-hashing"));
+        taskExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "task"));
+        OperationMetrics operationMetrics = new OperationMetrics(meterRegistry);
+        authService = new AuthService(userRepository,
+                new PasswordHasher(passwordEncoder, operationMetrics, hashingExecutor), jwtUtil, operationMetrics,
+                taskExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdownNow();
+        taskExecutor.shutdownNow();
     }
 
     @Test
@@ -43,10 +70,12 @@ class AuthServiceTest {
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
         when(jwtUtil.generateToken(user.getId())).thenReturn("valid.jwt.token");
 
-        String token = authService.login("test@example.com", rawPassword);
+        String token = authService.login("test@example.com", rawPassword).join();
 
         assertNotNull(token);
         assertEquals("valid.jwt.token", token);
+        // Current hash, nothing to upgrade
+        verify(userRepository, never()).updatePasswordHash(any(), anyString(), anyString());
     }
 
     @Test
@@ -57,21 +86,78 @@ class AuthServiceTest {
 
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            authService.login("test@example.com", "wrongPassword");
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            authService.login("test@example.com", "wrongPassword").join();
         });
 
-        assertEquals("Invalid email or password", exception.getMessage());
+        assertEquals("Invalid email or password", exception.getCause().getMessage());
+        assertEquals(1, meterRegistry.get(OperationMetrics.LOGIN)
+                .tag("outcome", "failure").tag("exception", "RuntimeException").timer().count());
+        assertEquals(1, meterRegistry.get(OperationMetrics.PASSWORD_CHECK).tag("outcome", "success").timer().count());
+        verify(userRepository, never()).updatePasswordHash(any(), anyString(), anyString());
     }
 
     @Test
     void login_withNonExistentUser_throwsException() {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            authService.login("nonexistent@example.com", "anyPassword");
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            authService.login("nonexistent@example.com", "anyPassword").join();
         });
 
-        assertEquals("Invalid email or password", exception.getMessage());
+        assertEquals("Invalid email or password", exception.getCause().getMessage());
+    }
+
+    @Test
+    void login_withOutdatedHash_storesUpgradedHash() {
+        // Stored before the delegating encoder: no {id} prefix and a lower cost
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setPassword(legacyHash);
+
+        when(userRepository.findByEmail("legacy@example.com")).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(user.getId())).thenReturn("valid.jwt.token");
+
+        assertEquals("valid.jwt.token", authService.login("legacy@example.com", "password123").join());
+
+        verify(userRepository).updatePasswordHash(eq(user.getId()), eq(legacyHash), argThat(newHash ->
+                newHash.startsWith("{bcrypt}$2a$10$") && passwordEncoder.matches("password123", newHash)));
+    }
+
+    @Test
+    void login_whenUpgradeFails_stillReturnsToken() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+
+        when(userRepository.findByEmail("legacy@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.updatePasswordHash(any(), anyString(), anyString()))
+                .thenThrow(new IllegalStateException("database down"));
+        when(jwtUtil.generateToken(user.getId())).thenReturn("valid.jwt.token");
+
+        assertEquals("valid.jwt.token", authService.login("legacy@example.com", "password123").join());
+    }
+
+    @Test
+    void login_withOutdatedHash_storesHashAndIssuesTokenOffTheHashingPool() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        when(userRepository.findByEmail("legacy@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.updatePasswordHash(any(), anyString(), anyString())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return 1;
+        });
+        when(jwtUtil.generateToken(user.getId())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return "valid.jwt.token";
+        });
+
+        assertEquals("valid.jwt.token", authService.login("legacy@example.com", "password123").join());
+
+        assertEquals(List.of("task", "task"), threads);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,172 @@
+package com.banking.backend.service;
+
+import com.banking.backend.model.Account;
+import com.banking.backend.model.AccountBalanceSnapshot;
+import com.banking.backend.model.BalanceSnapshotCheckpoint;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.Transaction;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.repository.AccountBalanceSnapshotRepository;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.BalanceSnapshotCheckpointRepository;
+import com.banking.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createTransaction;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Snapshots a few days of history from the real schema and checks historical balances against
+ * a replay of the same transactions.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class BalanceSnapshotServiceTest {
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private AccountBalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private BalanceSnapshotCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Account account;
+    private Account other;
+    private final List<Transaction> history = new ArrayList<>();
+    private final LocalDate firstDay = LocalDate.now().minusDays(6);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(balanceSnapshotService, "settleDelay", Duration.ZERO);
+        clearSnapshots();
+        account = accountRepository.save(createAccount("NL00SNAP0000000001", "0.00"));
+        other = accountRepository.save(createAccount("NL00SNAP0000000002", "0.00"));
+
+        // Deposits, transfers both ways and a withdrawal over four of the last six days, none on day 2
+        history.add(createTransaction(account, account, 100_00, TransactionType.DEPOSIT, firstDay.atTime(9, 0)));
+        history.add(createTransaction(other, other, 50_00, TransactionType.DEPOSIT, firstDay.atTime(10, 0)));
+        history.add(createTransaction(account, other, 30_00, TransactionType.TRANSFER, firstDay.plusDays(1).atTime(12, 0)));
+        history.add(createTransaction(other, account, 5_00, TransactionType.TRANSFER, firstDay.plusDays(3).atTime(0, 0)));
+        history.add(createTransaction(account, account, -20_00, TransactionType.WITHDRAWAL, firstDay.plusDays(3).atTime(23, 59)));
+        history.add(createTransaction(account, other, 1_50, TransactionType.TRANSFER, firstDay.plusDays(5).atTime(8, 30)));
+        // Today, not part of any snapshot yet
+        history.add(createTransaction(other, account, 2_25, TransactionType.TRANSFER, LocalDate.now().atStartOfDay()));
+        transactionRepository.saveAll(history);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(balanceSnapshotService, "settleDelay", Duration.ofMinutes(5));
+        clearSnapshots();
+        transactionRepository.deleteAll(history);
+        accountRepository.deleteAll(List.of(account, other));
+        history.clear();
+    }
+
+    @Test
+    void snapshotClosedDays_ShouldSnapshotUpToYesterdayOnlyOnce() {
+        int days = balanceSnapshotService.snapshotClosedDays();
+
+        assertTrue(days >= 6, "days " + days);
+        assertEquals(LocalDate.now().minusDays(1),
+                checkpointRepository.findById(BalanceSnapshotCheckpoint.ID).orElseThrow().getSnapshotThrough());
+        // Only days with transactions have a snapshot
+        List<AccountBalanceSnapshot> snapshots = snapshotRepository.findAll().stream()
+                .filter(snapshot -> snapshot.getAccountId().equals(account.getId()))
+                .sorted((a, b) -> a.getSnapshotDate().compareTo(b.getSnapshotDate()))
+                .toList();
+        assertEquals(List.of(firstDay, firstDay.plusDays(1), firstDay.plusDays(3), firstDay.plusDays(5)),
+                snapshots.stream().map(AccountBalanceSnapshot::getSnapshotDate).toList());
+        assertEquals(List.of(100_00L, 70_00L, 55_00L, 53_50L),
+                snapshots.stream().map(snapshot -> snapshot.getBalance().getMinorUnits()).toList());
+
+        assertEquals(0, balanceSnapshotService.snapshotClosedDays());
+    }
+
+    @Test
+    void getBalanceAt_ShouldMatchReplayWithAndWithoutSnapshots() {
+        List<LocalDateTime> moments = moments();
+        for (LocalDateTime at : moments) {
+            assertEquals(replay(account, at), balanceSnapshotService.getBalanceAt(account.getId(), at).getMinorUnits(),
+                    "before snapshots, at " + at);
+        }
+
+        balanceSnapshotService.snapshotClosedDays();
+
+        for (LocalDateTime at : moments) {
+            assertEquals(replay(account, at), balanceSnapshotService.getBalanceAt(account.getId(), at).getMinorUnits(),
+                    "account at " + at);
+            assertEquals(replay(other, at), balanceSnapshotService.getBalanceAt(other.getId(), at).getMinorUnits(),
+                    "other at " + at);
+        }
+        assertEquals(55_75L, balanceSnapshotService.getBalanceAt(account.getId(), LocalDateTime.now().plusMinutes(1))
+                .getMinorUnits());
+    }
+
+    @Test
+    void getBalanceAt_BeforeFirstTransaction_ShouldBeZero() {
+        balanceSnapshotService.snapshotClosedDays();
+
+        assertEquals(Money.ZERO, balanceSnapshotService.getBalanceAt(account.getId(), firstDay.minusDays(30).atStartOfDay()));
+    }
+
+    // Helper Methods
+
+    // Every day's start, each transaction's time and the moment just after it
+    private List<LocalDateTime> moments() {
+        List<LocalDateTime> moments = new ArrayList<>();
+        for (LocalDate day = firstDay.minusDays(1); !day.isAfter(LocalDate.now().plusDays(1)); day = day.plusDays(1)) {
+            moments.add(day.atStartOfDay());
+            moments.add(day.atTime(12, 0));
+        }
+        for (Transaction transaction : history) {
+            moments.add(transaction.getDateOfExecution());
+            moments.add(transaction.getDateOfExecution().plusNanos(1_000));
+        }
+        return moments;
+    }
+
+    // The balance the history adds up to before at
+    private long replay(Account target, LocalDateTime at) {
+        long balance = 0;
+        for (Transaction transaction : history) {
+            if (!transaction.getDateOfExecution().isBefore(at)) {
+                continue;
+            }
+            long amount = transaction.getAmount().getMinorUnits();
+            if (transaction.getToAccount().equals(target)) {
+                balance += amount;
+            }
+            if (transaction.getFromAccount().equals(target) && !transaction.getToAccount().equals(target)) {
+                balance -= amount;
+            }
+        }
+        return balance;
+    }
+
+    private void clearSnapshots() {
+        checkpointRepository.deleteAll();
+        snapshotRepository.deleteAll();
+    }
+}
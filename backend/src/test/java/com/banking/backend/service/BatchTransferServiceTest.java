@@ -0,0 +1,265 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.BatchTransferItemDTO;
+import com.banking.backend.dto.BatchTransferResultDTO;
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.User;
+import com.banking.backend.model.UserType;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.TransactionRepository;
+import com.banking.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createTransferEntry;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs transfer batches against the real schema: net balances, per-entry results in both
+ * modes, and the number of statements Hibernate sends for a large batch.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class BatchTransferServiceTest {
+
+    private static final String EMPLOYER = "NL00BTCH0000000000";
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SpendingLimits spendingLimits;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setEmail("payroll@example.com");
+        owner.setRole(UserType.CUSTOMER);
+        owner = userRepository.save(owner);
+        accountRepository.save(createAccount(EMPLOYER, "1000.00", owner));
+        for (int i = 1; i <= 3; i++) {
+            accountRepository.save(createAccount(employee(i), "0.00", null));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(batchTransferService, "lockingMode", TransferLockingMode.PESSIMISTIC);
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        userRepository.deleteAll();
+        spendingLimits.rebuild();
+    }
+
+    @ParameterizedTest
+    @EnumSource(TransferLockingMode.class)
+    void bestEffort_ShouldExecuteValidEntriesAndReportTheOthers(TransferLockingMode lockingMode) {
+        ReflectionTestUtils.setField(batchTransferService, "lockingMode", lockingMode);
+        List<TransactionDTO> batch = List.of(
+                createTransferEntry(EMPLOYER, employee(1), "300.00"),
+                createTransferEntry(EMPLOYER, "NL00BTCH9999999999", "10.00"),
+                createTransferEntry(EMPLOYER, employee(2), "900.00"),
+                createTransferEntry(EMPLOYER, employee(3), "200.00"));
+
+        BatchTransferResultDTO result = batchTransferService.makeTransactions(batch, BatchTransferMode.BEST_EFFORT);
+
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getRejected());
+        assertStatuses(result, BatchTransferItemDTO.CREATED, BatchTransferItemDTO.REJECTED,
+                BatchTransferItemDTO.REJECTED, BatchTransferItemDTO.CREATED);
+        assertEquals("Destination account not found", result.getItems().get(1).getError());
+        assertEquals("Insufficient funds in account", result.getItems().get(2).getError());
+        assertNotNull(result.getItems().get(0).getTransaction().getId());
+        assertEquals(employee(1), result.getItems().get(0).getTransaction().getToIban());
+
+        assertEquals(Money.of("500.00"), balanceOf(EMPLOYER));
+        assertEquals(Money.of("300.00"), balanceOf(employee(1)));
+        assertEquals(Money.ZERO, balanceOf(employee(2)));
+        assertEquals(Money.of("200.00"), balanceOf(employee(3)));
+        assertEquals(2, transactionRepository.count());
+    }
+
+    @Test
+    void allOrNothing_WithOneRejectedEntry_ShouldExecuteNothing() {
+        List<TransactionDTO> batch = List.of(
+                createTransferEntry(EMPLOYER, employee(1), "300.00"),
+                createTransferEntry(EMPLOYER, employee(1), "0.00"));
+
+        BatchTransferResultDTO result = batchTransferService.makeTransactions(batch, BatchTransferMode.ALL_OR_NOTHING);
+
+        assertEquals(0, result.getCreated());
+        assertEquals(1, result.getRejected());
+        assertStatuses(result, BatchTransferItemDTO.NOT_EXECUTED, BatchTransferItemDTO.REJECTED);
+        assertEquals("Transaction amount must be greater than zero", result.getItems().get(1).getError());
+        assertEquals(Money.of("1000.00"), balanceOf(EMPLOYER));
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void entriesNotTypedAsTransfer_ShouldBeRejected() {
+        TransactionDTO deposit = createTransferEntry(EMPLOYER, employee(1), "100.00");
+        deposit.setTypeOfTransaction("DEPOSIT");
+        TransactionDTO unknown = createTransferEntry(EMPLOYER, employee(1), "100.00");
+        unknown.setTypeOfTransaction("GIFT");
+        TransactionDTO untyped = createTransferEntry(EMPLOYER, employee(1), "100.00");
+        untyped.setTypeOfTransaction(null);
+
+        BatchTransferResultDTO result = batchTransferService.makeTransactions(List.of(deposit, unknown, untyped),
+                BatchTransferMode.BEST_EFFORT);
+
+        assertStatuses(result, BatchTransferItemDTO.REJECTED, BatchTransferItemDTO.REJECTED, BatchTransferItemDTO.CREATED);
+        assertEquals("Batch entries must be transfers", result.getItems().get(0).getError());
+        assertEquals("Invalid transaction type", result.getItems().get(1).getError());
+        assertEquals("TRANSFER", result.getItems().get(2).getTransaction().getTypeOfTransaction());
+    }
+
+    @Test
+    void entries_ShouldBeCheckedAgainstRunningBalances() {
+        // employee 1 can only pay employee 2 with the money received earlier in the same batch
+        List<TransactionDTO> batch = List.of(
+                createTransferEntry(EMPLOYER, employee(1), "400.00"),
+                createTransferEntry(employee(1), employee(2), "250.00"),
+                createTransferEntry(employee(1), employee(3), "200.00"));
+
+        BatchTransferResultDTO result = batchTransferService.makeTransactions(batch, BatchTransferMode.BEST_EFFORT);
+
+        assertStatuses(result, BatchTransferItemDTO.CREATED, BatchTransferItemDTO.CREATED,
+                BatchTransferItemDTO.REJECTED);
+        assertEquals(Money.of("600.00"), balanceOf(EMPLOYER));
+        assertEquals(Money.of("150.00"), balanceOf(employee(1)));
+        assertEquals(Money.of("250.00"), balanceOf(employee(2)));
+    }
+
+    @Test
+    void performingUser_ShouldHaveToOwnTheSourceAccount() {
+        User stranger = new User();
+        stranger.setEmail("stranger@example.com");
+        stranger.setRole(UserType.CUSTOMER);
+        stranger = userRepository.save(stranger);
+        TransactionDTO byOwner = createTransferEntry(EMPLOYER, employee(1), "10.00");
+        byOwner.setPerformingUserId(owner.getId());
+        TransactionDTO byStranger = createTransferEntry(EMPLOYER, employee(1), "10.00");
+        byStranger.setPerformingUserId(stranger.getId());
+        TransactionDTO byNobody = createTransferEntry(EMPLOYER, employee(1), "10.00");
+        byNobody.setPerformingUserId(UUID.randomUUID());
+
+        BatchTransferResultDTO result = batchTransferService.makeTransactions(
+                List.of(byOwner, byStranger, byNobody), BatchTransferMode.BEST_EFFORT);
+
+        assertStatuses(result, BatchTransferItemDTO.CREATED, BatchTransferItemDTO.REJECTED,
+                BatchTransferItemDTO.REJECTED);
+        assertEquals(owner.getId(), result.getItems().get(0).getTransaction().getPerformingUserId());
+        assertEquals("Provide a valid IBAN", result.getItems().get(1).getError());
+        assertEquals("Performing user not found", result.getItems().get(2).getError());
+    }
+
+    @Test
+    void entries_ShouldCountAgainstTheOwnersDayLimit() {
+        owner.setDayLimit(Money.of("500.00"));
+        userRepository.save(owner);
+        List<TransactionDTO> batch = List.of(
+                createTransferEntry(EMPLOYER, employee(1), "300.00"),
+                createTransferEntry(EMPLOYER, employee(2), "300.00"),
+                createTransferEntry(EMPLOYER, employee(3), "200.00"));
+
+        BatchTransferResultDTO allOrNothing = batchTransferService.makeTransactions(batch, BatchTransferMode.ALL_OR_NOTHING);
+
+        assertEquals("Daily limit exceeded", allOrNothing.getItems().get(1).getError());
+        // The rolled back batch gives its reservations back
+        assertEquals(0, spendingLimits.spentToday(owner.getId()));
+
+        BatchTransferResultDTO bestEffort = batchTransferService.makeTransactions(batch, BatchTransferMode.BEST_EFFORT);
+
+        assertStatuses(bestEffort, BatchTransferItemDTO.CREATED, BatchTransferItemDTO.REJECTED,
+                BatchTransferItemDTO.CREATED);
+        assertEquals(50000, spendingLimits.spentToday(owner.getId()));
+    }
+
+    @Test
+    void largeBatch_ShouldNotLoadEntitiesOrPrepareAStatementPerEntry() {
+        List<TransactionDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 240; i++) {
+            batch.add(createTransferEntry(EMPLOYER, employee(1 + i % 3), "1.00"));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BatchTransferResultDTO result = batchTransferService.makeTransactions(batch, BatchTransferMode.ALL_OR_NOTHING);
+
+        assertEquals(240, result.getCreated());
+        assertEquals(0, statistics.getEntityLoadCount());
+        // The account query plus one insert statement per JDBC batch of 50
+        assertTrue(statistics.getPrepareStatementCount() <= 1 + 5,
+                "prepared " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(Money.of("760.00"), balanceOf(EMPLOYER));
+        assertEquals(Money.of("80.00"), balanceOf(employee(1)));
+        assertEquals(240, transactionRepository.count());
+    }
+
+    @Test
+    void emptyOrOversizedBatch_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> batchTransferService.makeTransactions(Collections.emptyList(), BatchTransferMode.BEST_EFFORT));
+
+        ReflectionTestUtils.setField(batchTransferService, "maxBatchSize", 1);
+        try {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> batchTransferService.makeTransactions(List.of(
+                            createTransferEntry(EMPLOYER, employee(1), "1.00"),
+                            createTransferEntry(EMPLOYER, employee(2), "1.00")), BatchTransferMode.BEST_EFFORT));
+            assertEquals("Batch must not contain more than 1 transactions", exception.getMessage());
+        } finally {
+            ReflectionTestUtils.setField(batchTransferService, "maxBatchSize", 5000);
+        }
+    }
+
+    // Helper Methods
+
+    private static String employee(int i) {
+        return String.format("NL00BTCH%010d", i);
+    }
+
+    private Money balanceOf(String iban) {
+        return accountRepository.findByIban(iban).orElseThrow().getBalance();
+    }
+
+    private void assertStatuses(BatchTransferResultDTO result, String... expected) {
+        assertEquals(expected.length, result.getItems().size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(i, result.getItems().get(i).getIndex());
+            assertEquals(expected[i], result.getItems().get(i).getStatus(), "entry " + i);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.ATMDTO;
+import com.banking.backend.model.Account;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.Transaction;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.model.User;
+import com.banking.backend.model.UserType;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.TransactionRepository;
+import com.banking.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createTransfer;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Day limits across the transfer and ATM paths against the real schema, including
+ * rebuilding the counters from the aggregate query.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class DailyLimitTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SpendingLimits spendingLimits;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private Account current;
+    private Account payee;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setEmail("limits@example.com");
+        owner.setRole(UserType.CUSTOMER);
+        owner.setDayLimit(Money.of("100.00"));
+        owner = userRepository.save(owner);
+        current = accountRepository.save(createAccount("NL00LIMT0000000001", "500.00", owner));
+        payee = accountRepository.save(createAccount("NL00LIMT0000000002", "500.00", null));
+        spendingLimits.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        userRepository.deleteAll();
+        spendingLimits.rebuild();
+    }
+
+    @Test
+    void transfersAndWithdrawals_ShouldShareTheDayLimit() {
+        transactionService.makeTransaction(createTransfer(current, payee, "60.00"));
+
+        ATMDTO withdrawal = new ATMDTO();
+        withdrawal.setIBAN(current.getIban());
+        withdrawal.setAmount(Money.of("30.00"));
+        transactionService.createWithdrawal(withdrawal);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> transactionService.makeTransaction(createTransfer(current, payee, "20.00")));
+        assertEquals("Daily limit exceeded", exception.getMessage());
+        assertEquals(Money.of("410.00"), accountRepository.findByIban(current.getIban()).orElseThrow().getBalance());
+
+        // The aggregate query sees the same 90.00, withdrawals are stored negative
+        spendingLimits.rebuild();
+        assertEquals(9000, spendingLimits.spentToday(owner.getId()));
+    }
+
+    @Test
+    void transferRejectedForFunds_ShouldNotCountAgainstTheLimit() {
+        current.setBalance(Money.of("50.00"));
+        current = accountRepository.save(current);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> transactionService.makeTransaction(createTransfer(current, payee, "90.00")));
+
+        assertEquals("Insufficient funds in account", exception.getMessage());
+        assertEquals(0, spendingLimits.spentToday(owner.getId()));
+        transactionService.makeTransaction(createTransfer(current, payee, "40.00"));
+        assertEquals(4000, spendingLimits.spentToday(owner.getId()));
+    }
+
+    @Test
+    void rebuild_ShouldCountSpendByMovementNotByType() {
+        Transaction mislabelled = createTransfer(current, payee, "60.00");
+        mislabelled.setTypeOfTransaction(TransactionType.DEPOSIT);
+        transactionService.makeTransaction(mislabelled);
+        ATMDTO deposit = new ATMDTO();
+        deposit.setIBAN(current.getIban());
+        deposit.setAmount(Money.of("25.00"));
+        transactionService.createDeposit(deposit);
+
+        spendingLimits.rebuild();
+
+        assertEquals(6000, spendingLimits.spentToday(owner.getId()));
+        assertThrows(IllegalArgumentException.class, () -> transactionService.makeTransaction(createTransfer(current, payee, "50.00")));
+    }
+}
@@ -0,0 +1,107 @@
+package com.banking.backend.service;
+
+import com.banking.backend.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeds a small dataset into a database of its own and checks it against the history it wrote.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:seeddb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+class DatasetSeederTest {
+
+    @Autowired
+    private DatasetSeeder datasetSeeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void seed_ShouldWriteConsistentSkewedDataset() throws Exception {
+        DatasetSeeder.Plan plan = plan(1);
+
+        DatasetSeeder.Result result = datasetSeeder.seed(plan);
+
+        assertEquals(205, result.getUsers());
+        assertEquals(405, result.getAccounts());
+        // One opening deposit per retail account besides the generated transactions
+        assertEquals(400 + 5_000, result.getTransactions());
+        assertEquals(5_400L, count("SELECT COUNT(*) FROM transactions WHERE user_id IN (SELECT id FROM users WHERE email LIKE '%-1-%')"));
+
+        // Every balance is what its history adds up to, and never negative
+        Long mismatches = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM accounts a WHERE a.balance <> (
+                    COALESCE((SELECT SUM(t.amount) FROM transactions t
+                              WHERE t.to_iban = a.id AND t.type_of_transaction IN ('DEPOSIT', 'TRANSFER')), 0)
+                  + COALESCE((SELECT SUM(t.amount) FROM transactions t
+                              WHERE t.from_iban = a.id AND t.type_of_transaction = 'WITHDRAWAL'), 0)
+                  - COALESCE((SELECT SUM(t.amount) FROM transactions t
+                              WHERE t.from_iban = a.id AND t.type_of_transaction = 'TRANSFER'), 0))
+                """, Long.class);
+        assertEquals(0L, mismatches);
+        assertEquals(0L, count("SELECT COUNT(*) FROM accounts WHERE balance < 0"));
+
+        // The five merchant accounts take most transfers
+        long toMerchants = count("SELECT COUNT(*) FROM transactions t JOIN accounts a ON a.id = t.to_iban "
+                + "JOIN users u ON u.id = a.user_id WHERE u.first_name = 'Merchant' AND t.type_of_transaction = 'TRANSFER'");
+        long transfers = count("SELECT COUNT(*) FROM transactions WHERE type_of_transaction = 'TRANSFER'");
+        assertTrue(toMerchants > transfers / 2, toMerchants + " of " + transfers);
+
+        assertEquals(0L, count("SELECT COUNT(*) FROM transactions WHERE date_of_execution >= '2024-06-01 00:00:00'"));
+
+        Map<String, Object> customer = jdbcTemplate.queryForMap(
+                "SELECT password, iban FROM users u JOIN accounts a ON a.user_id = u.id WHERE u.email = 'customer-1-0@seed.example.com' "
+                        + "AND a.type_of_account = 'CURRENT'");
+        assertTrue(passwordEncoder.matches("Seed-Password-1", (String) customer.get("password")));
+        assertTrue(IbanAllocator.isValid((String) customer.get("iban")));
+    }
+
+    @Test
+    void seed_WithSameSeedTwice_ShouldRefuse() throws Exception {
+        datasetSeeder.seed(plan(2));
+
+        assertThrows(IllegalStateException.class, () -> datasetSeeder.seed(plan(2)));
+    }
+
+    @Test
+    void seed_WithSharesAboveOne_ShouldThrowException() {
+        DatasetSeeder.Plan plan = plan(3);
+        plan.setMerchantShare(0.9);
+        plan.setAtmShare(0.2);
+
+        assertThrows(IllegalArgumentException.class, () -> datasetSeeder.seed(plan));
+    }
+
+    // Helper Methods
+
+    private DatasetSeeder.Plan plan(long seed) {
+        DatasetSeeder.Plan plan = new DatasetSeeder.Plan();
+        plan.setSeed(seed);
+        plan.setUsers(200);
+        plan.setMerchants(5);
+        plan.setTransactions(5_000);
+        plan.setEndDate(LocalDate.of(2024, 6, 1));
+        plan.setHistoryDays(30);
+        plan.setInitialBalance(Money.of("100.00"));
+        plan.setBatchSize(500);
+        return plan;
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.banking.backend.service;
+
+import com.banking.backend.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Several allocators, standing in for several nodes, draw IBANs concurrently from the
+ * real database sequence.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class IbanAllocationTest {
+
+    private static final int NODES = 3;
+    private static final int THREADS_PER_NODE = 4;
+    private static final int IBANS_PER_THREAD = 250;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void concurrentNodes_ShouldNeverHandOutTheSameIban() throws Exception {
+        List<IbanAllocator> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new IbanAllocator(accountRepository, "NL", "BANK", 100));
+        }
+        Set<String> ibans = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(NODES * THREADS_PER_NODE);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (IbanAllocator node : nodes) {
+                for (int t = 0; t < THREADS_PER_NODE; t++) {
+                    futures.add(pool.submit(() -> {
+                        for (int i = 0; i < IBANS_PER_THREAD; i++) {
+                            String iban = node.nextIban();
+                            assertTrue(IbanAllocator.isValid(iban), iban);
+                            assertTrue(ibans.add(iban), "Duplicate " + iban);
+                        }
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(NODES * THREADS_PER_NODE * IBANS_PER_THREAD, ibans.size());
+    }
+}
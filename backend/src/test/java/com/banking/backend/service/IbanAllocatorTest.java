@@ -0,0 +1,50 @@
+package com.banking.backend.service;
+
+import com.banking.backend.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IbanAllocatorTest {
+
+    @Test
+    void checkDigits_ShouldMatchPublishedIbans() {
+        assertEquals("91", IbanAllocator.checkDigits("NL", "ABNA0417164300"));
+        assertEquals("29", IbanAllocator.checkDigits("GB", "NWBK60161331926819"));
+        assertTrue(IbanAllocator.isValid("DE89370400440532013000"));
+        assertFalse(IbanAllocator.isValid("NL92ABNA0417164300"));
+    }
+
+    @Test
+    void nextIban_ShouldReserveOneBlockPerBlockSizeIbans() {
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        when(accountRepository.reserveIbanNumbers()).thenReturn(1L, 101L);
+        IbanAllocator allocator = new IbanAllocator(accountRepository, "NL", "BANK", 100);
+
+        Set<String> ibans = new HashSet<>();
+        for (int i = 0; i < 150; i++) {
+            String iban = allocator.nextIban();
+            assertTrue(IbanAllocator.isValid(iban), iban);
+            ibans.add(iban);
+        }
+
+        assertEquals(150, ibans.size());
+        verify(accountRepository, times(2)).reserveIbanNumbers();
+        assertTrue(ibans.contains("NL" + IbanAllocator.checkDigits("NL", "BANK0000000001") + "BANK0000000001"));
+        assertTrue(ibans.contains("NL" + IbanAllocator.checkDigits("NL", "BANK0000000150") + "BANK0000000150"));
+    }
+
+    @Test
+    void nextIban_AfterTheLastAccountNumber_ShouldFail() {
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        when(accountRepository.reserveIbanNumbers()).thenReturn(9_999_999_999L);
+        IbanAllocator allocator = new IbanAllocator(accountRepository, "NL", "BANK", 100);
+
+        assertEquals("BANK9999999999", allocator.nextIban().substring(4));
+        assertThrows(IllegalStateException.class, allocator::nextIban);
+    }
+}
@@ -0,0 +1,251 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.ATMDTO;
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.mapper.TransactionMapper;
+import com.banking.backend.model.IdempotencyRecord;
+import com.banking.backend.model.IdempotencyStatus;
+import com.banking.backend.model.Money;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.IdempotencyRecordRepository;
+import com.banking.backend.repository.TransactionRepository;
+import com.banking.backend.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Retries of one ATM deposit with the same Idempotency-Key against the real schema:
+ * the money moves once, whether the duplicates race on this instance or the key is
+ * held by another instance. The HTTP cases go through MockMvc, so the retry runs inside
+ * the request's open-in-view persistence context like it does in production.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class IdempotencyKeyConcurrencyTest {
+
+    private static final int RETRIES = 8;
+    private static final String IBAN = "NL00IDEM0000000001";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private ATMDTO deposit;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.save(createAccount(IBAN, "0.00"));
+
+        deposit = new ATMDTO();
+        deposit.setIBAN(IBAN);
+        deposit.setAmount(Money.of("25.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void parallelRetries_ShouldMoveMoneyOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(RETRIES);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<IdempotencyService.Outcome>> futures = new ArrayList<>();
+        for (int i = 0; i < RETRIES; i++) {
+            futures.add(pool.submit(() -> {
+                go.await();
+                return idempotencyService.execute("atm-retry-1", "POST /atm/deposit", deposit,
+                        () -> TransactionMapper.toDTO(transactionService.createDeposit(deposit)));
+            }));
+        }
+        go.countDown();
+
+        List<IdempotencyService.Outcome> outcomes = new ArrayList<>();
+        for (Future<IdempotencyService.Outcome> future : futures) {
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(1, outcomes.stream().filter(o -> !o.isReplayed()).count());
+        assertEquals(1, outcomes.stream().map(o -> o.getResponse().getId()).distinct().count());
+        assertEquals(1, transactionRepository.count());
+        assertEquals(Money.of("25.00"), accountRepository.findByIban(IBAN).orElseThrow().getBalance());
+        IdempotencyRecord stored = idempotencyRecordRepository.findAll().get(0);
+        assertEquals(IdempotencyStatus.COMPLETED, stored.getStatus());
+    }
+
+    @Test
+    void keyHeldByAnotherInstance_ShouldWaitForItsStoredResponse() throws Exception {
+        TransactionDTO remoteResponse = remoteResponse();
+        IdempotencyRecord held = holdKey("atm-retry-2", remoteResponse);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<IdempotencyService.Outcome> retry = pool.submit(() ->
+                idempotencyService.execute("atm-retry-2", "POST /atm/deposit", deposit,
+                        () -> TransactionMapper.toDTO(transactionService.createDeposit(deposit))));
+        Thread.sleep(200);
+        assertFalse(retry.isDone());
+        idempotencyRecordRepository.markCompleted(held.getId(), objectMapper.writeValueAsString(remoteResponse));
+
+        IdempotencyService.Outcome outcome = retry.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertTrue(outcome.isReplayed());
+        assertEquals(Money.of("25.00"), outcome.getResponse().getAmount());
+        assertEquals(0, transactionRepository.count());
+        assertEquals(Money.ZERO, accountRepository.findByIban(IBAN).orElseThrow().getBalance());
+    }
+
+    @Test
+    void keyHeldByAnotherInstance_OverHttp_ShouldReplayItsStoredResponse() throws Exception {
+        UUID userId = UUID.randomUUID();
+        TransactionDTO remoteResponse = remoteResponse();
+        IdempotencyRecord held = holdKey("atm-retry-3", remoteResponse, userId);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<MvcResult> retry = pool.submit(() -> postDeposit("atm-retry-3", userId));
+        Thread.sleep(200);
+        assertFalse(retry.isDone());
+        idempotencyRecordRepository.markCompleted(held.getId(), objectMapper.writeValueAsString(remoteResponse));
+
+        MvcResult result = retry.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(201, result.getResponse().getStatus());
+        assertEquals("true", result.getResponse().getHeader("Idempotent-Replayed"));
+        TransactionDTO replayed = objectMapper.readValue(result.getResponse().getContentAsString(), TransactionDTO.class);
+        assertEquals(Money.of("25.00"), replayed.getAmount());
+        assertEquals(0, transactionRepository.count());
+        assertEquals(Money.ZERO, accountRepository.findByIban(IBAN).orElseThrow().getBalance());
+    }
+
+    @Test
+    void keyReleasedByAnotherInstance_OverHttp_ShouldExecuteTheRetry() throws Exception {
+        UUID userId = UUID.randomUUID();
+        IdempotencyRecord held = holdKey("atm-retry-4", remoteResponse(), userId);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<MvcResult> retry = pool.submit(() -> postDeposit("atm-retry-4", userId));
+        Thread.sleep(200);
+        assertFalse(retry.isDone());
+        // The other instance's request failed and gave the key back
+        idempotencyRecordRepository.deleteById(held.getId());
+
+        MvcResult result = retry.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(201, result.getResponse().getStatus());
+        assertNull(result.getResponse().getHeader("Idempotent-Replayed"));
+        assertEquals(1, transactionRepository.count());
+        assertEquals(Money.of("25.00"), accountRepository.findByIban(IBAN).orElseThrow().getBalance());
+    }
+
+    @Test
+    void purgeExpired_ShouldRemoveOnlyExpiredKeys() {
+        idempotencyService.execute("kept", "POST /atm/deposit", deposit, TransactionDTO::new);
+        idempotencyService.execute("expired", "POST /atm/deposit", deposit, TransactionDTO::new);
+        IdempotencyRecord expired = idempotencyRecordRepository.findAll().stream()
+                .filter(r -> r.getIdempotencyKey().equals("expired")).findFirst().orElseThrow();
+        expired.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        idempotencyRecordRepository.save(expired);
+
+        idempotencyService.purgeExpired();
+
+        List<IdempotencyRecord> remaining = idempotencyRecordRepository.findAll();
+        assertEquals(1, remaining.size());
+        assertEquals("kept", remaining.get(0).getIdempotencyKey());
+    }
+
+    // Helper Methods
+
+    private TransactionDTO remoteResponse() {
+        TransactionDTO response = new TransactionDTO();
+        response.setFromIban(IBAN);
+        response.setToIban(IBAN);
+        response.setAmount(Money.of("25.00"));
+        response.setTypeOfTransaction("DEPOSIT");
+        return response;
+    }
+
+    // Another instance claimed the key for the same request and is still executing it
+    private IdempotencyRecord holdKey(String key, TransactionDTO response) {
+        idempotencyService.execute("fingerprint-probe-" + key, "POST /atm/deposit", deposit, () -> response);
+        IdempotencyRecord held = idempotencyRecordRepository.findAll().stream()
+                .filter(r -> r.getIdempotencyKey().equals("fingerprint-probe-" + key)).findFirst().orElseThrow();
+        held.setId(null);
+        held.setIdempotencyKey(key);
+        held.setStatus(IdempotencyStatus.IN_PROGRESS);
+        held.setResponseBody(null);
+        held.setExpiresAt(LocalDateTime.now().plusHours(1));
+        return idempotencyRecordRepository.save(held);
+    }
+
+    // Same, for a key the user sent over HTTP
+    private IdempotencyRecord holdKey(String key, TransactionDTO response, UUID userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, Collections.emptyList()));
+        try {
+            return holdKey(key, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private MvcResult postDeposit(String key, UUID userId) throws Exception {
+        return mockMvc.perform(post("/atm/deposit")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(userId))
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(deposit)))
+                .andReturn();
+    }
+}
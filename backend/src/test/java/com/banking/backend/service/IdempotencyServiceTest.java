@@ -0,0 +1,247 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.model.IdempotencyRecord;
+import com.banking.backend.model.IdempotencyStatus;
+import com.banking.backend.model.Money;
+import com.banking.backend.repository.IdempotencyRecordRepository;
+import com.banking.backend.repository.IdempotencyRecordState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String KEY = "retry-7f3c";
+    private static final String OPERATION = "POST /atm/deposit";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    private TransactionDTO response;
+    private UUID recordId;
+
+    @BeforeEach
+    void setUp() {
+        recordId = UUID.randomUUID();
+        response = new TransactionDTO(UUID.randomUUID(), "NL01BANK0123456789", "NL01BANK0123456789",
+                Money.of("200.00"), "DEPOSIT", LocalDateTime.now(), null, null);
+    }
+
+    @Test
+    void execute_FirstRequest_ShouldRunActionAndStoreResponse() {
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(this::assignId);
+
+        IdempotencyService.Outcome outcome = idempotencyService.execute(KEY, OPERATION, "body", () -> response);
+
+        assertFalse(outcome.isReplayed());
+        assertSame(response, outcome.getResponse());
+        ArgumentCaptor<IdempotencyRecord> claimed = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(claimed.capture());
+        assertEquals(KEY, claimed.getValue().getIdempotencyKey());
+        assertEquals(IdempotencyStatus.IN_PROGRESS, claimed.getValue().getStatus());
+        assertTrue(claimed.getValue().getExpiresAt().isAfter(LocalDateTime.now().plusHours(23)));
+        verify(idempotencyRecordRepository).markCompleted(eq(recordId), contains(response.getId().toString()));
+    }
+
+    @Test
+    void execute_CompletedKey_ShouldReplayStoredResponseWithoutRunningAction() throws Exception {
+        IdempotencyRecord stored = storedRecord(fingerprintOf("body"), IdempotencyStatus.COMPLETED);
+        stored.setResponseBody(objectMapper.writeValueAsString(response));
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_keys_scope_key"));
+        when(idempotencyRecordRepository.findStateByScopeAndIdempotencyKey(anyString(), eq(KEY))).thenReturn(Optional.of(state(stored)));
+        AtomicInteger executions = new AtomicInteger();
+
+        IdempotencyService.Outcome outcome = idempotencyService.execute(KEY, OPERATION, "body", () -> {
+            executions.incrementAndGet();
+            return response;
+        });
+
+        assertTrue(outcome.isReplayed());
+        assertEquals(0, executions.get());
+        assertEquals(response.getId(), outcome.getResponse().getId());
+        assertEquals(response.getAmount(), outcome.getResponse().getAmount());
+        verify(idempotencyRecordRepository, never()).markCompleted(any(), any());
+    }
+
+    @Test
+    void execute_SameKeyDifferentRequest_ShouldThrowException() {
+        IdempotencyRecord stored = storedRecord(fingerprintOf("other body"), IdempotencyStatus.COMPLETED);
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_keys_scope_key"));
+        when(idempotencyRecordRepository.findStateByScopeAndIdempotencyKey(anyString(), eq(KEY))).thenReturn(Optional.of(state(stored)));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute(KEY, OPERATION, "body", () -> response));
+
+        assertEquals("Idempotency-Key has already been used for a different request", exception.getMessage());
+    }
+
+    @Test
+    void execute_ExpiredKey_ShouldReleaseItAndRunAction() {
+        IdempotencyRecord stored = storedRecord(fingerprintOf("other body"), IdempotencyStatus.COMPLETED);
+        stored.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_keys_scope_key"))
+                .thenAnswer(this::assignId);
+        when(idempotencyRecordRepository.findStateByScopeAndIdempotencyKey(anyString(), eq(KEY))).thenReturn(Optional.of(state(stored)));
+
+        IdempotencyService.Outcome outcome = idempotencyService.execute(KEY, OPERATION, "body", () -> response);
+
+        assertFalse(outcome.isReplayed());
+        verify(idempotencyRecordRepository).deleteById(stored.getId());
+    }
+
+    @Test
+    void execute_ActionFails_ShouldReleaseKey() {
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(this::assignId);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute(KEY, OPERATION, "body", () -> {
+                    throw new IllegalArgumentException("Insufficient funds in account");
+                }));
+
+        assertEquals("Insufficient funds in account", exception.getMessage());
+        verify(idempotencyRecordRepository).deleteById(recordId);
+        verify(idempotencyRecordRepository, never()).markCompleted(any(), any());
+    }
+
+    @Test
+    void execute_ConcurrentDuplicate_ShouldWaitForFirstExecution() throws Exception {
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(this::assignId);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        Supplier<TransactionDTO> slowAction = () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return response;
+        };
+
+        CompletableFuture<IdempotencyService.Outcome> first =
+                CompletableFuture.supplyAsync(() -> idempotencyService.execute(KEY, OPERATION, "body", slowAction));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<IdempotencyService.Outcome> duplicate =
+                CompletableFuture.supplyAsync(() -> idempotencyService.execute(KEY, OPERATION, "body", slowAction));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        assertFalse(first.get(5, TimeUnit.SECONDS).isReplayed());
+        IdempotencyService.Outcome replay = duplicate.get(5, TimeUnit.SECONDS);
+        assertTrue(replay.isReplayed());
+        assertSame(response, replay.getResponse());
+        assertEquals(1, executions.get());
+        verify(idempotencyRecordRepository, times(1)).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void execute_InProgressOnAnotherInstance_ShouldTimeOut() {
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeout", Duration.ofMillis(120));
+        IdempotencyRecord stored = storedRecord(fingerprintOf("body"), IdempotencyStatus.IN_PROGRESS);
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_keys_scope_key"));
+        when(idempotencyRecordRepository.findStateByScopeAndIdempotencyKey(anyString(), eq(KEY))).thenReturn(Optional.of(state(stored)));
+        when(idempotencyRecordRepository.findStateById(recordId)).thenReturn(Optional.of(state(stored)));
+
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> idempotencyService.execute(KEY, OPERATION, "body", () -> response));
+    }
+
+    @Test
+    void execute_InvalidKey_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute(" ", OPERATION, "body", () -> response));
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute("k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1), OPERATION, "body",
+                        () -> response));
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteKeysPastExpiry() {
+        idempotencyService.purgeExpired();
+
+        verify(idempotencyRecordRepository).deleteExpired(any(LocalDateTime.class));
+    }
+
+    // Helper Methods
+
+    private IdempotencyRecord assignId(org.mockito.invocation.InvocationOnMock invocation) {
+        IdempotencyRecord record = invocation.getArgument(0);
+        record.setId(recordId);
+        return record;
+    }
+
+    private IdempotencyRecord storedRecord(String requestHash, IdempotencyStatus status) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setId(recordId);
+        record.setScope("anonymous");
+        record.setIdempotencyKey(KEY);
+        record.setRequestHash(requestHash);
+        record.setStatus(status);
+        record.setCreatedAt(LocalDateTime.now());
+        record.setExpiresAt(LocalDateTime.now().plusHours(1));
+        return record;
+    }
+
+    private IdempotencyRecordState state(IdempotencyRecord record) {
+        return new IdempotencyRecordState(record.getId(), record.getRequestHash(), record.getStatus(),
+                record.getResponseBody(), record.getExpiresAt());
+    }
+
+    // Same fingerprint the service computes, captured from a first execution
+    private String fingerprintOf(Object request) {
+        IdempotencyRecordRepository recorder = mock(IdempotencyRecordRepository.class);
+        IdempotencyService probe = new IdempotencyService();
+        ReflectionTestUtils.setField(probe, "idempotencyRecordRepository", recorder);
+        ReflectionTestUtils.setField(probe, "objectMapper", objectMapper);
+        when(recorder.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        probe.execute(KEY, OPERATION, request, () -> response);
+        ArgumentCaptor<IdempotencyRecord> claimed = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(recorder).saveAndFlush(claimed.capture());
+        return claimed.getValue().getRequestHash();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
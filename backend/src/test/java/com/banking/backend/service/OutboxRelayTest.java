@@ -0,0 +1,126 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.ATMDTO;
+import com.banking.backend.dto.BalanceChangeEvent;
+import com.banking.backend.model.Account;
+import com.banking.backend.model.Money;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.OutboxEventRepository;
+import com.banking.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createTransfer;
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createTransferEntry;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Transfers, ATM transactions and batches write their balance changes to the outbox, and the
+ * relay delivers them per account in sequence order with the balance after each change.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class OutboxRelayTest {
+
+    private static final String ALICE = "NL00OUTB0000000001";
+    private static final String BOB = "NL00OUTB0000000002";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private Account alice;
+    private Account bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = accountRepository.save(createAccount(ALICE, "100.00"));
+        bob = accountRepository.save(createAccount(BOB, "0.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRelay.relay();
+        outboxEventRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void relay_ShouldDeliverEveryBalanceChangeInSequenceOrder() {
+        transactionService.makeTransaction(createTransfer(alice, bob, "30.00"));
+        transactionService.createWithdrawal(atm(BOB, "10.00"));
+        batchTransferService.makeTransactions(List.of(
+                createTransferEntry(ALICE, BOB, "5.00"),
+                createTransferEntry(BOB, ALICE, "2.00")), BatchTransferMode.ALL_OR_NOTHING);
+
+        outboxRelay.relay();
+
+        List<BalanceChangeEvent> aliceEvents = sink.eventsAfter(alice.getId(), 0);
+        assertChanges(aliceEvents, new String[]{"-30.00", "-5.00", "2.00"}, new String[]{"70.00", "65.00", "67.00"});
+        List<BalanceChangeEvent> bobEvents = sink.eventsAfter(bob.getId(), 0);
+        assertChanges(bobEvents, new String[]{"30.00", "-10.00", "5.00", "-2.00"},
+                new String[]{"30.00", "20.00", "25.00", "23.00"});
+        assertEquals("WITHDRAWAL", bobEvents.get(1).getTypeOfTransaction());
+        assertEquals(aliceEvents.get(0).getTransactionId(), bobEvents.get(0).getTransactionId());
+
+        // A consumer that has processed up to sequence 2 only receives what came after
+        assertEquals(2, sink.eventsAfter(bob.getId(), 2).size());
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(event -> event.getPublishedAt() != null));
+    }
+
+    @Test
+    void rolledBackTransfer_ShouldNotConsumeASequenceNumber() {
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.makeTransaction(createTransfer(bob, alice, "1.00")));
+        transactionService.createDeposit(atm(BOB, "1.00"));
+
+        outboxRelay.relay();
+
+        List<BalanceChangeEvent> bobEvents = sink.eventsAfter(bob.getId(), 0);
+        assertEquals(1, bobEvents.size());
+        assertEquals(1, bobEvents.get(0).getSequence());
+        assertEquals(Money.of("1.00"), bobEvents.get(0).getBalanceAfter());
+        assertTrue(sink.eventsAfter(alice.getId(), 0).isEmpty());
+    }
+
+    private void assertChanges(List<BalanceChangeEvent> events, String[] amounts, String[] balances) {
+        assertEquals(amounts.length, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i + 1, events.get(i).getSequence());
+            assertEquals(Money.of(amounts[i]), events.get(i).getAmount());
+            assertEquals(Money.of(balances[i]), events.get(i).getBalanceAfter());
+        }
+    }
+
+    private ATMDTO atm(String iban, String amount) {
+        ATMDTO dto = new ATMDTO();
+        dto.setIBAN(iban);
+        dto.setAmount(Money.of(amount));
+        return dto;
+    }
+}
@@ -0,0 +1,120 @@
+package com.banking.backend.service;
+
+import com.banking.backend.model.Account;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.UUID;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two H2 databases standing in for a primary and a replica that never replicates, so every row
+ * shows which of them a call used.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "banking.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "banking.datasource.read-your-writes-window=PT1S"})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private static boolean replicaSchemaCreated;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    private JdbcTemplate primary;
+    // Written around the read-only pool, like replication would
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        if (!replicaSchemaCreated) {
+            // Hibernate only creates the schema on the primary
+            for (String statement : primary.queryForList("SCRIPT NODATA", String.class)) {
+                replica.execute(statement);
+            }
+            replicaSchemaCreated = true;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.update("DELETE FROM accounts");
+        replica.update("DELETE FROM accounts");
+    }
+
+    @Test
+    void readOnlyServiceMethod_ShouldReadFromReplica() {
+        UUID id = UUID.randomUUID();
+        replica.update("INSERT INTO accounts (id, iban, balance, type_of_account, date_of_opening, absolute_limit, "
+                + "active, version, event_sequence) VALUES (?, 'NL00REPL0000000001', 100, 'CURRENT', ?, 0, TRUE, 0, 0)",
+                id, LocalDate.now());
+
+        Account account = accountService.getAccountById(id);
+
+        assertNotNull(account);
+        assertEquals("NL00REPL0000000001", account.getIban());
+        assertEquals(0, count(primary));
+    }
+
+    @Test
+    void write_ShouldGoToPrimary() {
+        Account saved = accountService.createAccount(createAccount("NL00REPL0000000002", "0.00"));
+
+        assertEquals(1, count(primary));
+        assertEquals(0, count(replica));
+        // No user to read their own writes for, so the read goes to the (stale) replica
+        assertNull(accountService.getAccountById(saved.getId()));
+    }
+
+    @Test
+    void readAfterOwnWrite_ShouldUsePrimaryWithinWindow() throws Exception {
+        UUID writer = UUID.randomUUID();
+        authenticate(writer);
+        Account saved = accountService.createAccount(createAccount("NL00REPL0000000003", "0.00"));
+
+        assertNotNull(accountService.getAccountById(saved.getId()));
+
+        authenticate(UUID.randomUUID());
+        assertNull(accountService.getAccountById(saved.getId()));
+
+        authenticate(writer);
+        Thread.sleep(1_500);
+        assertNull(accountService.getAccountById(saved.getId()));
+    }
+
+    // Helper Methods
+
+    private void authenticate(UUID userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, Collections.emptyList()));
+    }
+
+    private long count(JdbcTemplate database) {
+        return database.queryForObject("SELECT COUNT(*) FROM accounts", Long.class);
+    }
+}
@@ -0,0 +1,193 @@
+package com.banking.backend.service;
+
+import com.banking.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SpendingLimitsTest {
+
+    private static final Instant NOON = Instant.parse("2024-03-01T12:00:00Z");
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private SpendingLimits spendingLimits;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        spendingLimits = new SpendingLimits(transactionRepository);
+        setClock(NOON);
+        userId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reserve_WithinDayLimit_ShouldAccumulate() {
+        spendingLimits.reserve(userId, 6000, 0, 10000);
+        spendingLimits.reserve(userId, 4000, 0, 10000);
+
+        assertEquals(10000, spendingLimits.spentToday(userId));
+    }
+
+    @Test
+    void reserve_OverDayLimit_ShouldThrowExceptionAndKeepTotal() {
+        spendingLimits.reserve(userId, 6000, 0, 10000);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> spendingLimits.reserve(userId, 4001, 0, 10000));
+
+        assertEquals("Daily limit exceeded", exception.getMessage());
+        assertEquals(6000, spendingLimits.spentToday(userId));
+    }
+
+    @Test
+    void reserve_OverTransactionLimit_ShouldThrowExceptionWithoutCounting() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> spendingLimits.reserve(userId, 2500, 2000, 0));
+
+        assertEquals("Transaction amount exceeds the transaction limit", exception.getMessage());
+        assertEquals(0, spendingLimits.spentToday(userId));
+    }
+
+    @Test
+    void reserve_WithoutLimits_ShouldStillCountSpend() {
+        spendingLimits.reserve(userId, 1_000_000, 0, 0);
+
+        assertEquals(1_000_000, spendingLimits.spentToday(userId));
+    }
+
+    @Test
+    void reserve_OnNextDay_ShouldStartFromZero() {
+        spendingLimits.reserve(userId, 9000, 0, 10000);
+        setClock(NOON.plusSeconds(24 * 3600));
+
+        spendingLimits.reserve(userId, 9000, 0, 10000);
+
+        assertEquals(9000, spendingLimits.spentToday(userId));
+    }
+
+    @Test
+    void reserve_WhenTransactionRollsBack_ShouldReleaseAmount() {
+        TransactionSynchronizationManager.initSynchronization();
+        spendingLimits.reserve(userId, 7000, 0, 10000);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0, spendingLimits.spentToday(userId));
+    }
+
+    @Test
+    void reserve_WhenTransactionCommits_ShouldKeepAmount() {
+        TransactionSynchronizationManager.initSynchronization();
+        spendingLimits.reserve(userId, 7000, 0, 10000);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(7000, spendingLimits.spentToday(userId));
+    }
+
+    @Test
+    void reserve_Concurrently_ShouldNeverExceedDayLimit() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(pool.submit(() -> {
+                try {
+                    spendingLimits.reserve(userId, 100, 0, 50_000);
+                    accepted.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // over the limit
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(500, accepted.get());
+        assertEquals(50_000, spendingLimits.spentToday(userId));
+    }
+
+    @Test
+    void rebuild_ShouldReplaceCountersWithDatabaseTotals() {
+        UUID other = UUID.randomUUID();
+        spendingLimits.reserve(userId, 500, 0, 0);
+        spendingLimits.reserve(other, 800, 0, 0);
+        when(transactionRepository.sumSpendByUserSince(LocalDate.of(2024, 3, 1).atStartOfDay()))
+                .thenReturn(Map.of(userId, 1200L));
+
+        spendingLimits.rebuild();
+
+        assertEquals(1200, spendingLimits.spentToday(userId));
+        assertEquals(0, spendingLimits.spentToday(other));
+    }
+
+    @Test
+    void rebuild_WithPendingReservation_ShouldKeepItOnTopOfDatabaseTotal() {
+        TransactionSynchronizationManager.initSynchronization();
+        spendingLimits.reserve(userId, 7000, 0, 10000);
+        when(transactionRepository.sumSpendByUserSince(LocalDate.of(2024, 3, 1).atStartOfDay()))
+                .thenReturn(Map.of(userId, 1200L));
+
+        spendingLimits.rebuild();
+        assertEquals(8200, spendingLimits.spentToday(userId));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertEquals(1200, spendingLimits.spentToday(userId));
+    }
+
+    @Test
+    void rebuild_WhenCounterChangesDuringQuery_ShouldKeepCounter() {
+        spendingLimits.reserve(userId, 500, 0, 0);
+        when(transactionRepository.sumSpendByUserSince(LocalDate.of(2024, 3, 1).atStartOfDay()))
+                .thenAnswer(invocation -> {
+                    // Committed after the query read its snapshot
+                    spendingLimits.reserve(userId, 300, 0, 0);
+                    return Map.of(userId, 500L);
+                });
+
+        spendingLimits.rebuild();
+
+        assertEquals(800, spendingLimits.spentToday(userId));
+    }
+
+    private void setClock(Instant instant) {
+        ReflectionTestUtils.setField(spendingLimits, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}
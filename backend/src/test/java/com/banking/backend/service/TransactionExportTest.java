@@ -0,0 +1,108 @@
+package com.banking.backend.service;
+
+import com.banking.backend.model.Account;
+import com.banking.backend.model.Transaction;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createTransaction;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports a history longer than the fetch size from the real schema, in both formats.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TransactionExportTest {
+
+    private static final int TRANSACTIONS = 120;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Account account;
+    private Account other;
+    private final LocalDateTime base = LocalDateTime.of(2020, 1, 1, 9, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transactionExportService, "fetchSize", 25);
+        account = accountRepository.save(createAccount("NL00EXPT0000000001", "0.00"));
+        other = accountRepository.save(createAccount("NL00EXPT0000000002", "0.00"));
+        Account unrelated = accountRepository.save(createAccount("NL00EXPT0000000003", "0.00"));
+
+        // Alternating directions, one ATM deposit on the account itself, and noise on other accounts
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            boolean sent = i % 2 == 0;
+            Transaction transaction = createTransaction(sent ? account : other, sent ? other : account,
+                    100 + i, TransactionType.TRANSFER, base.plusDays(i));
+            transaction.setDescription("payment " + i);
+            transactions.add(transaction);
+        }
+        transactions.get(7).setDescription("=HYPERLINK(\"x\"), rent");
+        transactions.add(createTransaction(account, account, 5000, TransactionType.DEPOSIT, base.minusDays(1)));
+        transactions.add(createTransaction(other, unrelated, 1, TransactionType.TRANSFER, base));
+        transactionRepository.saveAll(transactions);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(transactionExportService, "fetchSize", 500);
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void exportNdjson_ShouldWriteTheWholeHistoryOldestFirst() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = transactionExportService.export(account.getId(), null, null, null,
+                TransactionExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(TRANSACTIONS + 1, count);
+        assertEquals(TRANSACTIONS + 1, lines.length);
+        assertTrue(lines[0].contains("\"typeOfTransaction\":\"DEPOSIT\""), lines[0]);
+        assertTrue(lines[1].contains("\"amount\":1.00"), lines[1]);
+        assertTrue(lines[1].contains("\"dateOfExecution\":\"2020-01-01T09:00:00.000000\""), lines[1]);
+        assertTrue(lines[TRANSACTIONS].contains("\"description\":\"payment " + (TRANSACTIONS - 1) + "\""));
+    }
+
+    @Test
+    void exportCsv_ShouldApplyFiltersAndQuoteFreeText() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = transactionExportService.export(account.getId(), TransactionType.TRANSFER,
+                base, base.plusDays(10), TransactionExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(10, count);
+        assertEquals("id,fromIban,toIban,amount,typeOfTransaction,dateOfExecution,performingUserId,description",
+                lines[0]);
+        assertTrue(lines[1].endsWith(",NL00EXPT0000000001,NL00EXPT0000000002,1.00,TRANSFER,2020-01-01T09:00:00.000000,,payment 0"),
+                lines[1]);
+        assertTrue(lines[8].endsWith(",\"'=HYPERLINK(\"\"x\"\"), rent\""), lines[8]);
+    }
+}
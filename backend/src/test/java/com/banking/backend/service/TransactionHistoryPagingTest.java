@@ -0,0 +1,175 @@
+package com.banking.backend.service;
+
+import com.banking.backend.dto.CursorPage;
+import com.banking.backend.dto.TransactionCursor;
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.dto.TransactionHistoryQuery;
+import com.banking.backend.model.Account;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.Transaction;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.model.User;
+import com.banking.backend.model.UserType;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.TransactionRepository;
+import com.banking.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walks an account's history page by page against the real database to check
+ * that the keyset query neither skips nor repeats rows, including rows that
+ * share a timestamp, and that each page costs exactly one SQL statement.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TransactionHistoryPagingTest {
+
+    private static final int TRANSACTIONS = 23;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private Account account;
+    private Account other;
+    private final LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setEmail("paging@example.com");
+        owner.setRole(UserType.CUSTOMER);
+        owner = userRepository.save(owner);
+        account = accountRepository.save(createAccount("NL00PAGE0000000001", "0.00", owner));
+        other = accountRepository.save(createAccount("NL00PAGE0000000002", "0.00", owner));
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setFromAccount(i % 2 == 0 ? account : other);
+            transaction.setToAccount(i % 2 == 0 ? other : account);
+            transaction.setAmount(Money.ofMinor(100 + i));
+            transaction.setTypeOfTransaction(TransactionType.TRANSFER);
+            transaction.setPerformingUser(owner);
+            // Groups of three share a timestamp so the id tie-breaker is exercised
+            transaction.setDateOfExecution(base.plusMinutes(i / 3));
+            transactionRepository.save(transaction);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getTransactionsForAccount_ShouldVisitEveryRowOnceInOrder() {
+        List<TransactionDTO> seen = new ArrayList<>();
+        TransactionCursor after = null;
+        int pages = 0;
+        do {
+            CursorPage<TransactionDTO> page = transactionService.getTransactionsForAccount(account.getId(),
+                    new TransactionHistoryQuery(5, after, null, null, null));
+            seen.addAll(page.getItems());
+            after = page.hasNext() ? TransactionCursor.decode(page.getNextCursor()) : null;
+            pages++;
+        } while (after != null);
+
+        assertEquals(5, pages);
+        assertEquals(TRANSACTIONS, seen.size());
+        Set<UUID> ids = new HashSet<>();
+        seen.forEach(t -> ids.add(t.getId()));
+        assertEquals(TRANSACTIONS, ids.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).getDateOfExecution().isAfter(seen.get(i - 1).getDateOfExecution()));
+        }
+    }
+
+    @Test
+    void getTransactionsForAccount_ShouldIssueOneStatementPerPage() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CursorPage<TransactionDTO> page = transactionService.getTransactionsForAccount(account.getId(),
+                new TransactionHistoryQuery(10, null, null, null, null));
+
+        assertEquals(10, page.getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        // The last seeded row has an even index, so the account sent it
+        TransactionDTO last = page.getItems().stream()
+                .filter(t -> t.getAmount().equals(Money.ofMinor(100 + TRANSACTIONS - 1)))
+                .findFirst().orElseThrow();
+        assertEquals(account.getIban(), last.getFromIban());
+        assertEquals(other.getIban(), last.getToIban());
+        assertEquals(owner.getId(), last.getPerformingUserId());
+        assertEquals("TRANSFER", last.getTypeOfTransaction());
+
+        statistics.clear();
+        transactionService.getTransactionsByToAccount(account.getId(),
+                new TransactionHistoryQuery(5, TransactionCursor.decode(page.getNextCursor()), null, null, null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getTransactionsByFromAccount_ShouldApplyDateRange() {
+        CursorPage<TransactionDTO> page = transactionService.getTransactionsByFromAccount(account.getId(),
+                new TransactionHistoryQuery(50, null, base.plusMinutes(2), base.plusMinutes(4), null));
+
+        // Minutes 2 and 3 hold indexes 6..11, of which 6, 8 and 10 are sent by the account
+        assertEquals(3, page.getItems().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void getTransactionsForAccount_ShouldReturnAtmRowOnceAndFilterByType() {
+        Transaction deposit = new Transaction();
+        deposit.setFromAccount(account);
+        deposit.setToAccount(account);
+        deposit.setAmount(Money.ofMinor(5000));
+        deposit.setTypeOfTransaction(TransactionType.DEPOSIT);
+        deposit.setDateOfExecution(base.plusHours(1));
+        transactionRepository.save(deposit);
+
+        CursorPage<TransactionDTO> all = transactionService.getTransactionsForAccount(account.getId(),
+                new TransactionHistoryQuery(50, null, null, null, null));
+        CursorPage<TransactionDTO> deposits = transactionService.getTransactionsForAccount(account.getId(),
+                new TransactionHistoryQuery(50, null, null, null, TransactionType.DEPOSIT));
+
+        assertEquals(TRANSACTIONS + 1, all.getItems().size());
+        assertEquals(deposit.getId(), all.getItems().get(0).getId());
+        assertEquals(1, deposits.getItems().size());
+        assertEquals(deposit.getId(), deposits.getItems().get(0).getId());
+    }
+}
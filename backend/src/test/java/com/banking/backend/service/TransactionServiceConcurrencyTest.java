@@ -0,0 +1,116 @@
+package com.banking.backend.service;
+
+import com.banking.backend.model.Account;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.Transaction;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.banking.backend.cucumber.helpers.TestDataBuilder.createAccount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires thousands of parallel transfers at a handful of accounts and checks that
+ * no money is created or lost, for both transfer locking modes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TransactionServiceConcurrencyTest {
+
+    private static final int ACCOUNTS = 6;
+    private static final int TRANSFERS = 3000;
+    private static final int THREADS = 16;
+    private static final long OPENING_BALANCE_CENTS = 100_000;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = createAccount(String.format("NL00STRS%010d", i), "0.00");
+            account.setBalance(Money.ofMinor(OPENING_BALANCE_CENTS));
+            accounts.add(accountRepository.save(account));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(transactionService, "lockingMode", TransferLockingMode.PESSIMISTIC);
+        ReflectionTestUtils.setField(transactionService, "maxRetries", 3);
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accounts.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(TransferLockingMode.class)
+    void parallelTransfers_ShouldConserveTotalBalance(TransferLockingMode mode) throws Exception {
+        ReflectionTestUtils.setField(transactionService, "lockingMode", mode);
+        // Six hot accounts produce a lot of conflicts, give optimistic mode room to retry
+        ReflectionTestUtils.setField(transactionService, "maxRetries", 50);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < TRANSFERS; i++) {
+            int from = random.nextInt(ACCOUNTS);
+            int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            Money amount = Money.ofMinor(100 + random.nextInt(5000));
+            futures.add(pool.submit(() -> {
+                Transaction transaction = new Transaction();
+                transaction.setFromAccount(accounts.get(from));
+                transaction.setToAccount(accounts.get(to));
+                transaction.setAmount(amount);
+                transaction.setTypeOfTransaction(TransactionType.TRANSFER);
+                try {
+                    transactionService.makeTransaction(transaction);
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // Insufficient funds is a legitimate outcome under random load
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+        long total = accountRepository.findAll().stream().mapToLong(a -> a.getBalance().getMinorUnits()).sum();
+        assertEquals(ACCOUNTS * OPENING_BALANCE_CENTS, total);
+        assertTrue(accountRepository.findAll().stream().noneMatch(a -> a.getBalance().isNegative()));
+        assertEquals(TRANSFERS, succeeded.get() + rejected.get());
+        assertEquals(succeeded.get(), transactionRepository.count());
+    }
+}
@@ -1,16 +1,30 @@
 package com.banking.backend.service;
 
+import com.banking.backend.config.OperationMetrics;
 import com.banking.backend.dto.ATMDTO;
+import com.banking.backend.dto.CursorPage;
+import com.banking.backend.dto.TransactionCursor;
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.dto.TransactionHistoryQuery;
 import com.banking.backend.model.Account;
+import com.banking.backend.model.Money;
 import com.banking.backend.model.Transaction;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.model.User;
 import com.banking.backend.repository.AccountRepository;
 import com.banking.backend.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -20,6 +34,10 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +49,23 @@ class TransactionServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SpendingLimits spendingLimits;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private AccountEventBroadcaster accountEventBroadcaster;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OperationMetrics operationMetrics = new OperationMetrics(meterRegistry);
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -47,26 +82,31 @@ class TransactionServiceTest {
 
         fromAccount = new Account();
         fromAccount.setId(fromAccountId);
-        fromAccount.setBalance(1000.0);
+        fromAccount.setBalance(Money.of("1000.0"));
 
         toAccount = new Account();
         toAccount.setId(toAccountId);
-        toAccount.setBalance(500.0);
+        toAccount.setBalance(Money.of("500.0"));
 
         transaction = new Transaction();
         transaction.setId(UUID.randomUUID());
         transaction.setFromAccount(fromAccount);
         transaction.setToAccount(toAccount);
-        transaction.setAmount(200.0);
+        transaction.setAmount(Money.of("200.0"));
         transaction.setDateOfExecution(LocalDateTime.now());
+
+        // Run the transfer callback inline, there is no real transaction manager here
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(null));
     }
 
     @Test
     void makeTransaction_WithValidAccountsAndSufficientBalance_ShouldProcessSuccessfully() {
         // Given
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
-        when(accountRepository.save(any(Account.class))).thenReturn(fromAccount);
+        when(accountRepository.findByIdForUpdate(fromAccountId)).thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findByIdForUpdate(toAccountId)).thenReturn(Optional.of(toAccount));
+        when(accountRepository.debitIfCovered(fromAccountId, 20000L)).thenReturn(1);
+        when(accountRepository.credit(toAccountId, 20000L)).thenReturn(1);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
         // When
@@ -74,21 +114,24 @@ class TransactionServiceTest {
 
         // Then
         assertNotNull(result);
-        assertEquals(800.0, fromAccount.getBalance()); // 1000 - 200
-        assertEquals(700.0, toAccount.getBalance());   // 500 + 200
 
-        verify(accountRepository, times(1)).findById(fromAccountId);
-        verify(accountRepository, times(1)).findById(toAccountId);
-        verify(accountRepository, times(2)).save(any(Account.class)); // Save both accounts
+        verify(accountRepository, times(1)).findByIdForUpdate(fromAccountId);
+        verify(accountRepository, times(1)).findByIdForUpdate(toAccountId);
+        verify(accountRepository, times(1)).debitIfCovered(fromAccountId, 20000L); // 1000 - 200
+        verify(accountRepository, times(1)).credit(toAccountId, 20000L);            // 500 + 200
+        verify(accountRepository, never()).save(any(Account.class)); // No read-modify-write
         verify(transactionRepository, times(1)).save(transaction);
     }
 
     @Test
     void makeTransaction_WithInsufficientBalance_ShouldThrowException() {
         // Given
-        transaction.setAmount(1500.0); // More than available balance (1000)
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
+        transaction.setAmount(Money.of("1500.0")); // More than available balance (1000)
+        when(accountRepository.findByIdForUpdate(fromAccountId)).thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findByIdForUpdate(toAccountId)).thenReturn(Optional.of(toAccount));
+        when(accountRepository.debitIfCovered(fromAccountId, 150000L)).thenReturn(0);
+        // The credit leg only runs first when the destination has the lower id
+        lenient().when(accountRepository.credit(toAccountId, 150000L)).thenReturn(1);
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -96,8 +139,6 @@ class TransactionServiceTest {
         });
 
         assertEquals("Insufficient funds in account", exception.getMessage());
-        assertEquals(1000.0, fromAccount.getBalance()); // Balance should remain unchanged
-        assertEquals(500.0, toAccount.getBalance());    // Balance should remain unchanged
 
         verify(accountRepository, never()).save(any(Account.class));
         verify(transactionRepository, never()).save(any(Transaction.class));
@@ -106,8 +147,8 @@ class TransactionServiceTest {
     @Test
     void makeTransaction_WithInvalidFromAccount_ShouldThrowException() {
         // Given
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.empty());
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
+        when(accountRepository.findByIdForUpdate(fromAccountId)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(toAccountId)).thenReturn(Optional.of(toAccount));
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -122,8 +163,8 @@ class TransactionServiceTest {
     @Test
     void makeTransaction_WithInvalidToAccount_ShouldThrowException() {
         // Given
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(fromAccountId)).thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findByIdForUpdate(toAccountId)).thenReturn(Optional.empty());
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -138,8 +179,8 @@ class TransactionServiceTest {
     @Test
     void makeTransaction_WithBothInvalidAccounts_ShouldThrowException() {
         // Given
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.empty());
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(fromAccountId)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(toAccountId)).thenReturn(Optional.empty());
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -151,10 +192,122 @@ class TransactionServiceTest {
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
+    @Test
+    void makeTransaction_OptimisticConflict_ShouldRetryTransfer() {
+        // Given: the source account changes (version 3 → 4) between the read and the debit of the first attempt
+        ReflectionTestUtils.setField(transactionService, "lockingMode", TransferLockingMode.OPTIMISTIC);
+        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
+        when(accountRepository.findVersionById(fromAccountId))
+                .thenReturn(Optional.of(3L), Optional.of(4L), Optional.of(4L));
+        when(accountRepository.findVersionById(toAccountId)).thenReturn(Optional.of(7L));
+        when(accountRepository.debitIfCoveredAtVersion(fromAccountId, 20000L, 3L)).thenReturn(0);
+        when(accountRepository.debitIfCoveredAtVersion(fromAccountId, 20000L, 4L)).thenReturn(1);
+        when(accountRepository.creditAtVersion(toAccountId, 20000L, 7L)).thenReturn(1);
+
+        // When
+        Transaction result = transactionService.makeTransaction(transaction);
+
+        // Then
+        assertNotNull(result);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(accountRepository, times(1)).debitIfCoveredAtVersion(fromAccountId, 20000L, 4L);
+        verify(accountRepository, never()).debitIfCovered(any(), anyLong());
+        verify(accountRepository, never()).findByIdForUpdate(any());
+        verify(transactionRepository, times(1)).save(transaction);
+        assertEquals(1, meterRegistry.get(OperationMetrics.TRANSFER_RETRIES).tag("lockingMode", "OPTIMISTIC")
+                .counter().count());
+    }
+
+    @Test
+    void makeTransaction_OptimisticWithInsufficientBalance_ShouldThrowExceptionWithoutRetry() {
+        // Given: the debit matches no row although the version is unchanged
+        ReflectionTestUtils.setField(transactionService, "lockingMode", TransferLockingMode.OPTIMISTIC);
+        transaction.setAmount(Money.of("1500.0"));
+        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
+        when(accountRepository.findVersionById(fromAccountId)).thenReturn(Optional.of(3L));
+        when(accountRepository.findVersionById(toAccountId)).thenReturn(Optional.of(7L));
+        when(accountRepository.debitIfCoveredAtVersion(fromAccountId, 150000L, 3L)).thenReturn(0);
+        lenient().when(accountRepository.creditAtVersion(toAccountId, 150000L, 7L)).thenReturn(1);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            transactionService.makeTransaction(transaction);
+        });
+
+        assertEquals("Insufficient funds in account", exception.getMessage());
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void makeTransaction_OptimisticConflictsExhausted_ShouldThrowException() {
+        // Given
+        ReflectionTestUtils.setField(transactionService, "lockingMode", TransferLockingMode.OPTIMISTIC);
+        ReflectionTestUtils.setField(transactionService, "maxRetries", 2);
+        doThrow(new ObjectOptimisticLockingFailureException(Account.class, fromAccountId))
+                .when(transactionTemplate).execute(any());
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            transactionService.makeTransaction(transaction);
+        });
+
+        assertEquals("Transfer aborted after 3 concurrent update conflicts", exception.getMessage());
+        verify(transactionTemplate, times(3)).execute(any());
+        assertEquals(3, meterRegistry.get(OperationMetrics.TRANSFER_RETRIES).tag("lockingMode", "OPTIMISTIC")
+                .counter().count());
+        assertEquals(1, meterRegistry.get(OperationMetrics.TRANSFER)
+                .tag("outcome", "failure").tag("exception", "IllegalStateException").timer().count());
+    }
+
+    @Test
+    void makeTransaction_ShouldCountAmountAgainstOwnersLimits() {
+        // Given
+        User owner = new User();
+        owner.setId(UUID.randomUUID());
+        owner.setTransactionLimit(Money.of("500.00"));
+        owner.setDayLimit(Money.of("1000.00"));
+        fromAccount.setUser(owner);
+        when(accountRepository.findByIdForUpdate(fromAccountId)).thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findByIdForUpdate(toAccountId)).thenReturn(Optional.of(toAccount));
+        when(accountRepository.debitIfCovered(fromAccountId, 20000L)).thenReturn(1);
+        when(accountRepository.credit(toAccountId, 20000L)).thenReturn(1);
+
+        // When
+        transactionService.makeTransaction(transaction);
+
+        // Then
+        verify(spendingLimits).reserve(owner.getId(), 20000L, 50000L, 100000L);
+    }
+
+    @Test
+    void makeTransaction_OverOwnersLimit_ShouldThrowExceptionWithoutMovingMoney() {
+        // Given
+        User owner = new User();
+        owner.setId(UUID.randomUUID());
+        owner.setDayLimit(Money.of("100.00"));
+        fromAccount.setUser(owner);
+        when(accountRepository.findByIdForUpdate(fromAccountId)).thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findByIdForUpdate(toAccountId)).thenReturn(Optional.of(toAccount));
+        doThrow(new IllegalArgumentException("Daily limit exceeded"))
+                .when(spendingLimits).reserve(owner.getId(), 20000L, 0L, 10000L);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> transactionService.makeTransaction(transaction));
+
+        assertEquals("Daily limit exceeded", exception.getMessage());
+        verify(accountRepository, never()).debitIfCovered(any(), anyLong());
+        verify(accountRepository, never()).credit(any(), anyLong());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
     @Test
     void makeTransaction_WithZeroAmount_ShouldThrowException() {
     // Given
-    transaction.setAmount(0.0);
+    transaction.setAmount(Money.ZERO);
 
     // When & Then
     assertThrows(IllegalArgumentException.class, () -> {
@@ -165,33 +318,25 @@ class TransactionServiceTest {
     @Test
     void getTransactionsForAccount_WhenTransactionsExist_ShouldReturnTransactionList() {
         // Given
-        Account account = new Account();
-        account.setId(fromAccountId);
-
-        Transaction transaction1 = new Transaction();
-        transaction1.setFromAccount(account);
-        transaction1.setToAccount(toAccount);
-        transaction1.setAmount(100.0);
+        TransactionDTO transaction1 = historyRow(LocalDateTime.now(), Money.of("100.0"));
+        TransactionDTO transaction2 = historyRow(LocalDateTime.now().minusMinutes(1), Money.of("50.0"));
+        List<TransactionDTO> transactions = Arrays.asList(transaction1, transaction2);
 
-        Transaction transaction2 = new Transaction();
-        transaction2.setFromAccount(toAccount);
-        transaction2.setToAccount(account);
-        transaction2.setAmount(50.0);
-
-        List<Transaction> transactions = Arrays.asList(transaction1, transaction2);
-
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(account));
-        when(transactionRepository.findByFromAccountOrToAccount(account, account)).thenReturn(transactions);
+        when(transactionRepository.findHistoryPageByAccount(eq(fromAccountId), isNull(), isNull(), isNull(), isNull(),
+                isNull(), eq(TransactionHistoryQuery.DEFAULT_LIMIT + 1))).thenReturn(transactions);
 
         // When
-        List<Transaction> result = transactionService.getTransactionsForAccount(fromAccountId);
+        CursorPage<TransactionDTO> result = transactionService.getTransactionsForAccount(fromAccountId,
+                TransactionHistoryQuery.firstPage());
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertTrue(result.contains(transaction1));
-        assertTrue(result.contains(transaction2));
-        verify(transactionRepository, times(1)).findByFromAccountOrToAccount(account, account);
+        assertEquals(2, result.getItems().size());
+        assertTrue(result.getItems().contains(transaction1));
+        assertTrue(result.getItems().contains(transaction2));
+        assertFalse(result.hasNext());
+        // A non-empty page already proves the account exists
+        verify(accountRepository, never()).findById(any());
     }
 
     @Test
@@ -201,43 +346,84 @@ class TransactionServiceTest {
         account.setId(fromAccountId);
 
         when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(account));
-        when(transactionRepository.findByFromAccountOrToAccount(account, account))
+        when(transactionRepository.findHistoryPageByAccount(eq(fromAccountId), any(), any(), any(), any(), any(), anyInt()))
                 .thenReturn(Arrays.asList());
 
         // When
-        List<Transaction> result = transactionService.getTransactionsForAccount(fromAccountId);
+        CursorPage<TransactionDTO> result = transactionService.getTransactionsForAccount(fromAccountId,
+                TransactionHistoryQuery.firstPage());
 
         // Then
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(transactionRepository, times(1)).findByFromAccountOrToAccount(account, account);
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     @Test
-    void getTransactionsForAccount_WithNullAccountId_ShouldHandleGracefully() {
+    void getTransactionsForAccount_WhenAccountNotFound_ShouldThrowException() {
         // Given
-        when(accountRepository.findById(null)).thenReturn(Optional.empty());
+        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.empty());
 
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+            transactionService.getTransactionsForAccount(fromAccountId, TransactionHistoryQuery.firstPage()));
+
+        assertEquals("Invalid account ID", exception.getMessage());
+    }
+
+    @Test
+    void getTransactionsForAccount_WithNullAccountId_ShouldHandleGracefully() {
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            transactionService.getTransactionsForAccount(null);
+            transactionService.getTransactionsForAccount(null, TransactionHistoryQuery.firstPage());
         });
 
         assertEquals("Invalid account ID", exception.getMessage());
-        verify(transactionRepository, never()).findByFromAccountOrToAccount(any(), any());
+        verify(transactionRepository, never()).findHistoryPageByAccount(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getTransactionsForAccount_WhenMoreRowsThanLimit_ShouldReturnNextCursor() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        TransactionDTO newest = historyRow(now, Money.of("1.00"));
+        TransactionDTO older = historyRow(now.minusMinutes(1), Money.of("2.00"));
+        TransactionDTO oldest = historyRow(now.minusMinutes(2), Money.of("3.00"));
+        TransactionCursor after = new TransactionCursor(now.plusMinutes(1), UUID.randomUUID());
+
+        when(transactionRepository.findHistoryPageByAccount(eq(fromAccountId), eq(TransactionType.TRANSFER), isNull(),
+                isNull(), eq(after.getDateOfExecution()), eq(after.getId()), eq(3)))
+                .thenReturn(Arrays.asList(newest, older, oldest));
+
+        // When
+        CursorPage<TransactionDTO> result = transactionService.getTransactionsForAccount(fromAccountId,
+                new TransactionHistoryQuery(2, after, null, null, TransactionType.TRANSFER));
+
+        // Then
+        assertEquals(Arrays.asList(newest, older), result.getItems());
+        TransactionCursor next = TransactionCursor.decode(result.getNextCursor());
+        assertEquals(older.getId(), next.getId());
+        assertEquals(older.getDateOfExecution(), next.getDateOfExecution());
+    }
+
+    private TransactionDTO historyRow(LocalDateTime dateOfExecution, Money amount) {
+        return new TransactionDTO(UUID.randomUUID(), "NL01BANK0123456789", "NL02BANK0123456789", amount,
+                TransactionType.TRANSFER.name(), dateOfExecution, null, null);
     }
+
     @Test
     void createWithdrawal_WithValidAmountAndBalance_ShouldProcessSuccessfully() {
         // Given
         ATMDTO dto = new ATMDTO();
         dto.setIBAN("NL01BANK0123456789");
-        dto.setAmount(300.0);
+        dto.setAmount(Money.of("300.0"));
 
         Account account = new Account();
         account.setIban(dto.getIBAN());
-        account.setBalance(500.0);
+        account.setBalance(Money.of("500.0"));
 
         when(accountRepository.findByIban(dto.getIBAN())).thenReturn(Optional.of(account));
+        when(accountRepository.debitIfCovered(account.getId(), 30000L)).thenReturn(1);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArguments()[0]);
 
         // When
@@ -248,23 +434,73 @@ class TransactionServiceTest {
         assertEquals(account, result.getFromAccount());
         assertEquals(account, result.getToAccount());
         assertTrue(result.getDateOfExecution() != null);
-        assertEquals(200.0, account.getBalance()); // 500 - 300
 
-        verify(accountRepository).save(account);
+        verify(accountRepository).debitIfCovered(account.getId(), 30000L); // 500 - 300
+        verify(accountRepository, never()).save(any(Account.class));
         verify(transactionRepository).save(any(Transaction.class));
     }
     @Test
+    void createWithdrawal_OverOwnersLimit_ShouldThrowExceptionWithoutDebit() {
+        // Given
+        ATMDTO dto = new ATMDTO();
+        dto.setIBAN("NL01BANK0123456789");
+        dto.setAmount(Money.of("300.0"));
+
+        User owner = new User();
+        owner.setId(UUID.randomUUID());
+        owner.setTransactionLimit(Money.of("250.00"));
+        Account account = new Account();
+        account.setIban(dto.getIBAN());
+        account.setUser(owner);
+
+        when(accountRepository.findByIban(dto.getIBAN())).thenReturn(Optional.of(account));
+        doThrow(new IllegalArgumentException("Transaction amount exceeds the transaction limit"))
+                .when(spendingLimits).reserve(owner.getId(), 30000L, 25000L, 0L);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> transactionService.createWithdrawal(dto));
+
+        assertEquals("Transaction amount exceeds the transaction limit", exception.getMessage());
+        verify(accountRepository, never()).debitIfCovered(any(), anyLong());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void createWithdrawal_WithInsufficientBalance_ShouldThrowException() {
+        // Given
+        ATMDTO dto = new ATMDTO();
+        dto.setIBAN("NL01BANK0123456789");
+        dto.setAmount(Money.of("800.0"));
+
+        Account account = new Account();
+        account.setIban(dto.getIBAN());
+        account.setBalance(Money.of("500.0"));
+
+        when(accountRepository.findByIban(dto.getIBAN())).thenReturn(Optional.of(account));
+        when(accountRepository.debitIfCovered(account.getId(), 80000L)).thenReturn(0);
+
+        // When & Then
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
+            transactionService.createWithdrawal(dto);
+        });
+
+        assertEquals("Insufficient funds in account", ex.getMessage());
+        verify(transactionRepository, never()).save(any());
+    }
+    @Test
     void createDeposit_WithValidAmount_ShouldIncreaseBalance() {
         // Given
         ATMDTO dto = new ATMDTO();
         dto.setIBAN("NL01BANK0123456789");
-        dto.setAmount(400.0);
+        dto.setAmount(Money.of("400.0"));
 
         Account account = new Account();
         account.setIban(dto.getIBAN());
-        account.setBalance(600.0);
+        account.setBalance(Money.of("600.0"));
 
         when(accountRepository.findByIban(dto.getIBAN())).thenReturn(Optional.of(account));
+        when(accountRepository.credit(account.getId(), 40000L)).thenReturn(1);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArguments()[0]);
 
         // When
@@ -274,16 +510,16 @@ class TransactionServiceTest {
         assertNotNull(result);
         assertEquals(account, result.getFromAccount());
         assertEquals(account, result.getToAccount());
-        assertEquals(1000.0, account.getBalance()); // 600 + 400
 
-        verify(accountRepository).save(account);
+        verify(accountRepository).credit(account.getId(), 40000L); // 600 + 400
+        verify(accountRepository, never()).save(any(Account.class));
         verify(transactionRepository).save(any(Transaction.class));
     }
     @Test
     void createWithdrawal_WithZeroAmount_ShouldThrowException() {
         ATMDTO dto = new ATMDTO();
         dto.setIBAN("NL01BANK0123456789");
-        dto.setAmount(0.0);
+        dto.setAmount(Money.ZERO);
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
             transactionService.createWithdrawal(dto);
@@ -298,7 +534,7 @@ class TransactionServiceTest {
     void createWithdrawal_WithNegativeAmount_ShouldThrowException() {
         ATMDTO dto = new ATMDTO();
         dto.setIBAN("NL01BANK0123456789");
-        dto.setAmount(-50.0);
+        dto.setAmount(Money.of("-50.0"));
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
             transactionService.createWithdrawal(dto);
@@ -312,7 +548,7 @@ class TransactionServiceTest {
     void createDeposit_WithZeroAmount_ShouldThrowException() {
         ATMDTO dto = new ATMDTO();
         dto.setIBAN("NL01BANK0123456789");
-        dto.setAmount(0.0);
+        dto.setAmount(Money.ZERO);
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
             transactionService.createDeposit(dto);
@@ -327,7 +563,7 @@ class TransactionServiceTest {
     void createDeposit_WithNegativeAmount_ShouldThrowException() {
         ATMDTO dto = new ATMDTO();
         dto.setIBAN("NL01BANK0123456789");
-        dto.setAmount(-200.0);
+        dto.setAmount(Money.of("-200.0"));
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
             transactionService.createDeposit(dto);
@@ -0,0 +1,10 @@
+-- H2 copy of db/migration/V3 for SchemaMigrationTest: H2 takes one column per ALTER TABLE and
+-- spells the conversion SET DATA TYPE ... USING. Keep it in step with the PostgreSQL script.
+
+ALTER TABLE accounts ALTER COLUMN balance SET DATA TYPE BIGINT USING ROUND(balance * 100);
+ALTER TABLE accounts ALTER COLUMN absolute_limit SET DATA TYPE BIGINT USING ROUND(COALESCE(absolute_limit, 0) * 100);
+
+ALTER TABLE transactions ALTER COLUMN amount SET DATA TYPE BIGINT USING ROUND(amount * 100);
+
+ALTER TABLE users ALTER COLUMN day_limit SET DATA TYPE BIGINT USING ROUND(day_limit * 100);
+ALTER TABLE users ALTER COLUMN transaction_limit SET DATA TYPE BIGINT USING ROUND(transaction_limit * 100);
@@ -0,0 +1,3 @@
+-- Run by Hibernate after it creates the H2 test schema. Objects that no entity maps
+-- (see the Flyway migrations for their PostgreSQL counterparts).
+CREATE SEQUENCE IF NOT EXISTS iban_account_number_seq START WITH 1 INCREMENT BY 100;
@@ -0,0 +1,41 @@
+package com.banking.benchmarks;
+
+import com.banking.backend.BankingAppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the backend against a private in-memory H2 database, the same way the
+ * test profile does, so benchmarks exercise the real Spring wiring.
+ */
+final class BackendContext {
+
+    // Scheduled jobs take fixed delays, which cannot be switched off; this is longer than any run
+    private static final String NEVER = "P365D";
+
+    private BackendContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        // Passed as arguments so they override application.properties
+        return new SpringApplicationBuilder(BankingAppApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.flyway.enabled=false",
+                "--server.port=0",
+                "--management.server.port=-1",
+                // Background jobs would compete with the measured code for the database and CPU
+                "--banking.outbox.relay-interval=" + NEVER,
+                "--banking.outbox.sweep-interval=" + NEVER,
+                "--banking.snapshots.interval=" + NEVER,
+                "--banking.snapshots.initial-delay=" + NEVER,
+                "--banking.limits.reconcile-interval=" + NEVER,
+                "--banking.idempotency.sweep-interval=" + NEVER,
+                "--logging.level.root=WARN");
+    }
+}
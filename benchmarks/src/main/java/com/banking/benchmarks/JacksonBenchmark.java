@@ -0,0 +1,73 @@
+package com.banking.benchmarks;
+
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.model.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of TransactionDTO with the ObjectMapper configuration Spring Boot uses,
+ * including the six-digit @JsonFormat pattern on dateOfExecution and the Money
+ * serializer. Pages are sized like the history endpoint's default and maximum.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int pageSize;
+
+    private ObjectWriter pageWriter;
+    private ObjectReader reader;
+    private List<TransactionDTO> page;
+    private String json;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        pageWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, TransactionDTO.class));
+        reader = objectMapper.readerFor(TransactionDTO.class);
+
+        page = new ArrayList<>(pageSize);
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(new TransactionDTO(UUID.randomUUID(), "NL00BNCH0000000001", "NL00BNCH0000000002",
+                    Money.ofMinor(100L + i), "TRANSFER", start.minusSeconds(i), UUID.randomUUID(), "Payment " + i));
+        }
+        json = objectMapper.writeValueAsString(page.get(0));
+    }
+
+    @Benchmark
+    public String serializePage() throws Exception {
+        return pageWriter.writeValueAsString(page);
+    }
+
+    @Benchmark
+    public TransactionDTO deserializeOne() throws Exception {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,88 @@
+package com.banking.benchmarks;
+
+import com.banking.backend.config.OperationMetrics;
+import com.banking.backend.security.JwtAuthFilter;
+import com.banking.backend.security.JwtUtil;
+import com.banking.backend.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification, and the full JwtAuthFilter pass a request makes.
+ *
+ * twoParseVerification is what the filter did before the verified-token cache:
+ * validateToken followed by extractUserId, each a full parse and HMAC check.
+ * cachedVerification and authFilter show the cost with the cache warm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    private JwtAuthFilter jwtAuthFilter;
+    private String token;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        verifiedTokenCache = new VerifiedTokenCache(jwtUtil, new SimpleMeterRegistry(), 10_000);
+        jwtAuthFilter = new JwtAuthFilter(verifiedTokenCache, new OperationMetrics(new SimpleMeterRegistry()));
+        userId = UUID.randomUUID();
+        token = jwtUtil.generateToken(userId);
+        verifiedTokenCache.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userId);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public void twoParseVerification(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.validateToken(token));
+        blackhole.consume(jwtUtil.extractUserId(token));
+    }
+
+    @Benchmark
+    public UUID cachedVerification() {
+        return verifiedTokenCache.verify(token);
+    }
+
+    @Benchmark
+    public int authFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jwtAuthFilter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,90 @@
+package com.banking.benchmarks;
+
+import com.banking.backend.dto.AccountDTO;
+import com.banking.backend.dto.TransactionDTO;
+import com.banking.backend.mapper.AccountMapper;
+import com.banking.backend.mapper.TransactionMapper;
+import com.banking.backend.model.Account;
+import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.Transaction;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-object cost of the static entity/DTO mappers used on every API response.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Transaction transaction;
+    private TransactionDTO transactionDTO;
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+
+        account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setIban("NL00BNCH0000000001");
+        account.setBalance(Money.of("1250.75"));
+        account.setTypeOfAccount(AccountType.CURRENT);
+        account.setUser(user);
+        account.setDateOfOpening(LocalDate.of(2024, 1, 1));
+        account.setAbsoluteLimit(Money.of("-500.00"));
+        account.setActive(true);
+
+        Account other = new Account();
+        other.setId(UUID.randomUUID());
+        other.setIban("NL00BNCH0000000002");
+
+        transaction = new Transaction();
+        transaction.setId(UUID.randomUUID());
+        transaction.setFromAccount(account);
+        transaction.setToAccount(other);
+        transaction.setAmount(Money.of("42.50"));
+        transaction.setTypeOfTransaction(TransactionType.TRANSFER);
+        transaction.setDateOfExecution(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000));
+        transaction.setPerformingUser(user);
+        transaction.setDescription("Rent");
+
+        transactionDTO = TransactionMapper.toDTO(transaction);
+    }
+
+    @Benchmark
+    public TransactionDTO transactionToDTO() {
+        return TransactionMapper.toDTO(transaction);
+    }
+
+    @Benchmark
+    public Transaction transactionToEntity() {
+        return TransactionMapper.toEntity(transactionDTO);
+    }
+
+    @Benchmark
+    public AccountDTO accountToDTO() {
+        return AccountMapper.toDTO(account);
+    }
+}
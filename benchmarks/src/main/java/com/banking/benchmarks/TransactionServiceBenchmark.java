@@ -0,0 +1,99 @@
+package com.banking.benchmarks;
+
+import com.banking.backend.model.Account;
+import com.banking.backend.model.AccountType;
+import com.banking.backend.model.Money;
+import com.banking.backend.model.Transaction;
+import com.banking.backend.model.TransactionType;
+import com.banking.backend.repository.AccountRepository;
+import com.banking.backend.service.TransactionService;
+import com.banking.backend.service.TransferLockingMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end cost of one transfer through TransactionService.makeTransaction:
+ * row locks or version check, two conditional balance updates and the insert,
+ * against embedded H2. Transfers rotate over a pool of accounts so threads
+ * only occasionally contend for the same rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class TransactionServiceBenchmark {
+
+    private static final int ACCOUNTS = 64;
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC"})
+    public String lockingMode;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private final List<Account> accounts = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BackendContext.start("transfers_" + lockingMode.toLowerCase());
+        transactionService = context.getBean(TransactionService.class);
+        ReflectionTestUtils.setField(transactionService, "lockingMode", TransferLockingMode.valueOf(lockingMode));
+
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setIban(String.format("NL00BNCH%010d", i));
+            // Large enough that no transfer ever fails for insufficient funds
+            account.setBalance(Money.ofMinor(1_000_000_000_00L));
+            account.setTypeOfAccount(AccountType.CURRENT);
+            account.setDateOfOpening(LocalDate.now());
+            account.setActive(true);
+            accounts.add(accountRepository.save(account));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Transaction makeTransaction() {
+        long n = sequence.getAndIncrement();
+        Account from = accounts.get((int) (n % ACCOUNTS));
+        Account to = accounts.get((int) ((n * 7 + 1) % ACCOUNTS));
+        if (from == to) {
+            to = accounts.get((int) ((n + 1) % ACCOUNTS));
+        }
+
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(from);
+        transaction.setToAccount(to);
+        transaction.setAmount(Money.ofMinor(100));
+        transaction.setTypeOfTransaction(TransactionType.TRANSFER);
+        return transactionService.makeTransaction(transaction);
+    }
+}
@@ -1,6 +1,6 @@
 "use client"
 
-import { useState, useEffect } from "react"
+import { useState, useEffect, useCallback } from "react"
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card"
 import { Tabs, TabsContent, TabsList, TabsTrigger } from "@/components/ui/tabs"
 import { ArrowUpRight, ArrowDownLeft, Wallet, TrendingUp } from "lucide-react"
@@ -9,23 +9,48 @@ import { CustomerTransactions } from "@/components/customer-transactions"
 import { apiService } from "@/services/api"
 
 export function CustomerDashboard() {
-  const [accounts, setAccounts] = useState([])
+  const [accounts, setAccounts] = useState<any[]>([])
   const [isLoading, setIsLoading] = useState(true)
+  const [transactionsVersion, setTransactionsVersion] = useState(0)
 
-  useEffect(() => {
-    const fetchAccounts = async () => {
-      try {
-        const data = await apiService.getCustomerAccounts()
-        setAccounts(data)
-      } catch (error) {
-        console.error("Failed to fetch accounts:", error)
-      } finally {
-        setIsLoading(false)
-      }
+  const fetchAccounts = useCallback(async () => {
+    try {
+      const data = await apiService.getCustomerAccounts()
+      setAccounts(data)
+    } catch (error) {
+      console.error("Failed to fetch accounts:", error)
+    } finally {
+      setIsLoading(false)
     }
+  }, [])
 
+  useEffect(() => {
     fetchAccounts()
-  }, [])
+  }, [fetchAccounts])
+
+  // Only re-subscribe when the set of accounts changes, not on every balance update
+  const accountIds = accounts.map((account) => account.id).join(",")
+
+  // Live balances and transactions; a stream that reconnected may have missed events, so reload once
+  useEffect(() => {
+    if (!accountIds) return
+    const unsubscribes = accountIds.split(",").map((accountId) =>
+      apiService.subscribeToAccount(accountId, {
+        onBalance: (change) =>
+          setAccounts((current) =>
+            current.map((account) =>
+              account.id === change.accountId ? { ...account, balance: change.balanceAfter } : account,
+            ),
+          ),
+        onTransaction: () => setTransactionsVersion((version) => version + 1),
+        onReconnect: () => {
+          fetchAccounts()
+          setTransactionsVersion((version) => version + 1)
+        },
+      }),
+    )
+    return () => unsubscribes.forEach((unsubscribe) => unsubscribe())
+  }, [accountIds, fetchAccounts])
 
   const totalBalance = accounts.reduce((sum: number, account: any) => sum + account.balance, 0)
 
@@ -91,7 +116,7 @@ export function CustomerDashboard() {
             <CustomerAccounts accounts={accounts} />
           </TabsContent>
           <TabsContent value="transactions" className="space-y-4">
-            <CustomerTransactions />
+            <CustomerTransactions reloadKey={transactionsVersion} />
           </TabsContent>
         </Tabs>
       </div>
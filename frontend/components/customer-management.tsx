@@ -17,30 +17,49 @@ import {
   DialogTitle,
   DialogTrigger,
 } from "@/components/ui/dialog"
+import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from "@/components/ui/select"
 import { Tabs, TabsContent, TabsList, TabsTrigger } from "@/components/ui/tabs"
-import { Eye, Settings, X } from "lucide-react"
-import { apiService } from "@/services/api"
+import { ChevronLeft, ChevronRight, Eye, Search, Settings, X } from "lucide-react"
+import { apiService, type AccountPage, type AccountSearchParams } from "@/services/api"
 
+const PAGE_SIZE = 25
+
+// Accounts are listed a page at a time and filtered on the server, never the whole bank at once
 export function CustomerManagement() {
-  const [customers, setCustomers] = useState([])
-  const [selectedCustomer, setSelectedCustomer] = useState<any>(null)
+  const [page, setPage] = useState(0)
+  const [filters, setFilters] = useState<AccountSearchParams>({ sort: "iban" })
+  const [ownerInput, setOwnerInput] = useState("")
+  const [result, setResult] = useState<AccountPage>({ accounts: [], nextPage: null, total: null })
+  const [selectedAccount, setSelectedAccount] = useState<any>(null)
   const [customerTransactions, setCustomerTransactions] = useState([])
   const [isLoading, setIsLoading] = useState(true)
 
-  useEffect(() => {
-    const fetchCustomers = async () => {
-      try {
-        const data = await apiService.getAllCustomers()
-        setCustomers(data)
-      } catch (error) {
-        console.error("Failed to fetch customers:", error)
-      } finally {
-        setIsLoading(false)
-      }
+  const fetchAccounts = async () => {
+    setIsLoading(true)
+    try {
+      // Only the first page needs the total; later pages keep the one already shown
+      const data = await apiService.getAccounts({ ...filters, page, size: PAGE_SIZE, total: page === 0 })
+      setResult((previous) => ({ ...data, total: data.total ?? previous.total }))
+    } catch (error) {
+      console.error("Failed to fetch accounts:", error)
+    } finally {
+      setIsLoading(false)
     }
+  }
 
-    fetchCustomers()
-  }, [])
+  useEffect(() => {
+    fetchAccounts()
+  }, [page, filters])
+
+  const applyFilters = (changes: AccountSearchParams) => {
+    setPage(0)
+    setFilters((previous) => ({ ...previous, ...changes }))
+  }
+
+  const onSearch = (event: React.FormEvent<HTMLFormElement>) => {
+    event.preventDefault()
+    applyFilters({ owner: ownerInput.trim() || undefined })
+  }
 
   const viewCustomerTransactions = async (customerId: string) => {
     try {
@@ -54,9 +73,8 @@ export function CustomerManagement() {
   const updateAccountLimits = async (accountId: string, limits: any) => {
     try {
       await apiService.updateAccountLimits(accountId, limits)
-      // Refresh customer data
-      const data = await apiService.getAllCustomers()
-      setCustomers(data)
+      // Refresh the current page only
+      await fetchAccounts()
     } catch (error) {
       console.error("Failed to update account limits:", error)
     }
@@ -65,43 +83,100 @@ export function CustomerManagement() {
   const closeAccount = async (accountId: string) => {
     try {
       await apiService.closeAccount(accountId)
-      // Refresh customer data
-      const data = await apiService.getAllCustomers()
-      setCustomers(data)
+      // Refresh the current page only
+      await fetchAccounts()
     } catch (error) {
       console.error("Failed to close account:", error)
     }
   }
 
+  const pageCount = result.total !== null ? Math.max(1, Math.ceil(result.total / PAGE_SIZE)) : null
+
   return (
     <div className="space-y-4">
+      <div className="flex flex-wrap items-end gap-2">
+        <form onSubmit={onSearch} className="flex gap-2">
+          <Input
+            placeholder="Search by name or email"
+            value={ownerInput}
+            onChange={(event) => setOwnerInput(event.target.value)}
+            className="w-64"
+          />
+          <Button type="submit" variant="outline">
+            <Search className="mr-1 h-4 w-4" />
+            Search
+          </Button>
+        </form>
+
+        <Select
+          value={filters.type ?? "ALL"}
+          onValueChange={(value) => applyFilters({ type: value === "ALL" ? undefined : (value as "CURRENT" | "SAVINGS") })}
+        >
+          <SelectTrigger className="w-40">
+            <SelectValue placeholder="Type" />
+          </SelectTrigger>
+          <SelectContent>
+            <SelectItem value="ALL">All types</SelectItem>
+            <SelectItem value="CURRENT">Current</SelectItem>
+            <SelectItem value="SAVINGS">Savings</SelectItem>
+          </SelectContent>
+        </Select>
+
+        <Select
+          value={filters.active === undefined ? "ALL" : filters.active ? "ACTIVE" : "CLOSED"}
+          onValueChange={(value) => applyFilters({ active: value === "ALL" ? undefined : value === "ACTIVE" })}
+        >
+          <SelectTrigger className="w-40">
+            <SelectValue placeholder="Status" />
+          </SelectTrigger>
+          <SelectContent>
+            <SelectItem value="ALL">All statuses</SelectItem>
+            <SelectItem value="ACTIVE">Active</SelectItem>
+            <SelectItem value="CLOSED">Closed</SelectItem>
+          </SelectContent>
+        </Select>
+
+        <Select value={filters.sort ?? "iban"} onValueChange={(value) => applyFilters({ sort: value })}>
+          <SelectTrigger className="w-48">
+            <SelectValue placeholder="Sort by" />
+          </SelectTrigger>
+          <SelectContent>
+            <SelectItem value="iban">IBAN</SelectItem>
+            <SelectItem value="owner">Owner</SelectItem>
+            <SelectItem value="balance,desc">Balance (high to low)</SelectItem>
+            <SelectItem value="balance">Balance (low to high)</SelectItem>
+            <SelectItem value="dateOfOpening,desc">Newest first</SelectItem>
+          </SelectContent>
+        </Select>
+      </div>
+
       <div className="rounded-md border">
         <Table>
           <TableHeader>
             <TableRow>
-              <TableHead>Name</TableHead>
+              <TableHead>Owner</TableHead>
               <TableHead>Email</TableHead>
-              <TableHead>Accounts</TableHead>
-              <TableHead>Total Balance</TableHead>
+              <TableHead>IBAN</TableHead>
+              <TableHead>Type</TableHead>
+              <TableHead>Balance</TableHead>
               <TableHead>Status</TableHead>
               <TableHead>Actions</TableHead>
             </TableRow>
           </TableHeader>
           <TableBody>
-            {customers.length > 0 ? (
-              customers.map((customer: any) => (
-                <TableRow key={customer.id}>
+            {result.accounts.length > 0 ? (
+              result.accounts.map((account: any) => (
+                <TableRow key={account.id}>
                   <TableCell className="font-medium">
-                    {customer.firstName} {customer.lastName}
+                    {account.ownerFirstName} {account.ownerLastName}
                   </TableCell>
-                  <TableCell>{customer.email}</TableCell>
-                  <TableCell>{customer.accounts?.length || 0}</TableCell>
+                  <TableCell>{account.ownerEmail}</TableCell>
+                  <TableCell>{account.iban}</TableCell>
+                  <TableCell>{account.typeOfAccount}</TableCell>
+                  <TableCell>€{account.balance.toFixed(2)}</TableCell>
                   <TableCell>
-                    €{customer.accounts?.reduce((sum: number, acc: any) => sum + acc.balance, 0).toFixed(2) || "0.00"}
-                  </TableCell>
-                  <TableCell>
-                    <Badge variant={customer.approved ? "default" : "secondary"}>
-                      {customer.approved ? "Active" : "Pending"}
+                    <Badge variant={account.active ? "default" : "destructive"}>
+                      {account.active ? "Active" : "Closed"}
                     </Badge>
                   </TableCell>
                   <TableCell>
@@ -112,8 +187,8 @@ export function CustomerManagement() {
                             size="sm"
                             variant="outline"
                             onClick={() => {
-                              setSelectedCustomer(customer)
-                              viewCustomerTransactions(customer.id)
+                              setSelectedAccount(account)
+                              viewCustomerTransactions(account.userId)
                             }}
                           >
                             <Eye className="mr-1 h-4 w-4" />
@@ -123,65 +198,59 @@ export function CustomerManagement() {
                         <DialogContent className="max-w-4xl">
                           <DialogHeader>
                             <DialogTitle>
-                              {customer.firstName} {customer.lastName} - Details
+                              {account.ownerFirstName} {account.ownerLastName} - Details
                             </DialogTitle>
                             <DialogDescription>Customer information and account management</DialogDescription>
                           </DialogHeader>
 
                           <Tabs defaultValue="accounts" className="w-full">
                             <TabsList>
-                              <TabsTrigger value="accounts">Accounts</TabsTrigger>
+                              <TabsTrigger value="accounts">Account</TabsTrigger>
                               <TabsTrigger value="transactions">Transactions</TabsTrigger>
                               <TabsTrigger value="transfer">Employee Transfer</TabsTrigger>
                             </TabsList>
 
                             <TabsContent value="accounts" className="space-y-4">
-                              {customer.accounts?.map((account: any) => (
-                                <Card key={account.id}>
-                                  <CardHeader>
-                                    <CardTitle className="text-lg">{account.type} Account</CardTitle>
-                                    <CardDescription>IBAN: {account.iban}</CardDescription>
-                                  </CardHeader>
-                                  <CardContent>
-                                    <div className="grid grid-cols-2 gap-4">
-                                      <div>
-                                        <Label>Balance</Label>
-                                        <p className="text-lg font-semibold">€{account.balance.toFixed(2)}</p>
-                                      </div>
-                                      <div>
-                                        <Label>Daily Limit</Label>
-                                        <p>€{account.dailyLimit}</p>
-                                      </div>
-                                      <div>
-                                        <Label>Absolute Limit</Label>
-                                        <p>€{account.absoluteLimit}</p>
-                                      </div>
-                                      <div>
-                                        <Label>Status</Label>
-                                        <Badge variant={account.active ? "default" : "destructive"}>
-                                          {account.active ? "Active" : "Closed"}
-                                        </Badge>
-                                      </div>
+                              <Card>
+                                <CardHeader>
+                                  <CardTitle className="text-lg">{account.typeOfAccount} Account</CardTitle>
+                                  <CardDescription>IBAN: {account.iban}</CardDescription>
+                                </CardHeader>
+                                <CardContent>
+                                  <div className="grid grid-cols-2 gap-4">
+                                    <div>
+                                      <Label>Balance</Label>
+                                      <p className="text-lg font-semibold">€{account.balance.toFixed(2)}</p>
                                     </div>
-                                    <div className="mt-4 flex gap-2">
-                                      <Button size="sm" variant="outline">
-                                        <Settings className="mr-1 h-4 w-4" />
-                                        Update Limits
-                                      </Button>
-                                      {account.active && (
-                                        <Button
-                                          size="sm"
-                                          variant="destructive"
-                                          onClick={() => closeAccount(account.id)}
-                                        >
-                                          <X className="mr-1 h-4 w-4" />
-                                          Close Account
-                                        </Button>
-                                      )}
+                                    <div>
+                                      <Label>Absolute Limit</Label>
+                                      <p>€{account.absoluteLimit}</p>
+                                    </div>
+                                    <div>
+                                      <Label>Opened</Label>
+                                      <p>{account.dateOfOpening}</p>
                                     </div>
-                                  </CardContent>
-                                </Card>
-                              ))}
+                                    <div>
+                                      <Label>Status</Label>
+                                      <Badge variant={account.active ? "default" : "destructive"}>
+                                        {account.active ? "Active" : "Closed"}
+                                      </Badge>
+                                    </div>
+                                  </div>
+                                  <div className="mt-4 flex gap-2">
+                                    <Button size="sm" variant="outline">
+                                      <Settings className="mr-1 h-4 w-4" />
+                                      Update Limits
+                                    </Button>
+                                    {account.active && (
+                                      <Button size="sm" variant="destructive" onClick={() => closeAccount(account.id)}>
+                                        <X className="mr-1 h-4 w-4" />
+                                        Close Account
+                                      </Button>
+                                    )}
+                                  </div>
+                                </CardContent>
+                              </Card>
                             </TabsContent>
 
                             <TabsContent value="transactions" className="space-y-4">
@@ -225,7 +294,7 @@ export function CustomerManagement() {
                             </TabsContent>
 
                             <TabsContent value="transfer" className="space-y-4">
-                              <EmployeeTransferForm customerId={customer.id} />
+                              <EmployeeTransferForm customerId={account.userId} />
                             </TabsContent>
                           </Tabs>
                         </DialogContent>
@@ -236,18 +305,44 @@ export function CustomerManagement() {
               ))
             ) : (
               <TableRow>
-                <TableCell colSpan={6} className="h-24 text-center">
-                  No customers found.
+                <TableCell colSpan={7} className="h-24 text-center">
+                  {isLoading ? "Loading..." : "No accounts found."}
                 </TableCell>
               </TableRow>
             )}
           </TableBody>
         </Table>
       </div>
+
+      <div className="flex items-center justify-between">
+        <p className="text-sm text-muted-foreground">
+          {result.total !== null ? `${result.total} accounts` : ""}
+        </p>
+        <div className="flex items-center gap-2">
+          <Button size="sm" variant="outline" disabled={page === 0 || isLoading} onClick={() => setPage(page - 1)}>
+            <ChevronLeft className="mr-1 h-4 w-4" />
+            Previous
+          </Button>
+          <span className="text-sm">
+            Page {page + 1}
+            {pageCount !== null ? ` of ${pageCount}` : ""}
+          </span>
+          <Button
+            size="sm"
+            variant="outline"
+            disabled={result.nextPage === null || isLoading}
+            onClick={() => setPage(page + 1)}
+          >
+            Next
+            <ChevronRight className="ml-1 h-4 w-4" />
+          </Button>
+        </div>
+      </div>
     </div>
   )
 }
 
+
 function EmployeeTransferForm({ customerId }: { customerId: string }) {
   const [isLoading, setIsLoading] = useState(false)
   const [status, setStatus] = useState<"idle" | "success" | "error">("idle")
@@ -11,7 +11,12 @@ import { Filter } from "lucide-react"
 import { cn } from "@/lib/utils"
 import { apiService } from "@/services/api"
 
-export function CustomerTransactions() {
+interface CustomerTransactionsProps {
+  // Changes whenever the account streams report new transactions
+  reloadKey?: number
+}
+
+export function CustomerTransactions({ reloadKey = 0 }: CustomerTransactionsProps) {
   const [transactions, setTransactions] = useState([])
   const [filteredTransactions, setFilteredTransactions] = useState([])
   const [isLoading, setIsLoading] = useState(true)
@@ -38,7 +43,7 @@ export function CustomerTransactions() {
     }
 
     fetchTransactions()
-  }, [])
+  }, [reloadKey])
 
   const applyFilters = async () => {
     try {
@@ -9,7 +9,7 @@ import { apiService } from "@/services/api"
 
 export function EmployeeDashboard() {
   const [stats, setStats] = useState({
-    totalCustomers: 0,
+    activeAccounts: 0,
     pendingApprovals: 0,
     totalAccounts: 0,
     totalTransactions: 0,
@@ -18,17 +18,18 @@ export function EmployeeDashboard() {
   useEffect(() => {
     const fetchStats = async () => {
       try {
-        // These would be separate API calls in a real application
-        const [customers, pending, transactions] = await Promise.all([
-          apiService.getAllCustomers(),
+        // Account totals come from the paging headers of one-row pages instead of listing every account
+        const [allAccounts, activeAccounts, pending, transactions] = await Promise.all([
+          apiService.getAccounts({ size: 1 }),
+          apiService.getAccounts({ size: 1, active: true }),
           apiService.getPendingApprovals(),
           apiService.getAllTransactions(),
         ])
 
         setStats({
-          totalCustomers: customers.length,
+          activeAccounts: activeAccounts.total ?? 0,
           pendingApprovals: pending.length,
-          totalAccounts: customers.reduce((sum: number, customer: any) => sum + customer.accounts?.length || 0, 0),
+          totalAccounts: allAccounts.total ?? 0,
           totalTransactions: transactions.length,
         })
       } catch (error) {
@@ -46,11 +47,11 @@ export function EmployeeDashboard() {
       <div className="grid gap-6 md:grid-cols-2 lg:grid-cols-4">
         <Card>
           <CardHeader className="flex flex-row items-center justify-between space-y-0 pb-2">
-            <CardTitle className="text-sm font-medium">Total Customers</CardTitle>
+            <CardTitle className="text-sm font-medium">Active Accounts</CardTitle>
             <Users className="h-4 w-4 text-muted-foreground" />
           </CardHeader>
           <CardContent>
-            <div className="text-2xl font-bold">{stats.totalCustomers}</div>
+            <div className="text-2xl font-bold">{stats.activeAccounts}</div>
           </CardContent>
         </Card>
 
@@ -2,6 +2,26 @@
 
 const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || "http://localhost:8080/api"
 
+export interface AccountSearchParams {
+  page?: number
+  size?: number
+  // iban, balance, dateOfOpening or owner, optionally followed by ",asc" or ",desc"
+  sort?: string
+  type?: "CURRENT" | "SAVINGS"
+  active?: boolean
+  // Part of the owner's name or email
+  owner?: string
+  minBalance?: number
+  maxBalance?: number
+  total?: boolean
+}
+
+export interface AccountPage {
+  accounts: any[]
+  nextPage: number | null
+  total: number | null
+}
+
 class ApiService {
   private getAuthHeaders() {
     const token = localStorage.getItem("jwt_token")
@@ -11,7 +31,7 @@ class ApiService {
     }
   }
 
-  private async request<T>(endpoint: string, options: RequestInit = {}): Promise<T> {
+  private async send(endpoint: string, options: RequestInit = {}): Promise<Response> {
     const url = `${API_BASE_URL}${endpoint}`
     const config = {
       headers: this.getAuthHeaders(),
@@ -24,6 +44,11 @@ class ApiService {
       throw new Error(`API Error: ${response.status}`)
     }
 
+    return response
+  }
+
+  private async request<T>(endpoint: string, options: RequestInit = {}): Promise<T> {
+    const response = await this.send(endpoint, options)
     return response.json()
   }
 
@@ -91,8 +116,22 @@ class ApiService {
   }
 
   // Employee endpoints
-  async getAllCustomers() {
-    return this.request("/employee/customers")
+
+  // One page of all accounts with their owners. nextPage is null on the last page,
+  // total is null when asked not to count (total: false), which is cheaper.
+  async getAccounts(params: AccountSearchParams = {}): Promise<AccountPage> {
+    const query = new URLSearchParams()
+    Object.entries(params).forEach(([key, value]) => {
+      if (value !== undefined && value !== null && value !== "") query.set(key, String(value))
+    })
+    const response = await this.send(`/accounts?${query}`)
+    const nextPage = response.headers.get("X-Next-Page")
+    const total = response.headers.get("X-Total-Count")
+    return {
+      accounts: await response.json(),
+      nextPage: nextPage !== null ? Number(nextPage) : null,
+      total: total !== null ? Number(total) : null,
+    }
   }
 
   async getPendingApprovals() {
@@ -133,6 +172,32 @@ class ApiService {
       method: "DELETE",
     })
   }
+
+  // Live account updates instead of re-fetching; call the returned function to close the stream.
+  // EventSource cannot send headers, so the token goes in the query string.
+  // onReconnect fires when the server dropped the stream (e.g. we fell behind): reload once there.
+  subscribeToAccount(
+    accountId: string,
+    handlers: {
+      onTransaction?: (transaction: any) => void
+      onBalance?: (change: any) => void
+      onReconnect?: () => void
+    },
+  ) {
+    const token = localStorage.getItem("jwt_token")
+    const query = token ? `?access_token=${encodeURIComponent(token)}` : ""
+    const source = new EventSource(`${API_BASE_URL}/accounts/${accountId}/stream${query}`)
+    let opened = false
+
+    source.addEventListener("open", () => {
+      if (opened) handlers.onReconnect?.()
+      opened = true
+    })
+    source.addEventListener("transaction", (event) => handlers.onTransaction?.(JSON.parse((event as MessageEvent).data)))
+    source.addEventListener("balance", (event) => handlers.onBalance?.(JSON.parse((event as MessageEvent).data)))
+
+    return () => source.close()
+  }
 }
 
 export const apiService = new ApiService()
@@ -0,0 +1,58 @@
+package com.banking.loadtest;
+
+import com.banking.backend.BankingAppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the backend in this JVM on a free port. Without a database URL it runs against a private
+ * in-memory H2 database, the same way the benchmarks and the test profile do; the IBAN sequence
+ * comes from this module's import.sql. With one, the schema is migrated by Flyway as in production.
+ */
+final class BackendServer implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private BackendServer(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static BackendServer start(LoadTestOptions options) {
+        // Passed as arguments so they override application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--banking.outbox.sink=memory",
+                "--logging.level.root=WARN"));
+        if (options.dbUrl == null) {
+            args.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.flyway.enabled=false"));
+        } else {
+            args.addAll(List.of(
+                    "--spring.datasource.url=" + options.dbUrl,
+                    "--spring.datasource.username=" + options.dbUser,
+                    "--spring.datasource.password=" + options.dbPassword));
+        }
+        return new BackendServer(new SpringApplicationBuilder(BankingAppApplication.class).run(args.toArray(new String[0])));
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
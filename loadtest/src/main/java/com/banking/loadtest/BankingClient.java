@@ -0,0 +1,97 @@
+package com.banking.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The backend's REST API as the frontend calls it, one method per request the load test sends.
+ * Requests are synchronous: a client thread waits for its answer before sending the next one.
+ */
+final class BankingClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    BankingClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        // HTTP/1.1 so every client holds its own connection, like separate browsers
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    HttpResponse<String> register(String firstName, String lastName, String email, String password)
+            throws IOException, InterruptedException {
+        return post("/users", null, Map.of(
+                "firstName", firstName, "lastName", lastName, "email", email, "password", password));
+    }
+
+    HttpResponse<String> login(String email, String password) throws IOException, InterruptedException {
+        return post("/auth/login", null, Map.of("email", email, "password", password));
+    }
+
+    HttpResponse<String> openAccount(String token, String customerEmail, String accountType)
+            throws IOException, InterruptedException {
+        return post("/accounts", token, Map.of("customerEmail", customerEmail, "requestedAccountType", accountType));
+    }
+
+    HttpResponse<String> transfer(String token, String fromIban, String toIban, String amount)
+            throws IOException, InterruptedException {
+        return post("/transactions", token, Map.of(
+                "fromIban", fromIban, "toIban", toIban, "amount", amount,
+                "typeOfTransaction", "TRANSFER", "description", "load test"));
+    }
+
+    HttpResponse<String> deposit(String token, String iban, String amount) throws IOException, InterruptedException {
+        return post("/atm/deposit", token, Map.of("iban", iban, "amount", amount));
+    }
+
+    HttpResponse<String> withdraw(String token, String iban, String amount) throws IOException, InterruptedException {
+        return post("/atm/withdraw", token, Map.of("iban", iban, "amount", amount));
+    }
+
+    HttpResponse<String> history(String token, String accountId, int limit) throws IOException, InterruptedException {
+        HttpRequest request = request("/accounts/" + accountId + "/transactions?limit=" + limit, token).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    JsonNode json(HttpResponse<String> response) {
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Not a JSON response: " + response.body(), e);
+        }
+    }
+
+    // Helper Methods
+
+    private HttpResponse<String> post(String path, String token, Map<String, String> body)
+            throws IOException, InterruptedException {
+        HttpRequest request = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
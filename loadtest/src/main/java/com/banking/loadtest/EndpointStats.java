@@ -0,0 +1,65 @@
+package com.banking.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one endpoint, recorded by every client at once. Latency is kept in
+ * microseconds with three significant digits, up to a minute.
+ */
+final class EndpointStats {
+
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    // outcome is the HTTP status, or the exception name when no response came back
+    void record(long latencyNanos, String outcome, boolean error) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), latencies.getHighestTrackableValue()));
+        requests.increment();
+        if (error) {
+            errors.increment();
+        }
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<String, Object> describe(double seconds) {
+        long count = requests.sum();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("requests", count);
+        description.put("errors", errors.sum());
+        description.put("errorRate", count > 0 ? (double) errors.sum() / count : 0.0);
+        description.put("throughputPerSecond", count / seconds);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", latencies.getMean() / 1000.0);
+        latency.put("p50", percentile(50));
+        latency.put("p95", percentile(95));
+        latency.put("p99", percentile(99));
+        latency.put("max", latencies.getMaxValue() / 1000.0);
+        description.put("latencyMillis", latency);
+        Map<String, Long> byOutcome = new TreeMap<>();
+        outcomes.forEach((outcome, adder) -> byOutcome.put(outcome, adder.sum()));
+        description.put("outcomes", byOutcome);
+        return description;
+    }
+
+    double percentile(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
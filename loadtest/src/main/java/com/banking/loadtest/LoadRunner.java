@@ -0,0 +1,163 @@
+package com.banking.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Drives the traffic: options.clients threads, each sending the request the mix picks next as soon
+ * as its previous one was answered (a closed workload, so offered load follows the server's speed).
+ *
+ * Everything sent during the warmup is discarded. Measured are the requests that start inside the
+ * measurement window; the window's actual length is what throughput is computed over.
+ */
+final class LoadRunner {
+
+    static final String LOGIN = "POST /auth/login";
+    static final String TRANSFER = "POST /transactions";
+    static final String DEPOSIT = "POST /atm/deposit";
+    static final String WITHDRAW = "POST /atm/withdraw";
+    static final String HISTORY = "GET /accounts/{id}/transactions";
+
+    private final BankingClient client;
+    private final LoadTestOptions options;
+    private final List<SeededUser> users;
+    private final List<String> allIbans = new ArrayList<>();
+    private final TrafficMix mix;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+    private long measuredNanos;
+
+    LoadRunner(BankingClient client, LoadTestOptions options, List<SeededUser> users) {
+        this.client = client;
+        this.options = options;
+        this.users = users;
+        this.mix = new TrafficMix(options.mix);
+        users.forEach(user -> allIbans.addAll(user.ibans));
+    }
+
+    Map<String, EndpointStats> run() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(options.clients);
+        for (int i = 0; i < options.clients; i++) {
+            SplittableRandom random = new SplittableRandom(options.seed + i);
+            Thread thread = new Thread(() -> {
+                try {
+                    drive(random);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Thread.sleep(options.warmup.toMillis());
+        long start = System.nanoTime();
+        measuring = true;
+        Thread.sleep(options.duration.toMillis());
+        stopped = true;
+        measuredNanos = System.nanoTime() - start;
+        done.await();
+        return stats;
+    }
+
+    double measuredSeconds() {
+        return measuredNanos / 1_000_000_000.0;
+    }
+
+    // Helper Methods
+
+    private void drive(SplittableRandom random) {
+        while (!stopped) {
+            boolean measured = measuring;
+            Operation operation = next(random);
+            long start = System.nanoTime();
+            String outcome;
+            boolean error;
+            try {
+                HttpResponse<String> response = operation.request.send();
+                operation.onResponse(response);
+                outcome = Integer.toString(response.statusCode());
+                error = response.statusCode() >= 400;
+            } catch (IOException e) {
+                outcome = e.getClass().getSimpleName();
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long latency = System.nanoTime() - start;
+            if (measured) {
+                stats.computeIfAbsent(operation.endpoint, key -> new EndpointStats()).record(latency, outcome, error);
+            }
+        }
+    }
+
+    private Operation next(SplittableRandom random) {
+        SeededUser user = users.get(random.nextInt(users.size()));
+        int account = random.nextInt(user.ibans.size());
+        return switch (mix.next(random)) {
+            case LOGIN -> new Operation(LOGIN, () -> client.login(user.email, user.password)) {
+                @Override
+                void onResponse(HttpResponse<String> response) {
+                    if (response.statusCode() == 200) {
+                        user.token = client.json(response).get("token").asText();
+                    }
+                }
+            };
+            case TRANSFER -> {
+                String from = user.ibans.get(account);
+                String to = allIbans.get(random.nextInt(allIbans.size()));
+                while (to.equals(from)) {
+                    to = allIbans.get(random.nextInt(allIbans.size()));
+                }
+                String target = to;
+                String amount = amount(random, 2000);
+                yield new Operation(TRANSFER, () -> client.transfer(user.token, from, target, amount));
+            }
+            case ATM -> {
+                String iban = user.ibans.get(account);
+                String amount = amount(random, 5000);
+                yield random.nextBoolean()
+                        ? new Operation(DEPOSIT, () -> client.deposit(user.token, iban, amount))
+                        : new Operation(WITHDRAW, () -> client.withdraw(user.token, iban, amount));
+            }
+            case HISTORY -> {
+                String accountId = user.accountIds.get(account);
+                yield new Operation(HISTORY, () -> client.history(user.token, accountId, 20));
+            }
+        };
+    }
+
+    // Between 0.01 and maxCents / 100, as the decimal text the API takes
+    private static String amount(SplittableRandom random, int maxCents) {
+        int cents = 1 + random.nextInt(maxCents);
+        return cents / 100 + "." + String.format("%02d", cents % 100);
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        HttpResponse<String> send() throws IOException, InterruptedException;
+    }
+
+    // One request as picked by the mix, labelled with the endpoint it is reported under
+    private static class Operation {
+        private final String endpoint;
+        private final Request request;
+
+        private Operation(String endpoint, Request request) {
+            this.endpoint = endpoint;
+            this.request = request;
+        }
+
+        void onResponse(HttpResponse<String> response) {
+        }
+    }
+}
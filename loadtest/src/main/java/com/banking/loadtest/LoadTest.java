@@ -0,0 +1,91 @@
+package com.banking.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Entry point: starts the backend (unless --base-url points at one), seeds users and accounts,
+ * replays the traffic mix and writes per-endpoint latency percentiles, throughput and error rates
+ * to a JSON report. See {@link LoadTestOptions} for the command line.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        BackendServer server = options.baseUrl == null ? BackendServer.start(options) : null;
+        try {
+            String baseUrl = server != null ? server.baseUrl() : options.baseUrl;
+            BankingClient client = new BankingClient(baseUrl);
+
+            long seedStart = System.nanoTime();
+            List<SeededUser> users = new Seeder(client, options).seed();
+            System.out.printf("Seeded %d users with %d accounts each against %s in %.1f s%n",
+                    users.size(), options.accountsPerUser, baseUrl, (System.nanoTime() - seedStart) / 1e9);
+
+            LoadRunner runner = new LoadRunner(client, options, users);
+            Map<String, EndpointStats> stats = new TreeMap<>(runner.run());
+            double seconds = runner.measuredSeconds();
+
+            writeReport(options, stats, seconds);
+            printSummary(stats, seconds);
+            System.out.println("Report written to " + options.report.toAbsolutePath());
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    // Helper Methods
+
+    private static void writeReport(LoadTestOptions options, Map<String, EndpointStats> stats, double seconds)
+            throws Exception {
+        long requests = stats.values().stream().mapToLong(EndpointStats::requests).sum();
+        long errors = stats.values().stream().mapToLong(EndpointStats::errors).sum();
+
+        Map<String, Object> total = new LinkedHashMap<>();
+        total.put("requests", requests);
+        total.put("errors", errors);
+        total.put("errorRate", requests > 0 ? (double) errors / requests : 0.0);
+        total.put("throughputPerSecond", requests / seconds);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> endpoints.put(endpoint, endpointStats.describe(seconds)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("options", options.describe());
+        report.put("measuredSeconds", seconds);
+        report.put("total", total);
+        report.put("endpoints", endpoints);
+
+        Path parent = options.report.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report.toFile(), report);
+    }
+
+    private static void printSummary(Map<String, EndpointStats> stats, double seconds) {
+        String format = "%-34s %9s %9s %8s %9s %9s %9s%n";
+        System.out.printf(format, "endpoint", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms");
+        stats.forEach((endpoint, endpointStats) -> System.out.printf(format, endpoint,
+                endpointStats.requests(),
+                String.format("%.1f", endpointStats.requests() / seconds),
+                endpointStats.errors(),
+                String.format("%.2f", endpointStats.percentile(50)),
+                String.format("%.2f", endpointStats.percentile(95)),
+                String.format("%.2f", endpointStats.percentile(99))));
+    }
+}
@@ -0,0 +1,94 @@
+package com.banking.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line of the load test, every option as --name=value:
+ *
+ *   --users=50              users registered through POST /users
+ *   --accounts-per-user=2   accounts opened per user through POST /accounts
+ *   --initial-balance=10000.00  deposited into every account before the run
+ *   --clients=32            concurrent clients, each sends its next request when the last one answered
+ *   --warmup=PT10S          traffic before measuring (JIT, pools, caches)
+ *   --duration=PT30S        measured traffic
+ *   --mix=login:10,transfer:50,atm:20,history:20   relative weight of each kind of request
+ *   --seed=42               random seed, the same seed replays the same sequence of choices per client
+ *   --report=target/loadtest-report.json
+ *   --base-url=             an already running backend instead of starting one, e.g. http://localhost:8080
+ *   --db-url= --db-user= --db-password=   start the backend against this database (e.g. the
+ *                           docker-compose Postgres, schema by Flyway) instead of embedded H2
+ */
+final class LoadTestOptions {
+
+    int users = 50;
+    int accountsPerUser = 2;
+    String initialBalance = "10000.00";
+    int clients = 32;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(30);
+    Map<TrafficMix.Kind, Integer> mix = TrafficMix.parse("login:10,transfer:50,atm:20,history:20");
+    long seed = 42;
+    Path report = Path.of("target", "loadtest-report.json");
+    String baseUrl;
+    String dbUrl;
+    String dbUser = "";
+    String dbPassword = "";
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "users" -> options.users = positive(name, value);
+                case "accounts-per-user" -> options.accountsPerUser = positive(name, value);
+                case "initial-balance" -> options.initialBalance = value;
+                case "clients" -> options.clients = positive(name, value);
+                case "warmup" -> options.warmup = Duration.parse(value);
+                case "duration" -> options.duration = Duration.parse(value);
+                case "mix" -> options.mix = TrafficMix.parse(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "report" -> options.report = Path.of(value);
+                case "base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "db-url" -> options.dbUrl = value;
+                case "db-user" -> options.dbUser = value;
+                case "db-password" -> options.dbPassword = value;
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (options.users * options.accountsPerUser < 2) {
+            throw new IllegalArgumentException("Transfers need at least two accounts");
+        }
+        return options;
+    }
+
+    // Written into the report so two runs can be compared like for like
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("users", users);
+        description.put("accountsPerUser", accountsPerUser);
+        description.put("initialBalance", initialBalance);
+        description.put("clients", clients);
+        description.put("warmupSeconds", warmup.toMillis() / 1000.0);
+        description.put("durationSeconds", duration.toMillis() / 1000.0);
+        description.put("mix", TrafficMix.format(mix));
+        description.put("seed", seed);
+        description.put("target", baseUrl != null ? baseUrl : dbUrl != null ? "embedded server, " + dbUrl : "embedded server, H2");
+        return description;
+    }
+
+    private static int positive(String name, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be greater than zero");
+        }
+        return parsed;
+    }
+}
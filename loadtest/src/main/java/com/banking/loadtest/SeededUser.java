@@ -0,0 +1,22 @@
+package com.banking.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A user registered by the Seeder, with the token it logged in with and its accounts.
+ */
+final class SeededUser {
+
+    final String email;
+    final String password;
+    final List<String> ibans = new ArrayList<>();
+    final List<String> accountIds = new ArrayList<>();
+    // Replaced by the login traffic, read by every client
+    volatile String token;
+
+    SeededUser(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+}
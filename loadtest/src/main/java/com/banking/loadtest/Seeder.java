@@ -0,0 +1,71 @@
+package com.banking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Creates the data the traffic runs against through the public API, the same calls a new customer
+ * makes: POST /users, POST /auth/login, POST /accounts per account and an ATM deposit to fund it.
+ * Emails carry a run id, so seeding a persistent database again does not collide with earlier runs.
+ */
+final class Seeder {
+
+    private static final String PASSWORD = "LoadTest-123";
+
+    private final BankingClient client;
+    private final LoadTestOptions options;
+
+    Seeder(BankingClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    List<SeededUser> seed() throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        ExecutorService executor = Executors.newFixedThreadPool(options.clients);
+        try {
+            List<Future<SeededUser>> futures = new ArrayList<>();
+            for (int i = 0; i < options.users; i++) {
+                String email = "loadtest-" + runId + "-" + i + "@example.com";
+                futures.add(executor.submit(() -> seedUser(email)));
+            }
+            List<SeededUser> users = new ArrayList<>();
+            for (Future<SeededUser> future : futures) {
+                users.add(future.get());
+            }
+            return users;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Helper Methods
+
+    private SeededUser seedUser(String email) throws Exception {
+        SeededUser user = new SeededUser(email, PASSWORD);
+        expect(201, client.register("Load", "Test", email, PASSWORD), "register " + email);
+        user.token = client.json(expect(200, client.login(email, PASSWORD), "login " + email)).get("token").asText();
+        for (int i = 0; i < options.accountsPerUser; i++) {
+            String type = i % 2 == 0 ? "CURRENT" : "SAVINGS";
+            JsonNode account = client.json(expect(201, client.openAccount(user.token, email, type), "open account for " + email));
+            user.ibans.add(account.get("iban").asText());
+            user.accountIds.add(account.get("id").asText());
+            expect(201, client.deposit(user.token, account.get("iban").asText(), options.initialBalance),
+                    "fund " + account.get("iban").asText());
+        }
+        return user;
+    }
+
+    private static HttpResponse<String> expect(int status, HttpResponse<String> response, String step) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException("Seeding failed to " + step + ": HTTP " + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,72 @@
+package com.banking.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted choice between the kinds of request a client sends.
+ */
+final class TrafficMix {
+
+    enum Kind {
+        LOGIN,     // POST /auth/login
+        TRANSFER,  // POST /transactions between two random accounts
+        ATM,       // POST /atm/deposit or /atm/withdraw, half each
+        HISTORY    // GET /accounts/{id}/transactions, first page
+    }
+
+    private final Kind[] kinds;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    TrafficMix(Map<Kind, Integer> weights) {
+        kinds = weights.keySet().toArray(new Kind[0]);
+        cumulativeWeights = new int[kinds.length];
+        int total = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            total += weights.get(kinds[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The traffic mix needs at least one positive weight");
+        }
+        totalWeight = total;
+    }
+
+    Kind next(RandomGenerator random) {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < kinds.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return kinds[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    // "login:10,transfer:50", kinds left out get weight zero
+    static Map<Kind, Integer> parse(String value) {
+        Map<Kind, Integer> weights = new EnumMap<>(Kind.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected kind:weight in --mix, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights in --mix cannot be negative");
+            }
+            weights.put(Kind.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        weights.values().removeIf(weight -> weight == 0);
+        return weights;
+    }
+
+    static String format(Map<Kind, Integer> weights) {
+        StringJoiner joiner = new StringJoiner(",");
+        weights.forEach((kind, weight) -> joiner.add(kind.name().toLowerCase(Locale.ROOT) + ":" + weight));
+        return joiner.toString();
+    }
+}
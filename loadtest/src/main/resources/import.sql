@@ -0,0 +1,2 @@
+-- Run by Hibernate after creating the embedded H2 schema; no entity maps the IBAN sequence
+CREATE SEQUENCE IF NOT EXISTS iban_account_number_seq START WITH 1 INCREMENT BY 100;